@@ -0,0 +1,446 @@
+package com.mrs.catalog_service.browse;
+
+import com.mrs.catalog_service.dto.MediaBrowseItem;
+import com.mrs.catalog_service.dto.MediaBrowseQuery;
+import com.mrs.catalog_service.dto.MediaBrowseResponse;
+import com.mrs.catalog_service.dto.MediaBrowseSort;
+import com.mrs.catalog_service.dto.MediaFacets;
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Bitmaps comprimidos (Roaring) das mídias por gênero, tipo e ano de lançamento, para que
+ * cada combinação de filtros seja uma interseção de bitmaps e cada faceta uma contagem de
+ * interseção, sem tocar no banco.
+ * <p>
+ * Cada mídia recebe um número de documento sequencial. Para cada ordenação há uma lista
+ * de documentos já ordenada mais uma pequena lista das mídias criadas depois, também em
+ * ordem, que é fundida à principal quando enche; a página sai da fusão das duas. Quando o
+ * filtro é seletivo o bastante, é mais barato tirar a página direto do resultado.
+ * </p>
+ * Não é thread-safe: o {@link MediaBrowseIndex} serializa escritas e leituras.
+ */
+final class BitmapIndex {
+
+    private static final int MAX_RECENT = 4096;
+    private static final int SELECTIVE_RATIO = 64;
+
+    private final Map<UUID, Integer> docsById = new HashMap<>();
+
+    private UUID[] ids = new UUID[1024];
+    private String[] titles = new String[1024];
+    private String[] coverUrls = new String[1024];
+    private Instant[] createAts = new Instant[1024];
+    private short[] releaseYears = new short[1024];
+    private byte[] mediaTypes = new byte[1024];
+    private byte[] genreMasks = new byte[1024];
+    private int docs;
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<Genre, RoaringBitmap> byGenre = new EnumMap<>(Genre.class);
+    private final Map<MediaType, RoaringBitmap> byMediaType = new EnumMap<>(MediaType.class);
+    private final NavigableMap<Integer, RoaringBitmap> byYear = new TreeMap<>();
+    private final Map<MediaBrowseSort, SortedDocs> orders = new EnumMap<>(MediaBrowseSort.class);
+
+    private boolean loading;
+
+    BitmapIndex() {
+        for (Genre genre : Genre.values()) byGenre.put(genre, new RoaringBitmap());
+        for (MediaType mediaType : MediaType.values()) byMediaType.put(mediaType, new RoaringBitmap());
+        for (MediaBrowseSort sort : MediaBrowseSort.values()) orders.put(sort, new SortedDocs(comparator(sort)));
+    }
+
+    /**
+     * Carga em lote: as ordenações só são montadas em {@link #finishLoading()}, de uma vez,
+     * em vez de a cada mídia.
+     */
+    void startLoading() {
+        loading = true;
+    }
+
+    void finishLoading() {
+        loading = false;
+        int[] liveDocs = live.toArray();
+        orders.values().forEach(order -> order.sort(liveDocs));
+    }
+
+    /**
+     * @return {@code false} quando a mídia já estava indexada.
+     */
+    boolean add(UUID id, String title, MediaType mediaType, int releaseYear, Collection<Genre> genres, String coverUrl, Instant createAt) {
+        if (docsById.containsKey(id)) return false;
+
+        int doc = docs++;
+        ensureCapacity(doc + 1);
+
+        ids[doc] = id;
+        titles[doc] = title;
+        coverUrls[doc] = coverUrl;
+        createAts[doc] = createAt;
+        releaseYears[doc] = (short) releaseYear;
+        mediaTypes[doc] = (byte) (mediaType == null ? -1 : mediaType.ordinal());
+        docsById.put(id, doc);
+
+        live.add(doc);
+        if (mediaType != null) byMediaType.get(mediaType).add(doc);
+        byYear.computeIfAbsent(releaseYear, year -> new RoaringBitmap()).add(doc);
+
+        byte mask = 0;
+        if (genres != null) {
+            for (Genre genre : genres) {
+                byGenre.get(genre).add(doc);
+                mask |= (byte) (1 << genre.ordinal());
+            }
+        }
+        genreMasks[doc] = mask;
+
+        if (!loading) orders.values().forEach(order -> order.add(doc));
+        return true;
+    }
+
+    boolean remove(UUID id) {
+        Integer doc = docsById.remove(id);
+        if (doc == null) return false;
+
+        live.remove(doc);
+        byGenre.values().forEach(bitmap -> bitmap.remove(doc));
+        byMediaType.values().forEach(bitmap -> bitmap.remove(doc));
+        RoaringBitmap year = byYear.get((int) releaseYears[doc]);
+        if (year != null) year.remove(doc);
+        return true;
+    }
+
+    int size() {
+        return live.getCardinality();
+    }
+
+    MediaBrowseResponse browse(MediaBrowseQuery query, int offset, int limit) {
+        RoaringBitmap genres = union(query.genres(), byGenre);
+        RoaringBitmap mediaTypes = union(query.mediaTypes(), byMediaType);
+        RoaringBitmap years = years(query.minYear(), query.maxYear());
+
+        RoaringBitmap matched = intersect(genres, mediaTypes, years);
+
+        MediaFacets facets = new MediaFacets(
+                genreCounts(intersect(mediaTypes, years)),
+                mediaTypeCounts(intersect(genres, years)),
+                decadeCounts(intersect(genres, mediaTypes))
+        );
+
+        return new MediaBrowseResponse(page(matched, query, offset, limit), matched.getLongCardinality(), facets);
+    }
+
+    private List<MediaBrowseItem> page(RoaringBitmap matched, MediaBrowseQuery query, int offset, int limit) {
+        int cardinality = matched.getCardinality();
+        if (offset >= cardinality) return List.of();
+
+        List<MediaBrowseItem> items = new ArrayList<>(Math.min(limit, cardinality - offset));
+
+        SortedDocs order = orders.get(query.sort());
+
+        if ((long) cardinality * SELECTIVE_RATIO < live.getCardinality()) {
+            List<Integer> top = order.top(matched, offset + limit, query.descending());
+            for (int i = offset; i < top.size(); i++) {
+                items.add(item(top.get(i)));
+            }
+            return items;
+        }
+
+        int[] seen = {0};
+        order.forEach(query.descending(), outsideYears(query), doc -> {
+            if (!matched.contains(doc)) return true;
+            if (seen[0]++ >= offset) items.add(item(doc));
+
+            return items.size() < limit && seen[0] < cardinality;
+        });
+        return items;
+    }
+
+    /**
+     * Na ordenação por ano, as mídias antes do intervalo filtrado formam um bloco contíguo
+     * no início do percurso, que é pulado por busca binária em vez de visitado.
+     */
+    private IntPredicate outsideYears(MediaBrowseQuery query) {
+        if (query.sort() != MediaBrowseSort.RELEASE_YEAR) return doc -> false;
+
+        if (!query.descending() && query.minYear() != null) {
+            int minYear = query.minYear();
+            return doc -> releaseYears[doc] < minYear;
+        }
+        if (query.descending() && query.maxYear() != null) {
+            int maxYear = query.maxYear();
+            return doc -> releaseYears[doc] > maxYear;
+        }
+        return doc -> false;
+    }
+
+    private RoaringBitmap intersect(RoaringBitmap... filters) {
+        RoaringBitmap result = live;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) result = RoaringBitmap.and(result, filter);
+        }
+        return result;
+    }
+
+    private static <K> RoaringBitmap union(Set<K> selected, Map<K, RoaringBitmap> bitmaps) {
+        if (selected.isEmpty()) return null;
+
+        return FastAggregation.or(selected.stream().map(bitmaps::get).iterator());
+    }
+
+    private RoaringBitmap years(Integer minYear, Integer maxYear) {
+        if (minYear == null && maxYear == null) return null;
+
+        int from = minYear == null ? Integer.MIN_VALUE : minYear;
+        int to = maxYear == null ? Integer.MAX_VALUE : maxYear;
+        if (from > to) return new RoaringBitmap();
+
+        return FastAggregation.or(byYear.subMap(from, true, to, true).values().iterator());
+    }
+
+    private Map<Genre, Long> genreCounts(RoaringBitmap base) {
+        Map<Genre, Long> counts = new EnumMap<>(Genre.class);
+        byGenre.forEach((genre, bitmap) -> counts.put(genre, (long) RoaringBitmap.andCardinality(base, bitmap)));
+        return counts;
+    }
+
+    private Map<MediaType, Long> mediaTypeCounts(RoaringBitmap base) {
+        Map<MediaType, Long> counts = new EnumMap<>(MediaType.class);
+        byMediaType.forEach((mediaType, bitmap) -> counts.put(mediaType, (long) RoaringBitmap.andCardinality(base, bitmap)));
+        return counts;
+    }
+
+    private Map<Integer, Long> decadeCounts(RoaringBitmap base) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        byYear.forEach((year, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(base, bitmap);
+            if (count > 0) counts.merge(Math.floorDiv(year, 10) * 10, (long) count, Long::sum);
+        });
+        return counts;
+    }
+
+    private MediaBrowseItem item(int doc) {
+        List<Genre> genres = new ArrayList<>(Integer.bitCount(genreMasks[doc] & 0xFF));
+        for (Genre genre : Genre.values()) {
+            if ((genreMasks[doc] & (1 << genre.ordinal())) != 0) genres.add(genre);
+        }
+
+        MediaType mediaType = mediaTypes[doc] < 0 ? null : MediaType.values()[mediaTypes[doc]];
+
+        return new MediaBrowseItem(ids[doc], titles[doc], mediaType, releaseYears[doc], genres, coverUrls[doc]);
+    }
+
+    private Comparator<Integer> comparator(MediaBrowseSort sort) {
+        Comparator<Integer> byTitle = Comparator.comparing(doc -> titles[doc], Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+
+        Comparator<Integer> comparator = switch (sort) {
+            case TITLE -> byTitle;
+            case RELEASE_YEAR -> Comparator.<Integer>comparingInt(doc -> releaseYears[doc]).thenComparing(byTitle);
+            case CREATE_AT -> Comparator.comparing((Integer doc) -> createAts[doc], Comparator.nullsFirst(Comparator.naturalOrder()));
+        };
+
+        return comparator.thenComparingInt(doc -> doc);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) return;
+
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        titles = Arrays.copyOf(titles, grown);
+        coverUrls = Arrays.copyOf(coverUrls, grown);
+        createAts = Arrays.copyOf(createAts, grown);
+        releaseYears = Arrays.copyOf(releaseYears, grown);
+        mediaTypes = Arrays.copyOf(mediaTypes, grown);
+        genreMasks = Arrays.copyOf(genreMasks, grown);
+    }
+
+    /**
+     * Documentos em uma ordenação: {@code sorted} cobre a carga e as fusões anteriores,
+     * {@code recent} as mídias criadas desde a última fusão. Removidos saem na fusão.
+     * {@code ranks} guarda a posição de cada documento em {@code sorted}, para comparar
+     * dois deles sem olhar título ou data.
+     */
+    private final class SortedDocs {
+
+        private final Comparator<Integer> comparator;
+
+        private int[] sorted = new int[0];
+        private int[] ranks = new int[0];
+        private final int[] recent = new int[MAX_RECENT];
+        private int recentCount;
+
+        SortedDocs(Comparator<Integer> comparator) {
+            this.comparator = comparator;
+        }
+
+        void sort(int[] docs) {
+            Integer[] boxed = Arrays.stream(docs).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, comparator);
+
+            sorted = Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+            recentCount = 0;
+            rank();
+        }
+
+        void add(int doc) {
+            if (recentCount == MAX_RECENT) merge();
+
+            int at = lowerBound(recent, 0, recentCount, doc);
+            System.arraycopy(recent, at, recent, at + 1, recentCount - at);
+            recent[at] = doc;
+            recentCount++;
+        }
+
+        int compare(int a, int b) {
+            int rankA = a < ranks.length ? ranks[a] : -1;
+            int rankB = b < ranks.length ? ranks[b] : -1;
+            if (rankA >= 0 && rankB >= 0) return Integer.compare(rankA, rankB);
+
+            return comparator.compare(a, b);
+        }
+
+        /**
+         * Os {@code count} primeiros documentos de {@code docs} na ordem pedida, por heap:
+         * o custo acompanha o resultado e não o catálogo.
+         */
+        List<Integer> top(RoaringBitmap docs, int count, boolean descending) {
+            Comparator<Integer> order = descending ? (a, b) -> compare(b, a) : this::compare;
+            PriorityQueue<Integer> heap = new PriorityQueue<>(count + 1, order.reversed());
+
+            docs.forEach((int doc) -> {
+                if (heap.size() < count) {
+                    heap.add(doc);
+                } else if (order.compare(doc, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            });
+
+            Integer[] ranked = new Integer[heap.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = heap.poll();
+            }
+            return List.of(ranked);
+        }
+
+        /**
+         * Visita os documentos na ordem, ou na ordem inversa, até o visitante devolver
+         * {@code false}, pulando os primeiros do percurso enquanto {@code skip} valer.
+         */
+        void forEach(boolean descending, IntPredicate skip, IntPredicate visitor) {
+            int s = descending ? partition(sorted, sorted.length, doc -> !skip.test(doc)) - 1 : partition(sorted, sorted.length, skip);
+            int r = descending ? partition(recent, recentCount, doc -> !skip.test(doc)) - 1 : partition(recent, recentCount, skip);
+            int step = descending ? -1 : 1;
+
+            while (s >= 0 && s < sorted.length || r >= 0 && r < recentCount) {
+                boolean takeSorted;
+                if (r < 0 || r >= recentCount) {
+                    takeSorted = true;
+                } else if (s < 0 || s >= sorted.length) {
+                    takeSorted = false;
+                } else {
+                    int compared = compare(sorted[s], recent[r]);
+                    takeSorted = descending ? compared > 0 : compared < 0;
+                }
+
+                int doc;
+                if (takeSorted) {
+                    doc = sorted[s];
+                    s += step;
+                } else {
+                    doc = recent[r];
+                    r += step;
+                }
+
+                if (!visitor.test(doc)) return;
+            }
+        }
+
+        /**
+         * Cada documento recente é posicionado em {@code sorted} por busca binária e o resto
+         * é cópia em bloco: o custo em comparações acompanha os recentes, não o catálogo.
+         */
+        private void merge() {
+            int[] merged = new int[sorted.length + recentCount];
+            int size = 0;
+            int from = 0;
+
+            for (int r = 0; r < recentCount; r++) {
+                int to = lowerBound(sorted, from, sorted.length, recent[r]);
+                System.arraycopy(sorted, from, merged, size, to - from);
+                size += to - from;
+                from = to;
+                merged[size++] = recent[r];
+            }
+            System.arraycopy(sorted, from, merged, size, sorted.length - from);
+
+            if (merged.length != live.getCardinality()) {
+                merged = Arrays.stream(merged).filter(live::contains).toArray();
+            }
+
+            sorted = merged;
+            recentCount = 0;
+            rank();
+        }
+
+        private int lowerBound(int[] docs, int from, int to, int doc) {
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (compare(docs[middle], doc) < 0) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+
+        private void rank() {
+            ranks = new int[docs];
+            Arrays.fill(ranks, -1);
+            for (int i = 0; i < sorted.length; i++) {
+                ranks[sorted[i]] = i;
+            }
+        }
+
+        /**
+         * Primeira posição em que {@code prefix} deixa de valer, dado que vale para um
+         * prefixo do array.
+         */
+        private static int partition(int[] docs, int size, IntPredicate prefix) {
+            int from = 0;
+            int to = size;
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (prefix.test(docs[middle])) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+
+
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.mrs.catalog_service.browse;
+
+import com.mrs.catalog_service.change.MediaChangeListener;
+import com.mrs.catalog_service.dto.MediaBrowseQuery;
+import com.mrs.catalog_service.dto.MediaBrowseResponse;
+import com.mrs.catalog_service.dto.MediaRow;
+import com.mrs.catalog_service.exception.IndexUnavailableException;
+import com.mrs.catalog_service.mapper.MediaMapper;
+import com.mrs.catalog_service.model.Media;
+import com.mrs.catalog_service.repository.MediaReadRepository;
+import com.mrs.commons.index.RebuildableIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Navegação do catálogo por gênero, tipo e ano, com facetas, servida dos bitmaps em
+ * memória; nenhuma consulta de navegação chega ao banco.
+ * <p>
+ * Reconstruído a partir do banco quando o serviço sobe, em segundo plano, e mantido
+ * depois pelas criações e remoções confirmadas, como o {@code MediaSearchIndex}: o que
+ * muda durante a reconstrução é reaplicado no novo índice antes da troca
+ * ({@link RebuildableIndex}). Até a troca, a navegação recebe
+ * {@link IndexUnavailableException} em vez de páginas e facetas vazias.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MediaBrowseIndex implements MediaChangeListener {
+
+    private final MediaReadRepository mediaReadRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Timer browseTimer;
+
+    private final RebuildableIndex<BitmapIndex> current = new RebuildableIndex<>(new BitmapIndex());
+
+    @Value("${catalog.browse.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    public MediaBrowseIndex(MediaReadRepository mediaReadRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.mediaReadRepository = mediaReadRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.browseTimer = Timer.builder("catalog.browse.latency")
+                .description("Tempo de uma navegação com facetas nos bitmaps em memória")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        Gauge.builder("catalog.browse.documents", this, MediaBrowseIndex::size)
+                .description("Mídias nos bitmaps de navegação")
+                .register(meterRegistry);
+        Gauge.builder("catalog.browse.ready", this, browse -> browse.isReady() ? 1 : 0)
+                .description("1 quando a reconstrução inicial dos bitmaps terminou")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws IndexUnavailableException enquanto a reconstrução inicial não termina.
+     */
+    public MediaBrowseResponse browse(MediaBrowseQuery query, int offset, int limit) {
+        if (!current.isReady()) throw new IndexUnavailableException("Browse index is still loading, retry later");
+
+        return browseTimer.record(() -> current.read(index -> index.browse(query, offset, limit)));
+    }
+
+    public boolean isReady() {
+        return current.isReady();
+    }
+
+    @Override
+    public void onCreated(List<Media> media) {
+        current.write(index -> media.forEach(created -> index.add(
+                created.getId(),
+                created.getTitle(),
+                created.getMediaType(),
+                created.getReleaseYear(),
+                created.getGenres(),
+                created.getCoverUrl(),
+                created.getCreateAt()
+        )));
+    }
+
+    @Override
+    public void onDeleted(List<UUID> mediaIds) {
+        current.write(index -> mediaIds.forEach(index::remove));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofPlatform().daemon().name("media-browse-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Relê o catálogo e troca os bitmaps atuais pelos reconstruídos.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        BitmapIndex rebuilt;
+        try {
+            rebuilt = current.rebuild(this::load);
+        } catch (RuntimeException e) {
+            log.error("Erro ao reconstruir os bitmaps de navegação: {}", e.getMessage(), e);
+            return;
+        }
+        if (rebuilt == null) return;
+
+        log.info("Bitmaps de navegação reconstruídos: {} mídias em {} ms",
+                rebuilt.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private BitmapIndex load() {
+        BitmapIndex loaded = new BitmapIndex();
+        loaded.startLoading();
+
+        UUID[] after = {new UUID(0, 0)};
+        while (true) {
+            Integer rows = readOnlyTransaction.execute(status -> mediaReadRepository.forEachAfter(after[0], rebuildBatchSize, (MediaRow row) -> {
+                loaded.add(row.id(), row.title(), row.mediaType(), row.releaseYear(), MediaMapper.toGenres(row.genres()), row.coverUrl(), row.createAt());
+                after[0] = row.id();
+            }));
+
+            if (rows == null || rows < rebuildBatchSize) break;
+        }
+        loaded.finishLoading();
+        return loaded;
+    }
+
+    private int size() {
+        return current.read(BitmapIndex::size);
+    }
+
+}
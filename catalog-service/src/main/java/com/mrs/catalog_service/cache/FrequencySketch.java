@@ -0,0 +1,84 @@
+package com.mrs.catalog_service.cache;
+
+/**
+ * Estimativa da frequência recente de acesso de cada chave, em um count-min sketch com
+ * contadores de 4 bits.
+ * <p>
+ * Dezesseis contadores ficam em cada {@code long} e cada chave ocupa um contador em cada
+ * uma das quatro linhas; a frequência é o menor deles, então colisões só superestimam.
+ * Depois de {@code 10 × capacidade} incrementos todos os contadores são divididos por
+ * dois, para que o histórico antigo perca peso e chaves que esfriaram possam sair.
+ * </p>
+ * Não é thread-safe: quem usa protege o acesso.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long HALF_MASK = 0x7777_7777_7777_7777L;
+    private static final int[] SEEDS = {0x97cb_3127, 0xb17e_1a4f, 0x9e37_79b9, 0xc2b2_ae35};
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = 10 * Math.max(capacity, 1);
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            int h = rehash(hash, i);
+            frequency = Math.min(frequency, (int) (table[h & tableMask] >>> offset(h)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int h = rehash(hash, i);
+            int index = h & tableMask;
+            int offset = offset(h);
+
+            if (((table[index] >>> offset) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) reset();
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & HALF_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static int offset(int h) {
+        return (h >>> 28) << 2;
+    }
+
+    private static int rehash(int hash, int i) {
+        int h = hash * SEEDS[i];
+        return h ^ (h >>> 15);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x45d9_f3b;
+        return h ^ (h >>> 16);
+    }
+
+}
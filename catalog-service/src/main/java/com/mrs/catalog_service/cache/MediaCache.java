@@ -0,0 +1,141 @@
+package com.mrs.catalog_service.cache;
+
+import com.mrs.catalog_service.change.MediaChangeListener;
+import com.mrs.catalog_service.dto.GetMediaResponse;
+import com.mrs.catalog_service.model.Media;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache em processo das mídias já resolvidas, compartilhado por {@code GET /media/{id}}
+ * e pela consulta em lote, para as mídias que concentram o tráfego não voltarem ao banco
+ * a cada requisição.
+ * <p>
+ * Limitado em entradas e com admissão por frequência: uma mídia só toma a vaga de outra
+ * se foi pedida mais vezes recentemente. Criações e remoções confirmadas chegam por
+ * {@link MediaChangeListener} e invalidam as mídias afetadas.
+ * </p>
+ */
+@Component
+public class MediaCache implements MediaChangeListener {
+
+    private final TinyLfuCache<UUID, GetMediaResponse> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter queriesSaved;
+
+    public MediaCache(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.media-cache.max-entries:100000}") int maxEntries,
+            @Value("${catalog.media-cache.segments:64}") int segments
+    ) {
+        this.cache = new TinyLfuCache<>(maxEntries, segments);
+
+        this.hits = Counter.builder("catalog.media-cache.hits")
+                .description("Mídias servidas do cache em processo")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.media-cache.misses")
+                .description("Mídias que não estavam no cache e foram lidas do banco")
+                .register(meterRegistry);
+        this.queriesSaved = Counter.builder("catalog.media-cache.queries-saved")
+                .description("Consultas ao banco evitadas por respostas servidas inteiras do cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("catalog.media-cache.evictions", cache, TinyLfuCache::evictedCount)
+                .description("Mídias descartadas do cache para dar lugar a outras mais pedidas")
+                .register(meterRegistry);
+        FunctionCounter.builder("catalog.media-cache.rejections", cache, TinyLfuCache::rejectedCount)
+                .description("Mídias lidas do banco que não entraram no cache por serem menos pedidas que a candidata a sair")
+                .register(meterRegistry);
+        Gauge.builder("catalog.media-cache.size", cache, TinyLfuCache::size)
+                .description("Mídias no cache em processo")
+                .register(meterRegistry);
+        Gauge.builder("catalog.media-cache.hit-ratio", this, MediaCache::hitRatio)
+                .description("Fração das mídias pedidas que foram servidas do cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A mídia de {@code id}, lida por {@code loader} quando não está no cache.
+     */
+    public GetMediaResponse get(UUID id, Function<UUID, GetMediaResponse> loader) {
+        GetMediaResponse media = cache.get(id);
+        if (media != null) {
+            hits.increment();
+            queriesSaved.increment();
+            return media;
+        }
+
+        misses.increment();
+        long generation = cache.generation(id);
+        media = loader.apply(id);
+        cache.putIfCurrent(id, media, generation);
+        return media;
+    }
+
+    /**
+     * Mídias de {@code ids} na mesma ordem, omitindo as que não existem. As ausentes do
+     * cache são lidas de uma vez por {@code loader}.
+     */
+    public List<GetMediaResponse> getAll(List<UUID> ids, Function<List<UUID>, List<GetMediaResponse>> loader) {
+        Map<UUID, GetMediaResponse> found = new HashMap<>(ids.size() * 4 / 3 + 1);
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID id : ids) {
+            GetMediaResponse media = cache.get(id);
+            if (media != null) {
+                found.put(id, media);
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(missing.size());
+
+        if (missing.isEmpty()) {
+            queriesSaved.increment();
+        } else {
+            Map<UUID, Long> generations = new HashMap<>(missing.size() * 4 / 3 + 1);
+            missing.forEach(id -> generations.put(id, cache.generation(id)));
+
+            for (GetMediaResponse media : loader.apply(missing)) {
+                found.put(media.id(), media);
+                cache.putIfCurrent(media.id(), media, generations.get(media.id()));
+            }
+        }
+
+        List<GetMediaResponse> ordered = new ArrayList<>(found.size());
+        for (UUID id : ids) {
+            GetMediaResponse media = found.get(id);
+            if (media != null) ordered.add(media);
+        }
+        return ordered;
+    }
+
+    @Override
+    public void onCreated(List<Media> media) {
+        media.forEach(created -> cache.remove(created.getId()));
+    }
+
+    @Override
+    public void onDeleted(List<UUID> mediaIds) {
+        mediaIds.forEach(cache::remove);
+    }
+
+    private double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+}
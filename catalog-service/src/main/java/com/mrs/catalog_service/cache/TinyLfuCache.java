@@ -0,0 +1,134 @@
+package com.mrs.catalog_service.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache limitado em número de entradas, dividido em segmentos, com admissão por
+ * frequência (TinyLFU).
+ * <p>
+ * Cada segmento é um {@link LinkedHashMap} em ordem de acesso com um
+ * {@link FrequencySketch} próprio, os dois protegidos pelo monitor do segmento, então
+ * threads com chaves em segmentos diferentes não disputam lock. Toda consulta, com ou
+ * sem acerto, conta no sketch. Com o segmento cheio, uma chave nova só entra no lugar
+ * da usada há mais tempo se tiver sido pedida mais vezes que ela: uma varredura de
+ * chaves pedidas uma única vez não tira do cache as que concentram o tráfego.
+ * </p>
+ * Quem carrega um valor fora do lock guarda a {@link #generation} da chave antes da
+ * leitura e o grava com {@link #putIfCurrent}: se uma remoção aconteceu no segmento no
+ * meio, o valor lido pode estar velho e é descartado em vez de voltar para o cache.
+ */
+class TinyLfuCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    TinyLfuCache(int maxEntries, int segmentCount) {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("Segment count must be a power of two");
+        }
+        if (maxEntries < segmentCount) throw new IllegalArgumentException("Max entries must be at least the segment count");
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maxEntries / segmentCount);
+        }
+        this.mask = segmentCount - 1;
+    }
+
+    V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            segment.sketch.increment(key);
+            return segment.entries.get(key);
+        }
+    }
+
+    long generation(K key) {
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    /**
+     * Grava o valor se nenhuma remoção aconteceu desde {@code expectedGeneration} e se a
+     * chave vence a disputa pela vaga com a entrada usada há mais tempo.
+     */
+    boolean putIfCurrent(K key, V value, long expectedGeneration) {
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            if (segment.generation != expectedGeneration) return false;
+
+            if (segment.entries.size() >= segment.capacity && !segment.entries.containsKey(key)) {
+                Iterator<Map.Entry<K, V>> eldest = segment.entries.entrySet().iterator();
+                if (segment.sketch.frequency(key) <= segment.sketch.frequency(eldest.next().getKey())) {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+                eldest.remove();
+                evicted.incrementAndGet();
+            }
+
+            segment.entries.put(key, value);
+            return true;
+        }
+    }
+
+    void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            segment.generation++;
+            segment.entries.remove(key);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    long evictedCount() {
+        return evicted.get();
+    }
+
+    long rejectedCount() {
+        return rejected.get();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Segment<K, V> {
+
+        private final LinkedHashMap<K, V> entries;
+        private final FrequencySketch sketch;
+        private final int capacity;
+        private long generation;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(Math.min(capacity, 1024) * 4 / 3 + 1, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.mrs.catalog_service.change;
+
+import com.mrs.catalog_service.model.Media;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Repassa as mídias criadas e removidas aos {@link MediaChangeListener}s (índices e
+ * caches em memória) somente quando a transação atual confirmar; fora de transação,
+ * repassa na hora. Assim um rollback nunca deixa em memória uma mídia que não existe.
+ */
+@Slf4j
+@Component
+public class CommittedMediaChanges {
+
+    private final List<MediaChangeListener> listeners;
+
+    public CommittedMediaChanges(List<MediaChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void createdAfterCommit(List<Media> media) {
+        afterCommit(listener -> listener.onCreated(media), media.size());
+    }
+
+    public void deletedAfterCommit(List<UUID> mediaIds) {
+        afterCommit(listener -> listener.onDeleted(mediaIds), mediaIds.size());
+    }
+
+    private void afterCommit(Consumer<MediaChangeListener> change, int size) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(change, size);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(change, size);
+            }
+        });
+    }
+
+    private void dispatch(Consumer<MediaChangeListener> change, int size) {
+        for (MediaChangeListener listener : listeners) {
+            try {
+                change.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Erro ao repassar {} mídias para {}: {}", size, listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+}
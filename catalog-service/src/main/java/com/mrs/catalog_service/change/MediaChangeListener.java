@@ -0,0 +1,17 @@
+package com.mrs.catalog_service.change;
+
+import com.mrs.catalog_service.model.Media;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recebe as mídias criadas e removidas depois que a transação que as gravou confirmou.
+ */
+public interface MediaChangeListener {
+
+    void onCreated(List<Media> media);
+
+    void onDeleted(List<UUID> mediaIds);
+
+}
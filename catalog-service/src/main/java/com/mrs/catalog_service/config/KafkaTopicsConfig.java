@@ -0,0 +1,34 @@
+package com.mrs.catalog_service.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Tópicos cuja configuração pertence ao catalog-service; o {@code KafkaAdmin} do Spring
+ * Boot os cria na subida quando ainda não existem.
+ */
+@Configuration
+public class KafkaTopicsConfig {
+
+    public static final String MEDIA_FEATURES_TOPIC = "media-features";
+
+    /**
+     * Compactado por chave: guarda ao menos a última versão de cada mídia, sem
+     * retenção por tempo, então um consumidor novo reconstrói o catálogo lendo o tópico
+     * do início ao fim. Tombstones são mantidos por {@code delete.retention.ms} para que
+     * consumidores atrasados também vejam as remoções.
+     */
+    @Bean
+    public NewTopic mediaFeaturesTopic(@Value("${catalog.media-features.partitions:3}") int partitions) {
+        return TopicBuilder.name(MEDIA_FEATURES_TOPIC)
+                .partitions(partitions)
+                .compact()
+                .config(TopicConfig.MIN_CLEANABLE_DIRTY_RATIO_CONFIG, "0.1")
+                .build();
+    }
+
+}
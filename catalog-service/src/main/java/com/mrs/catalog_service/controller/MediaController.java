@@ -2,21 +2,41 @@ package com.mrs.catalog_service.controller;
 
 import com.mrs.catalog_service.dto.CreateMediaRequest;
 import com.mrs.catalog_service.dto.GetMediaResponse;
+import com.mrs.catalog_service.dto.MediaBrowseQuery;
+import com.mrs.catalog_service.dto.MediaBrowseResponse;
+import com.mrs.catalog_service.dto.MediaBrowseSort;
+import com.mrs.catalog_service.dto.MediaPage;
+import com.mrs.catalog_service.dto.MediaSearchHit;
+import com.mrs.catalog_service.importer.MediaImportFormat;
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
 import com.mrs.catalog_service.service.MediaService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/media")
 public class MediaController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final String TOTAL_COUNT = "X-Total-Count";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final MediaService mediaService;
 
     public MediaController(MediaService mediaService) {
@@ -39,20 +59,152 @@ public class MediaController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    @PostMapping("/features/republish")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> republishFeatures(){
+        int republished = mediaService.republishFeatures();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(republished + " media features queued for republishing");
+    }
+
+    /**
+     * Importação em massa de um arquivo NDJSON ({@code application/x-ndjson}) ou CSV com
+     * cabeçalho ({@code text/csv}). O relatório volta em NDJSON enquanto o arquivo é
+     * processado: uma linha {@code {line, error}} por registro rejeitado e uma
+     * {@code {rows, imported, failed, done}} por lote, a última com {@code done}.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importMedia(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        MediaImportFormat format = MediaImportFormat.fromContentType(contentType);
+        StreamingResponseBody report = out -> mediaService.importMedia(body, format, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, NDJSON)
+                .body(report);
+    }
+
+    /**
+     * Catálogo completo em NDJSON, transmitido enquanto é lido; comprimido com gzip
+     * quando o cliente envia {@code Accept-Encoding: gzip}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                mediaService.export(out);
+                return;
+            }
+            try (GZIPOutputStream compressed = new GZIPOutputStream(out, 65536)) {
+                mediaService.export(compressed);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return response.body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MediaSearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(mediaService.search(q, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MediaSearchHit>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(mediaService.suggest(q, limit));
+    }
+
+    /**
+     * Navegação com filtros e facetas: {@code genre} e {@code mediaType} podem se repetir
+     * (qualquer um dos valores), {@code minYear}/{@code maxYear} delimitam o lançamento.
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<MediaBrowseResponse> browse(
+            @RequestParam(required = false) Set<Genre> genre,
+            @RequestParam(required = false) Set<MediaType> mediaType,
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear,
+            @RequestParam(defaultValue = "TITLE") MediaBrowseSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int pageNumber,
+            @RequestParam(defaultValue = "10") int pageSize
+    ) {
+        MediaBrowseQuery query = new MediaBrowseQuery(genre, mediaType, minYear, maxYear, sort, direction.isDescending());
+
+        return ResponseEntity.ok(mediaService.browse(query, pageNumber, pageSize));
+    }
+
+    /**
+     * Várias mídias de uma vez, na ordem de {@code ids} e sem os ids inexistentes, para
+     * hidratar uma lista de recomendações com uma única requisição.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<GetMediaResponse>> getBatch(@RequestParam List<UUID> ids) {
+        return ResponseEntity.ok(mediaService.getAll(ids));
+    }
+
+    /**
+     * Mesmo que {@code GET /media/batch}, com os ids no corpo, para listas que não cabem
+     * na URL.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<GetMediaResponse>> postBatch(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(mediaService.getAll(ids));
+    }
+
+    /**
+     * Responde com um ETag forte derivado da versão da mídia; um {@code If-None-Match}
+     * com o mesmo valor recebe {@code 304} sem corpo.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<GetMediaResponse> getById(@PathVariable UUID id) {
         GetMediaResponse mediaResponse = mediaService.get(id);
-        return ResponseEntity.ok(mediaResponse);
+
+        return ResponseEntity.ok()
+                .eTag(mediaResponse.id() + "-" + mediaResponse.version())
+                .cacheControl(CacheControl.noCache())
+                .body(mediaResponse);
     }
 
+    /**
+     * Listagem paginada. Com {@code cursor} (vazio na primeira página) a paginação é por
+     * chave e {@code pageNumber} é ignorado; o cursor da próxima página vem em
+     * {@code X-Next-Cursor}, ausente na última.
+     */
     @GetMapping
     public ResponseEntity<List<GetMediaResponse>> getAll(
             @RequestParam(defaultValue = "0") int pageNumber,
-            @RequestParam(defaultValue = "10") int pageSize
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        List<GetMediaResponse> mediaResponseList = mediaService.getAll(pageNumber, pageSize);
+        MediaPage page = cursor == null
+                ? mediaService.getAll(pageNumber, pageSize)
+                : mediaService.getAll(cursor, pageSize);
 
-        return ResponseEntity.ok(mediaResponseList);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) response.header(NEXT_CURSOR, page.nextCursor());
+        if (includeTotal) response.header(TOTAL_COUNT, String.valueOf(mediaService.count()));
+
+        return response.body(page.items());
     }
 
+
 }
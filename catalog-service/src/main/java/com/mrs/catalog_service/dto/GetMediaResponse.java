@@ -15,6 +15,7 @@ public record GetMediaResponse(
         MediaType mediaType,
         String coverUrl,
         List<Genre> genres,
+        long version,
         Instant createAt,
         Instant updateAt
 ) {
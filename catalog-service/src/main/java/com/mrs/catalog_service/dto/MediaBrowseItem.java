@@ -0,0 +1,17 @@
+package com.mrs.catalog_service.dto;
+
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+
+import java.util.List;
+import java.util.UUID;
+
+public record MediaBrowseItem(
+        UUID id,
+        String title,
+        MediaType mediaType,
+        int releaseYear,
+        List<Genre> genres,
+        String coverUrl
+) {
+}
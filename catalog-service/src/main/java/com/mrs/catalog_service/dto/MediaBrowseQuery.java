@@ -0,0 +1,28 @@
+package com.mrs.catalog_service.dto;
+
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+
+import java.util.Set;
+
+/**
+ * Filtros da navegação: valores de um mesmo filtro se somam (qualquer um dos gêneros),
+ * filtros diferentes se restringem (gênero e tipo e ano). Filtro vazio ou nulo não
+ * restringe.
+ */
+public record MediaBrowseQuery(
+        Set<Genre> genres,
+        Set<MediaType> mediaTypes,
+        Integer minYear,
+        Integer maxYear,
+        MediaBrowseSort sort,
+        boolean descending
+) {
+
+    public MediaBrowseQuery {
+        genres = genres == null ? Set.of() : Set.copyOf(genres);
+        mediaTypes = mediaTypes == null ? Set.of() : Set.copyOf(mediaTypes);
+        sort = sort == null ? MediaBrowseSort.TITLE : sort;
+    }
+
+}
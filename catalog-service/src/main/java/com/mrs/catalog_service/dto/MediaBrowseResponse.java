@@ -0,0 +1,10 @@
+package com.mrs.catalog_service.dto;
+
+import java.util.List;
+
+public record MediaBrowseResponse(
+        List<MediaBrowseItem> items,
+        long total,
+        MediaFacets facets
+) {
+}
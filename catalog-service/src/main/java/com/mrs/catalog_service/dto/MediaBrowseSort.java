@@ -0,0 +1,10 @@
+package com.mrs.catalog_service.dto;
+
+/**
+ * Ordenações da navegação do catálogo; empates são desfeitos pelo título.
+ */
+public enum MediaBrowseSort {
+    TITLE,
+    RELEASE_YEAR,
+    CREATE_AT
+}
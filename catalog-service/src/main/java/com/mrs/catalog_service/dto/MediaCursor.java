@@ -0,0 +1,43 @@
+package com.mrs.catalog_service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição opaca na listagem do catálogo: a última mídia devolvida, na ordem
+ * ({@code createAt}, {@code id}). A próxima página começa estritamente depois dela pelo
+ * índice {@code (create_at, id)}, então o custo de uma página não depende de quantas
+ * vieram antes.
+ */
+public record MediaCursor(Instant createAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static MediaCursor of(MediaRow row) {
+        return new MediaCursor(row.createAt(), row.id());
+    }
+
+    public String encode() {
+        String raw = createAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException quando o cursor não foi gerado por {@link #encode()}.
+     */
+    public static MediaCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor");
+
+            return new MediaCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.mrs.catalog_service.dto;
+
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+
+import java.util.Map;
+
+/**
+ * Contagens por valor de cada filtro. Cada faceta considera os outros filtros, mas não o
+ * dela mesma, para mostrar quantas mídias cada alternativa traria.
+ * {@code decades} usa o primeiro ano da década como chave e omite décadas sem mídias.
+ */
+public record MediaFacets(
+        Map<Genre, Long> genres,
+        Map<MediaType, Long> mediaTypes,
+        Map<Integer, Long> decades
+) {
+}
@@ -0,0 +1,10 @@
+package com.mrs.catalog_service.dto;
+
+/**
+ * Registro rejeitado na importação; {@code line} é a linha do arquivo em que ele começa.
+ */
+public record MediaImportError(
+        long line,
+        String error
+) {
+}
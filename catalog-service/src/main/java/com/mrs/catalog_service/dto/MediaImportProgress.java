@@ -0,0 +1,13 @@
+package com.mrs.catalog_service.dto;
+
+/**
+ * Andamento da importação, enviado depois de cada lote gravado e, com {@code done}
+ * verdadeiro, ao final. {@code rows} conta os registros lidos do arquivo.
+ */
+public record MediaImportProgress(
+        long rows,
+        long imported,
+        long failed,
+        boolean done
+) {
+}
@@ -0,0 +1,12 @@
+package com.mrs.catalog_service.dto;
+
+import java.util.List;
+
+/**
+ * Página da listagem; {@code nextCursor} é nulo quando não há próxima página.
+ */
+public record MediaPage(
+        List<GetMediaResponse> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,24 @@
+package com.mrs.catalog_service.dto;
+
+import com.mrs.catalog_service.model.MediaType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Linha da listagem do catálogo, lida por projeção com os gêneros já agregados em
+ * {@code genres} (nomes separados por vírgula, ou nulo quando não há gêneros).
+ */
+public record MediaRow(
+        UUID id,
+        String title,
+        String description,
+        int releaseYear,
+        MediaType mediaType,
+        String coverUrl,
+        String genres,
+        long version,
+        Instant createAt,
+        Instant updateAt
+) {
+}
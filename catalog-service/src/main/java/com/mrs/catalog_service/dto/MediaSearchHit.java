@@ -0,0 +1,13 @@
+package com.mrs.catalog_service.dto;
+
+import java.util.UUID;
+
+/**
+ * Resultado de busca ou autocompletar; {@code score} é zero no autocompletar.
+ */
+public record MediaSearchHit(
+        UUID id,
+        String title,
+        double score
+) {
+}
@@ -0,0 +1,38 @@
+package com.mrs.catalog_service.event;
+
+import com.mrs.catalog_service.model.Media;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado completo de uma mídia, publicado no tópico compactado {@code media-features}
+ * com a chave {@code mediaId}. Cada mensagem substitui a anterior da mesma mídia; a
+ * remoção é publicada como tombstone (valor nulo).
+ */
+public record MediaFeaturesEvent(
+        UUID mediaId,
+        String title,
+        String mediaType,
+        int releaseYear,
+        String coverUrl,
+        List<String> genres,
+        long version,
+        Instant updatedAt
+) {
+
+    public static MediaFeaturesEvent of(Media media) {
+        return new MediaFeaturesEvent(
+                media.getId(),
+                media.getTitle(),
+                media.getMediaType() == null ? null : media.getMediaType().name(),
+                media.getReleaseYear(),
+                media.getCoverUrl(),
+                media.getGenres().stream().map(Enum::toString).toList(),
+                media.getVersion(),
+                media.getUpdateAt()
+        );
+    }
+
+}
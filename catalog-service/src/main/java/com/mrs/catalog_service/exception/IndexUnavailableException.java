@@ -0,0 +1,13 @@
+package com.mrs.catalog_service.exception;
+
+/**
+ * Um índice em memória do catálogo ainda não terminou a reconstrução inicial, e responder
+ * com ele esconderia mídias que existem.
+ */
+public class IndexUnavailableException extends RuntimeException {
+
+    public IndexUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.mrs.catalog_service.handler;
+
+import com.mrs.catalog_service.browse.MediaBrowseIndex;
+import com.mrs.catalog_service.dto.MediaBrowseQuery;
+import com.mrs.catalog_service.dto.MediaBrowseResponse;
+import com.mrs.catalog_service.dto.PageMedia;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BrowseMediaHandler {
+
+    private final MediaBrowseIndex mediaBrowseIndex;
+
+    public BrowseMediaHandler(MediaBrowseIndex mediaBrowseIndex) {
+        this.mediaBrowseIndex = mediaBrowseIndex;
+    }
+
+    public MediaBrowseResponse execute(MediaBrowseQuery query, PageMedia pageMedia){
+        int offset = (int) Math.min(Integer.MAX_VALUE, (long) pageMedia.pageNumber() * pageMedia.pageSize());
+
+        return mediaBrowseIndex.browse(query, offset, pageMedia.pageSize());
+    }
+
+}
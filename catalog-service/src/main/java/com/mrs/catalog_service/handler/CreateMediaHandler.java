@@ -1,24 +1,34 @@
 package com.mrs.catalog_service.handler;
 
+import com.mrs.catalog_service.change.CommittedMediaChanges;
+import com.mrs.catalog_service.config.KafkaTopicsConfig;
+import com.mrs.catalog_service.event.MediaFeaturesEvent;
 import com.mrs.catalog_service.model.Media;
 import com.mrs.catalog_service.repository.MediaRepository;
 import com.mrs.catalog_service.event.CreateMediaEvent;
-import org.springframework.kafka.core.KafkaTemplate;
+import com.mrs.commons.outbox.OutboxPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Component
 public class CreateMediaHandler {
 
     private final MediaRepository mediaRepository;
 
-    private final  KafkaTemplate<String, CreateMediaEvent> kafka;
+    private final OutboxPublisher outboxPublisher;
+
+    private final CommittedMediaChanges committedMediaChanges;
 
 
-    public CreateMediaHandler(MediaRepository mediaRepository, KafkaTemplate<String, CreateMediaEvent> kafka) {
+    public CreateMediaHandler(MediaRepository mediaRepository, OutboxPublisher outboxPublisher, CommittedMediaChanges committedMediaChanges) {
         this.mediaRepository = mediaRepository;
-        this.kafka = kafka;
+        this.outboxPublisher = outboxPublisher;
+        this.committedMediaChanges = committedMediaChanges;
     }
 
+    @Transactional
     public void handler(Media media){
         if(media == null) throw new IllegalArgumentException("Media can't be null");
 
@@ -29,7 +39,10 @@ public class CreateMediaHandler {
                 media.getGenres().stream().map(Enum::toString).toList()
         );
 
-        kafka.send("create-media", createMediaEvent.mediaId().toString(), createMediaEvent);
+        outboxPublisher.publish("create-media", createMediaEvent.mediaId().toString(), createMediaEvent);
+        outboxPublisher.publish(KafkaTopicsConfig.MEDIA_FEATURES_TOPIC, media.getId().toString(), MediaFeaturesEvent.of(media));
+
+        committedMediaChanges.createdAfterCommit(List.of(media));
     }
 
 }
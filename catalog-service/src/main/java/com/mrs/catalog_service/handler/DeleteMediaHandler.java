@@ -1,22 +1,27 @@
 package com.mrs.catalog_service.handler;
 
+import com.mrs.catalog_service.change.CommittedMediaChanges;
+import com.mrs.catalog_service.config.KafkaTopicsConfig;
 import com.mrs.catalog_service.event.DeleteMediaEvent;
 import com.mrs.catalog_service.repository.MediaRepository;
-import org.springframework.kafka.core.KafkaTemplate;
+import com.mrs.commons.outbox.OutboxPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Component
 public class DeleteMediaHandler {
 
     private final MediaRepository mediaRepository;
-    private final KafkaTemplate<String, DeleteMediaEvent> kafka;
+    private final OutboxPublisher outboxPublisher;
+    private final CommittedMediaChanges committedMediaChanges;
 
-    public DeleteMediaHandler(MediaRepository mediaRepository, KafkaTemplate<String, DeleteMediaEvent> kafka) {
+    public DeleteMediaHandler(MediaRepository mediaRepository, OutboxPublisher outboxPublisher, CommittedMediaChanges committedMediaChanges) {
         this.mediaRepository = mediaRepository;
-        this.kafka = kafka;
+        this.outboxPublisher = outboxPublisher;
+        this.committedMediaChanges = committedMediaChanges;
     }
 
     @Transactional
@@ -27,7 +32,10 @@ public class DeleteMediaHandler {
 
         DeleteMediaEvent deleteMediaEvent = new DeleteMediaEvent(mediaId);
 
-        kafka.send("delete-media", mediaId.toString(), deleteMediaEvent);
+        outboxPublisher.publish("delete-media", mediaId.toString(), deleteMediaEvent);
+        outboxPublisher.publishTombstone(KafkaTopicsConfig.MEDIA_FEATURES_TOPIC, mediaId.toString());
+
+        committedMediaChanges.deletedAfterCommit(List.of(mediaId));
     }
 
 
@@ -1,12 +1,15 @@
 package com.mrs.catalog_service.handler;
 
+import com.mrs.catalog_service.dto.MediaCursor;
+import com.mrs.catalog_service.dto.MediaRow;
 import com.mrs.catalog_service.dto.PageMedia;
-import com.mrs.catalog_service.model.Media;
 import com.mrs.catalog_service.repository.MediaRepository;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class GetAllMediaHandler {
 
@@ -16,13 +19,21 @@ public class GetAllMediaHandler {
         this.mediaRepository = mediaRepository;
     }
 
-    public Page<Media> execute(PageMedia pageMedia){
+    public List<MediaRow> execute(PageMedia pageMedia){
         PageRequest pageRequest = PageRequest.of(
                 pageMedia.pageNumber(),
                 pageMedia.pageSize()
         );
 
-        return mediaRepository.findAll(pageRequest);
+        return mediaRepository.findRows(pageRequest);
+    }
+
+    public List<MediaRow> execute(MediaCursor cursor, int pageSize){
+        return mediaRepository.findRowsAfter(cursor.createAt(), cursor.id(), Limit.of(pageSize));
+    }
+
+    public long count(){
+        return mediaRepository.count();
     }
 
 }
@@ -0,0 +1,45 @@
+package com.mrs.catalog_service.handler;
+
+import com.mrs.catalog_service.cache.MediaCache;
+import com.mrs.catalog_service.dto.GetMediaResponse;
+import com.mrs.catalog_service.mapper.MediaMapper;
+import com.mrs.catalog_service.repository.MediaReadRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class GetMediaBatchHandler {
+
+    private final MediaReadRepository mediaReadRepository;
+    private final MediaCache mediaCache;
+    private final MediaMapper mediaMapper;
+
+    @Value("${catalog.media-batch.max-ids:500}")
+    private int maxIds;
+
+    public GetMediaBatchHandler(MediaReadRepository mediaReadRepository, MediaCache mediaCache, MediaMapper mediaMapper) {
+        this.mediaReadRepository = mediaReadRepository;
+        this.mediaCache = mediaCache;
+        this.mediaMapper = mediaMapper;
+    }
+
+    /**
+     * Resolve as mídias na ordem pedida, uma vez cada, omitindo ids inexistentes; as que
+     * não estão em cache vêm do banco em uma única consulta.
+     */
+    public List<GetMediaResponse> execute(List<UUID> mediaIds){
+        if (mediaIds == null || mediaIds.isEmpty()) return List.of();
+
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(mediaIds));
+        if (ids.size() > maxIds) throw new IllegalArgumentException("At most " + maxIds + " media ids per request");
+
+        return mediaCache.getAll(ids, missing -> mediaReadRepository.findAllByIds(missing).stream()
+                .map(mediaMapper::toGetResponse)
+                .toList());
+    }
+
+}
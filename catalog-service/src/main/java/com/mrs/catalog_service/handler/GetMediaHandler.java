@@ -1,6 +1,8 @@
 package com.mrs.catalog_service.handler;
 
-import com.mrs.catalog_service.model.Media;
+import com.mrs.catalog_service.cache.MediaCache;
+import com.mrs.catalog_service.dto.GetMediaResponse;
+import com.mrs.catalog_service.mapper.MediaMapper;
 import com.mrs.catalog_service.repository.MediaRepository;
 import org.springframework.stereotype.Component;
 
@@ -10,14 +12,19 @@ import java.util.UUID;
 public class GetMediaHandler {
 
     private final MediaRepository mediaRepository;
+    private final MediaCache mediaCache;
+    private final MediaMapper mediaMapper;
 
-    public GetMediaHandler(MediaRepository mediaRepository) {
+    public GetMediaHandler(MediaRepository mediaRepository, MediaCache mediaCache, MediaMapper mediaMapper) {
         this.mediaRepository = mediaRepository;
+        this.mediaCache = mediaCache;
+        this.mediaMapper = mediaMapper;
     }
 
-    public Media execute(UUID mediaId){
-        return mediaRepository.findById(mediaId)
-                .orElseThrow(() -> new RuntimeException("Media not found"));
+    public GetMediaResponse execute(UUID mediaId){
+        return mediaCache.get(mediaId, id -> mediaRepository.findWithGenresById(id)
+                .map(mediaMapper::toGetResponse)
+                .orElseThrow(() -> new RuntimeException("Media not found")));
     }
 
 }
@@ -0,0 +1,200 @@
+package com.mrs.catalog_service.handler;
+
+import com.mrs.catalog_service.change.CommittedMediaChanges;
+import com.mrs.catalog_service.config.KafkaTopicsConfig;
+import com.mrs.catalog_service.dto.CreateMediaRequest;
+import com.mrs.catalog_service.dto.MediaImportError;
+import com.mrs.catalog_service.dto.MediaImportProgress;
+import com.mrs.catalog_service.event.CreateMediaEvent;
+import com.mrs.catalog_service.event.MediaFeaturesEvent;
+import com.mrs.catalog_service.importer.MediaImportFormat;
+import com.mrs.catalog_service.importer.MediaImportReader;
+import com.mrs.catalog_service.importer.MediaImportRow;
+import com.mrs.catalog_service.model.Media;
+import com.mrs.catalog_service.repository.MediaWriteRepository;
+import com.mrs.commons.outbox.OutboxPublisher;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importa mídias em massa a partir de um arquivo NDJSON ou CSV lido enquanto chega.
+ * <p>
+ * Cada registro é validado ao ser lido; os válidos são acumulados em lotes de
+ * {@code catalog.import.batch-size} com ids gerados aqui, e cada lote é gravado em uma
+ * transação: mídias e gêneros em {@code INSERT}s em lote e os eventos de
+ * {@code create-media} e {@code media-features} no outbox, também em lote, que o relay
+ * publica em lotes de producer. Um lote que falha não interrompe a importação: suas linhas
+ * são relatadas como erro e os lotes anteriores continuam gravados.
+ * </p>
+ * O relatório é escrito em NDJSON conforme a importação anda: um
+ * {@link MediaImportError} por registro rejeitado, um {@link MediaImportProgress} por
+ * lote e um último com {@code done} verdadeiro. A memória usada é a de um lote.
+ */
+@Slf4j
+@Component
+public class ImportMediaHandler {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MIN_RELEASE_YEAR = 1870;
+    private static final int NEWLINE = '\n';
+
+    private final MediaWriteRepository mediaWriteRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final CommittedMediaChanges committedMediaChanges;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    @Value("${catalog.import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportMediaHandler(MediaWriteRepository mediaWriteRepository, OutboxPublisher outboxPublisher, CommittedMediaChanges committedMediaChanges, TransactionTemplate transactionTemplate, EntityManager entityManager, JsonMapper jsonMapper) {
+        this.mediaWriteRepository = mediaWriteRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.committedMediaChanges = committedMediaChanges;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public MediaImportProgress execute(InputStream in, MediaImportFormat format, OutputStream target) throws IOException {
+        long start = System.nanoTime();
+        OutputStream out = new BufferedOutputStream(target);
+        MediaImportReader reader = MediaImportReader.of(in, format, jsonMapper);
+
+        List<Media> batch = new ArrayList<>(batchSize);
+        List<Long> lines = new ArrayList<>(batchSize);
+        long rows = 0;
+        long imported = 0;
+        long failed = 0;
+
+        MediaImportRow row;
+        while ((row = reader.next()) != null) {
+            rows++;
+
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                failed++;
+                write(out, new MediaImportError(row.line(), error));
+                continue;
+            }
+
+            batch.add(toMedia(row.request()));
+            lines.add(row.line());
+            if (batch.size() < batchSize) continue;
+
+            int saved = save(batch, lines, out);
+            imported += saved;
+            failed += batch.size() - saved;
+            batch.clear();
+            lines.clear();
+            write(out, new MediaImportProgress(rows, imported, failed, false));
+            out.flush();
+        }
+
+        if (!batch.isEmpty()) {
+            int saved = save(batch, lines, out);
+            imported += saved;
+            failed += batch.size() - saved;
+        }
+
+        MediaImportProgress result = new MediaImportProgress(rows, imported, failed, true);
+        write(out, result);
+        out.flush();
+
+        log.info("Importação {}: {} registros, {} mídias importadas, {} rejeitados em {} ms",
+                format, rows, imported, failed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * @return quantidade de mídias gravadas: o lote inteiro ou nenhuma.
+     */
+    private int save(List<Media> batch, List<Long> lines, OutputStream out) throws IOException {
+        List<Media> medias = List.copyOf(batch);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                mediaWriteRepository.insertAll(medias);
+
+                outboxPublisher.publishAll("create-media", medias.stream()
+                        .map(media -> new OutboxPublisher.Keyed(media.getId().toString(), new CreateMediaEvent(media.getId(), media.getGenres().stream().map(Enum::toString).toList())))
+                        .toList());
+                outboxPublisher.publishAll(KafkaTopicsConfig.MEDIA_FEATURES_TOPIC, medias.stream()
+                        .map(media -> new OutboxPublisher.Keyed(media.getId().toString(), MediaFeaturesEvent.of(media)))
+                        .toList());
+
+                committedMediaChanges.createdAfterCommit(medias);
+            });
+            return medias.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Erro ao gravar lote de {} mídias importadas: {}", medias.size(), e.getMessage(), e);
+            for (long line : lines) {
+                write(out, new MediaImportError(line, "Batch not saved: " + e.getMostSpecificCause().getMessage()));
+            }
+            return 0;
+        } finally {
+            // Com open-in-view o contexto de persistência dura a requisição inteira; os
+            // eventos do outbox já gravados não precisam continuar nele.
+            entityManager.clear();
+        }
+    }
+
+    private static String validate(CreateMediaRequest request) {
+        if (request.title() == null || request.title().isBlank()) return "title is required";
+        if (request.title().length() > MAX_TEXT_LENGTH) return "title is longer than " + MAX_TEXT_LENGTH + " characters";
+        if (request.description() != null && request.description().length() > MAX_TEXT_LENGTH) return "description is longer than " + MAX_TEXT_LENGTH + " characters";
+        if (request.coverUrl() != null && request.coverUrl().length() > MAX_TEXT_LENGTH) return "coverUrl is longer than " + MAX_TEXT_LENGTH + " characters";
+        if (request.mediaType() == null) return "mediaType is required";
+
+        int maxYear = Year.now().getValue() + 10;
+        if (request.releaseYear() < MIN_RELEASE_YEAR || request.releaseYear() > maxYear) {
+            return "releaseYear must be between " + MIN_RELEASE_YEAR + " and " + maxYear;
+        }
+        if (request.genres() != null && request.genres().stream().anyMatch(Objects::isNull)) return "genres must not contain null";
+
+        return null;
+    }
+
+    private static Media toMedia(CreateMediaRequest request) {
+        Instant now = Instant.now();
+
+        Media media = new Media.Builder()
+                .title(request.title())
+                .description(request.description())
+                .mediaType(request.mediaType())
+                .releaseYear(request.releaseYear())
+                .coverUrl(request.coverUrl())
+                .createAt(now)
+                .updateAt(now)
+                .genres(request.genres() == null ? List.of() : List.copyOf(request.genres()))
+                .build();
+        media.setId(UUID.randomUUID());
+
+        return media;
+    }
+
+    private void write(OutputStream out, Object line) throws IOException {
+        out.write(jsonMapper.writeValueAsBytes(line));
+        out.write(NEWLINE);
+    }
+
+}
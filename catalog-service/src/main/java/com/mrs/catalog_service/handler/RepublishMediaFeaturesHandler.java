@@ -0,0 +1,79 @@
+package com.mrs.catalog_service.handler;
+
+import com.mrs.catalog_service.config.KafkaTopicsConfig;
+import com.mrs.catalog_service.event.MediaFeaturesEvent;
+import com.mrs.catalog_service.model.Media;
+import com.mrs.catalog_service.repository.MediaRepository;
+import com.mrs.commons.outbox.OutboxPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Republica o estado atual de todas as mídias em {@code media-features}, por exemplo
+ * para popular o tópico com mídias criadas antes dele existir ou após perdê-lo.
+ * <p>
+ * Percorre o catálogo em ordem de id, um lote por transação, e grava os eventos no
+ * outbox: a memória usada é a de um lote e uma falha no meio deixa os lotes anteriores
+ * já publicados. Republicar é idempotente para os consumidores, que substituem o estado
+ * da mídia pela chave.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RepublishMediaFeaturesHandler {
+
+    private static final UUID FIRST = new UUID(0, 0);
+
+    private final MediaRepository mediaRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.media-features.republish-batch-size:500}")
+    private int batchSize;
+
+    public RepublishMediaFeaturesHandler(MediaRepository mediaRepository, OutboxPublisher outboxPublisher, TransactionTemplate transactionTemplate) {
+        this.mediaRepository = mediaRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return quantidade de mídias republicadas.
+     */
+    public int execute() {
+        int republished = 0;
+        UUID after = FIRST;
+
+        while (true) {
+            List<UUID> ids = mediaRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (ids.isEmpty()) break;
+
+            Integer published = transactionTemplate.execute(status -> publishBatch(ids));
+            republished += published == null ? 0 : published;
+            after = ids.getLast();
+
+            if (ids.size() < batchSize) break;
+        }
+
+        log.info("{} mídias republicadas em {}", republished, KafkaTopicsConfig.MEDIA_FEATURES_TOPIC);
+        return republished;
+    }
+
+    private int publishBatch(List<UUID> ids) {
+        List<Media> medias = mediaRepository.findAllWithGenresByIdIn(ids);
+
+        List<OutboxPublisher.Keyed> events = medias.stream()
+                .map(media -> new OutboxPublisher.Keyed(media.getId().toString(), MediaFeaturesEvent.of(media)))
+                .toList();
+
+        outboxPublisher.publishAll(KafkaTopicsConfig.MEDIA_FEATURES_TOPIC, events);
+        return events.size();
+    }
+
+}
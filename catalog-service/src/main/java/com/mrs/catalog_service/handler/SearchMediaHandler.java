@@ -0,0 +1,32 @@
+package com.mrs.catalog_service.handler;
+
+import com.mrs.catalog_service.dto.MediaSearchHit;
+import com.mrs.catalog_service.search.MediaSearchIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SearchMediaHandler {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final MediaSearchIndex mediaSearchIndex;
+
+    public SearchMediaHandler(MediaSearchIndex mediaSearchIndex) {
+        this.mediaSearchIndex = mediaSearchIndex;
+    }
+
+    public List<MediaSearchHit> search(String query, int limit){
+        return mediaSearchIndex.search(query, clamp(limit));
+    }
+
+    public List<MediaSearchHit> suggest(String query, int limit){
+        return mediaSearchIndex.suggest(query, clamp(limit));
+    }
+
+    private static int clamp(int limit){
+        return limit > 0 && limit <= MAX_LIMIT ? limit : 10;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.mrs.catalog_service.importer;
+
+import com.mrs.catalog_service.dto.CreateMediaRequest;
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV no formato RFC 4180 (campos entre aspas podem conter vírgulas, aspas dobradas e
+ * quebras de linha), com cabeçalho. Colunas reconhecidas, em qualquer ordem:
+ * {@code title}, {@code description}, {@code releaseYear}, {@code mediaType},
+ * {@code coverUrl} e {@code genres}, com os gêneros separados por {@code |}.
+ */
+final class CsvMediaImportReader implements MediaImportReader {
+
+    private static final List<String> REQUIRED = List.of("title", "releaseYear", "mediaType");
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long line = 1;
+
+    CsvMediaImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public MediaImportRow next() throws IOException {
+        if (columns == null) {
+            MediaImportRow headerError = readHeader();
+            if (headerError != null) return headerError;
+        }
+
+        List<String> fields;
+        long start;
+        do {
+            start = line;
+            fields = readRecord();
+            if (fields == null) return null;
+        } while (fields.size() == 1 && fields.getFirst().isBlank());
+
+        if (fields.size() != columns.size()) {
+            return MediaImportRow.failed(start, "Expected " + columns.size() + " columns but found " + fields.size());
+        }
+
+        try {
+            return MediaImportRow.of(start, toRequest(fields));
+        } catch (IllegalArgumentException e) {
+            return MediaImportRow.failed(start, e.getMessage());
+        }
+    }
+
+    /**
+     * Sem o cabeçalho não há como ler nenhuma linha: o erro é devolvido e o arquivo dado
+     * como terminado.
+     */
+    private MediaImportRow readHeader() throws IOException {
+        List<String> header = readRecord();
+        columns = new HashMap<>();
+
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+
+        List<String> missing = REQUIRED.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (missing.isEmpty()) return null;
+
+        skipRemaining();
+        return MediaImportRow.failed(1, "Missing CSV header columns: " + String.join(", ", missing));
+    }
+
+    private CreateMediaRequest toRequest(List<String> fields) {
+        return new CreateMediaRequest(
+                field(fields, "title"),
+                field(fields, "description"),
+                toReleaseYear(field(fields, "releaseYear")),
+                toMediaType(field(fields, "mediaType")),
+                field(fields, "coverUrl"),
+                toGenres(field(fields, "genres"))
+        );
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null) return null;
+
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int toReleaseYear(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid releaseYear: " + value);
+        }
+    }
+
+    private static MediaType toMediaType(String value) {
+        try {
+            return value == null ? null : MediaType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid mediaType: " + value);
+        }
+    }
+
+    private static List<Genre> toGenres(String value) {
+        if (value == null) return List.of();
+
+        List<Genre> genres = new ArrayList<>();
+        for (String genre : value.split("\\|")) {
+            if (genre.isBlank()) continue;
+            try {
+                genres.add(Genre.valueOf(genre.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid genre: " + genre.trim());
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * @return os campos do próximo registro, ou {@code null} no fim do arquivo.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+
+        while (true) {
+            int c = reader.read();
+
+            if (c == -1) {
+                if (!read) return null;
+                fields.add(field.toString());
+                return fields;
+            }
+            read = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) reader.reset();
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private void skipRemaining() throws IOException {
+        char[] buffer = new char[8192];
+        while (reader.read(buffer) != -1) {
+            // descarta o corpo da requisição para que o cliente termine de enviá-lo
+        }
+    }
+
+}
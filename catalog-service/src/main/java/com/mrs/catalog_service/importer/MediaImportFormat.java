@@ -0,0 +1,39 @@
+package com.mrs.catalog_service.importer;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+
+/**
+ * Formatos aceitos pela importação em massa, pelo {@code Content-Type} da requisição.
+ */
+public enum MediaImportFormat {
+
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    MediaImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static MediaImportFormat fromContentType(String contentType) {
+        for (MediaImportFormat format : values()) {
+            if (contentType != null && contentType.toLowerCase().startsWith(format.contentType)) return format;
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+
+    MediaImportReader reader(BufferedReader reader, JsonMapper jsonMapper) {
+        return switch (this) {
+            case NDJSON -> new NdjsonMediaImportReader(reader, jsonMapper);
+            case CSV -> new CsvMediaImportReader(reader);
+        };
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.mrs.catalog_service.importer;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lê um arquivo de importação um registro por vez, sem carregá-lo inteiro em memória.
+ * Registros malformados viram linhas com erro e a leitura segue no próximo.
+ */
+public interface MediaImportReader {
+
+    /**
+     * @return o próximo registro, ou {@code null} no fim do arquivo.
+     */
+    MediaImportRow next() throws IOException;
+
+    static MediaImportReader of(InputStream in, MediaImportFormat format, JsonMapper jsonMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 65536);
+        return format.reader(reader, jsonMapper);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.mrs.catalog_service.importer;
+
+import com.mrs.catalog_service.dto.CreateMediaRequest;
+
+/**
+ * Uma linha lida do arquivo: a mídia, ou o motivo de não ter sido possível lê-la.
+ * {@code line} é a linha do arquivo em que o registro começa.
+ */
+public record MediaImportRow(
+        long line,
+        CreateMediaRequest request,
+        String error
+) {
+
+    static MediaImportRow of(long line, CreateMediaRequest request) {
+        return new MediaImportRow(line, request, null);
+    }
+
+    static MediaImportRow failed(long line, String error) {
+        return new MediaImportRow(line, null, error);
+    }
+
+}
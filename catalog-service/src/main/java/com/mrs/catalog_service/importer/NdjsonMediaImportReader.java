@@ -0,0 +1,41 @@
+package com.mrs.catalog_service.importer;
+
+import com.mrs.catalog_service.dto.CreateMediaRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Um objeto JSON por linha, com os campos de {@link CreateMediaRequest}; linhas em branco
+ * são ignoradas.
+ */
+final class NdjsonMediaImportReader implements MediaImportReader {
+
+    private final BufferedReader reader;
+    private final JsonMapper jsonMapper;
+    private long line;
+
+    NdjsonMediaImportReader(BufferedReader reader, JsonMapper jsonMapper) {
+        this.reader = reader;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public MediaImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) return null;
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return MediaImportRow.of(line, jsonMapper.readValue(text, CreateMediaRequest.class));
+        } catch (JacksonException e) {
+            return MediaImportRow.failed(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+}
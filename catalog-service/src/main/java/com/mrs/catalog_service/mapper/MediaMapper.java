@@ -1,9 +1,14 @@
 package com.mrs.catalog_service.mapper;
 
 import com.mrs.catalog_service.dto.GetMediaResponse;
+import com.mrs.catalog_service.dto.MediaRow;
+import com.mrs.catalog_service.model.Genre;
 import com.mrs.catalog_service.model.Media;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Component
 public class MediaMapper {
 
@@ -16,9 +21,31 @@ public class MediaMapper {
                 media.getMediaType(),
                 media.getCoverUrl(),
                 media.getGenres(),
+                media.getVersion(),
                 media.getCreateAt(),
                 media.getUpdateAt()
         );
 
     }
+
+    public GetMediaResponse toGetResponse(MediaRow row){
+        return new GetMediaResponse(
+                row.id(),
+                row.title(),
+                row.description(),
+                row.releaseYear(),
+                row.mediaType(),
+                row.coverUrl(),
+                toGenres(row.genres()),
+                row.version(),
+                row.createAt(),
+                row.updateAt()
+        );
+    }
+
+    public static List<Genre> toGenres(String genres){
+        if (genres == null || genres.isEmpty()) return List.of();
+
+        return Arrays.stream(genres.split(",")).map(Genre::valueOf).toList();
+    }
 }
@@ -0,0 +1,13 @@
+package com.mrs.catalog_service.outbox;
+
+import com.mrs.commons.outbox.OutboxConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Liga o outbox compartilhado sobre a tabela {@code outbox_event} deste serviço.
+ */
+@Configuration
+@Import(OutboxConfiguration.class)
+public class OutboxConfig {
+}
@@ -0,0 +1,120 @@
+package com.mrs.catalog_service.repository;
+
+import com.mrs.catalog_service.dto.MediaRow;
+import com.mrs.catalog_service.model.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Leituras em massa do catálogo direto por JDBC, sem passar pelo contexto de persistência.
+ * <p>
+ * Cada página é uma única consulta: as mídias são limitadas pela chave primária e os
+ * gêneros vêm agregados por um {@code LATERAL} sobre {@code tb_media_genre}, em vez de
+ * uma consulta por mídia para carregar a coleção. As linhas são entregues conforme o
+ * driver as lê, então nenhuma página fica inteira em memória.
+ * </p>
+ */
+@Repository
+public class MediaReadRepository {
+
+    private static final String PAGE_AFTER = """
+            SELECT m.id, m.title, m.description, m.release_year, m.media_type, m.cover_url,
+                   m.version, m.create_at, m.update_at, g.genres
+            FROM (SELECT * FROM medias WHERE id > ? ORDER BY id LIMIT ?) m
+            LEFT JOIN LATERAL (
+                SELECT string_agg(genre_name, ',') AS genres FROM tb_media_genre WHERE media_id = m.id
+            ) g ON true
+            ORDER BY m.id
+            """;
+
+    private static final String BY_IDS = """
+            SELECT m.id, m.title, m.description, m.release_year, m.media_type, m.cover_url,
+                   m.version, m.create_at, m.update_at, g.genres
+            FROM medias m
+            LEFT JOIN LATERAL (
+                SELECT string_agg(genre_name, ',') AS genres FROM tb_media_genre WHERE media_id = m.id
+            ) g ON true
+            WHERE m.id = ANY (?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MediaReadRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Entrega até {@code limit} mídias com id maior que {@code after}, em ordem de id.
+     * Dentro de uma transação o driver busca as linhas em blocos de {@code limit}.
+     *
+     * @return quantidade de mídias entregues; menor que {@code limit} no fim do catálogo.
+     */
+    public int forEachAfter(UUID after, int limit, Consumer<MediaRow> consumer) {
+        int[] rows = {0};
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(PAGE_AFTER, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(limit);
+                    statement.setObject(1, after);
+                    statement.setInt(2, limit);
+                    return statement;
+                },
+                (ResultSet rs) -> {
+                    consumer.accept(toResponse(rs));
+                    rows[0]++;
+                }
+        );
+
+        return rows[0];
+    }
+
+    /**
+     * Mídias dos ids pedidos em uma única consulta, com os gêneros agregados; ids
+     * inexistentes são ignorados e a ordem das linhas não é garantida.
+     */
+    public List<MediaRow> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(BY_IDS);
+                    statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+                    return statement;
+                },
+                (ResultSet rs, int rowNum) -> toResponse(rs)
+        );
+    }
+
+    private static MediaRow toResponse(ResultSet rs) throws SQLException {
+        String mediaType = rs.getString("media_type");
+
+        return new MediaRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getInt("release_year"),
+                mediaType == null ? null : MediaType.valueOf(mediaType),
+                rs.getString("cover_url"),
+                rs.getString("genres"),
+                rs.getLong("version"),
+                toInstant(rs.getTimestamp("create_at")),
+                toInstant(rs.getTimestamp("update_at"))
+        );
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+}
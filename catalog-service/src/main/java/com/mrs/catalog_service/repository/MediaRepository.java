@@ -1,11 +1,72 @@
 package com.mrs.catalog_service.repository;
 
+import com.mrs.catalog_service.dto.MediaRow;
 import com.mrs.catalog_service.model.Media;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface MediaRepository extends JpaRepository<Media, UUID> {
+
+    /**
+     * Próximos ids em ordem, a partir de {@code after} (exclusivo), pela chave primária.
+     */
+    @Query("SELECT m.id FROM Media m WHERE m.id > :after ORDER BY m.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Página da listagem em uma única consulta: projeção direto no DTO, com os gêneros
+     * agregados por subconsulta em vez de carregar a coleção de cada mídia, e sem a
+     * consulta de contagem que um {@code Page} exigiria.
+     */
+    @Query("""
+            SELECT new com.mrs.catalog_service.dto.MediaRow(
+                m.id, m.title, m.description, m.releaseYear, m.mediaType, m.coverUrl,
+                (SELECT listagg(cast(g AS String), ',') FROM m.genres g),
+                m.version, m.createAt, m.updateAt
+            )
+            FROM Media m
+            ORDER BY m.createAt, m.id
+            """)
+    List<MediaRow> findRows(Pageable pageable);
+
+    /**
+     * Mesma projeção de {@link #findRows}, a partir de uma posição ({@code createAt},
+     * {@code id}) exclusiva: percorre o índice {@code (create_at, id)} sem descartar
+     * as linhas das páginas anteriores.
+     */
+    @Query("""
+            SELECT new com.mrs.catalog_service.dto.MediaRow(
+                m.id, m.title, m.description, m.releaseYear, m.mediaType, m.coverUrl,
+                (SELECT listagg(cast(g AS String), ',') FROM m.genres g),
+                m.version, m.createAt, m.updateAt
+            )
+            FROM Media m
+            WHERE (m.createAt, m.id) > (:createAt, :id)
+            ORDER BY m.createAt, m.id
+            """)
+    List<MediaRow> findRowsAfter(@Param("createAt") Instant createAt, @Param("id") UUID id, Limit limit);
+
+    /**
+     * A mídia com os gêneros carregados na mesma consulta.
+     */
+    @Query("SELECT m FROM Media m LEFT JOIN FETCH m.genres WHERE m.id = :id")
+    Optional<Media> findWithGenresById(@Param("id") UUID id);
+
+    /**
+     * Mídias com os gêneros carregados na mesma consulta, sem uma ida ao banco por mídia.
+     */
+    @Query("SELECT DISTINCT m FROM Media m LEFT JOIN FETCH m.genres WHERE m.id IN :ids")
+    List<Media> findAllWithGenresByIdIn(@Param("ids") Collection<UUID> ids);
+
 }
@@ -0,0 +1,61 @@
+package com.mrs.catalog_service.repository;
+
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.Media;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gravações em massa do catálogo direto por JDBC: as mídias chegam com id já gerado,
+ * então mídias e gêneros vão em dois lotes de {@code INSERT}, sem ida ao banco por mídia
+ * e sem passar pelo contexto de persistência. Participa da transação corrente.
+ */
+@Repository
+public class MediaWriteRepository {
+
+    private static final String INSERT_MEDIA = """
+            INSERT INTO medias (id, title, description, release_year, media_type, cover_url, version, create_at, update_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_GENRE = "INSERT INTO tb_media_genre (media_id, genre_name) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MediaWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<Media> medias) {
+        jdbcTemplate.batchUpdate(INSERT_MEDIA, medias, medias.size(), (statement, media) -> {
+            statement.setObject(1, media.getId());
+            statement.setString(2, media.getTitle());
+            statement.setString(3, media.getDescription());
+            statement.setInt(4, media.getReleaseYear());
+            statement.setString(5, media.getMediaType() == null ? null : media.getMediaType().name());
+            statement.setString(6, media.getCoverUrl());
+            statement.setLong(7, media.getVersion());
+            statement.setTimestamp(8, toTimestamp(media.getCreateAt()));
+            statement.setTimestamp(9, toTimestamp(media.getUpdateAt()));
+        });
+
+        List<Object[]> genres = new ArrayList<>();
+        for (Media media : medias) {
+            for (Genre genre : media.getGenres()) {
+                genres.add(new Object[]{media.getId(), genre.name()});
+            }
+        }
+
+        if (!genres.isEmpty()) jdbcTemplate.batchUpdate(INSERT_GENRE, genres);
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+}
@@ -0,0 +1,377 @@
+package com.mrs.catalog_service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Índice invertido de título e descrição das mídias, com ranking BM25 por campo e
+ * autocompletar por prefixo dos termos do título.
+ * <p>
+ * Cada mídia recebe um número de documento sequencial; as listas de postings ficam em
+ * ordem de documento porque documentos só são acrescentados no fim. Remoções apenas
+ * marcam o documento, que deixa de aparecer nos resultados; o espaço volta na próxima
+ * reconstrução. Os termos do título também ficam em um dicionário ordenado, onde os
+ * termos com um prefixo formam um intervalo contíguo.
+ * </p>
+ * <p>
+ * A busca pontua só os campeões das listas grandes (ver {@link PostingList}): o ranking
+ * de termos muito comuns fica aproximado, em troca de um custo por consulta limitado pela
+ * capacidade de campeões e não pelo tamanho do catálogo.
+ * </p>
+ * Não é thread-safe: o {@link MediaSearchIndex} serializa escritas e leituras.
+ */
+final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private static final ThreadLocal<ScoreAccumulator> ACCUMULATOR = ThreadLocal.withInitial(ScoreAccumulator::new);
+
+    private final Map<String, Term> terms = new HashMap<>();
+    private final NavigableMap<String, Term> titleTerms = new TreeMap<>();
+    private final Map<UUID, Integer> docsById = new HashMap<>();
+
+    private UUID[] ids = new UUID[1024];
+    private String[] titles = new String[1024];
+    private int[] titleLengths = new int[1024];
+    private int[] descriptionLengths = new int[1024];
+    private final BitSet deleted = new BitSet();
+
+    private final int championCapacity;
+    private final PostingList.Impact titleImpact = (doc, frequency) -> impact(frequency, titleLengths[doc], averageTitleLength());
+    private final PostingList.Impact descriptionImpact = (doc, frequency) -> impact(frequency, descriptionLengths[doc], averageDescriptionLength());
+
+    private int docs;
+    private int liveDocs;
+    private long titleLengthSum;
+    private long descriptionLengthSum;
+
+    InvertedIndex() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param championCapacity postings de maior impacto mantidos por lista; listas até esse
+     *                         tamanho são pontuadas inteiras.
+     */
+    InvertedIndex(int championCapacity) {
+        this.championCapacity = championCapacity;
+    }
+
+    record Hit(UUID id, String title, double score) {
+    }
+
+    /**
+     * @return {@code false} quando a mídia já estava indexada.
+     */
+    boolean add(UUID id, String title, String description) {
+        if (docsById.containsKey(id)) return false;
+
+        int doc = docs++;
+        ensureCapacity(doc + 1);
+
+        List<String> titleTokens = TextAnalyzer.terms(title);
+        List<String> descriptionTokens = TextAnalyzer.terms(description);
+
+        ids[doc] = id;
+        titles[doc] = title;
+        titleLengths[doc] = titleTokens.size();
+        descriptionLengths[doc] = descriptionTokens.size();
+        docsById.put(id, doc);
+
+        for (Map.Entry<String, Integer> entry : frequencies(titleTokens).entrySet()) {
+            Term term = terms.computeIfAbsent(entry.getKey(), key -> new Term());
+            if (term.title == null) {
+                term.title = new PostingList();
+                titleTerms.put(entry.getKey(), term);
+            }
+            term.title.append(doc, entry.getValue(), championCapacity, titleImpact);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies(descriptionTokens).entrySet()) {
+            Term term = terms.computeIfAbsent(entry.getKey(), key -> new Term());
+            if (term.description == null) term.description = new PostingList();
+            term.description.append(doc, entry.getValue(), championCapacity, descriptionImpact);
+        }
+
+        liveDocs++;
+        titleLengthSum += titleTokens.size();
+        descriptionLengthSum += descriptionTokens.size();
+        return true;
+    }
+
+    boolean remove(UUID id) {
+        Integer doc = docsById.remove(id);
+        if (doc == null) return false;
+
+        deleted.set(doc);
+        liveDocs--;
+        titleLengthSum -= titleLengths[doc];
+        descriptionLengthSum -= descriptionLengths[doc];
+        return true;
+    }
+
+    boolean contains(UUID id) {
+        return docsById.containsKey(id);
+    }
+
+    int size() {
+        return liveDocs;
+    }
+
+    int terms() {
+        return terms.size();
+    }
+
+    /**
+     * Mídias com pelo menos um dos termos, ordenadas por BM25 (título com peso maior que
+     * a descrição). Termos presentes em mais de {@code maxDfRatio} dos documentos são
+     * ignorados quando a consulta tem outros termos mais seletivos: quase não mudam a
+     * ordem e seriam a maior parte do custo.
+     */
+    List<Hit> search(List<String> queryTerms, int limit, double maxDfRatio) {
+        List<Term> matched = new ArrayList<>();
+        for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+            Term term = terms.get(queryTerm);
+            if (term != null) matched.add(term);
+        }
+        if (matched.isEmpty() || liveDocs == 0) return List.of();
+
+        long maxDf = Math.max(1, (long) (maxDfRatio * docs));
+        List<Term> selective = matched.stream().filter(term -> term.df() <= maxDf).toList();
+        if (!selective.isEmpty()) matched = selective;
+
+        ScoreAccumulator accumulator = ACCUMULATOR.get();
+        accumulator.reset(docs);
+
+        double averageTitle = averageTitleLength();
+        double averageDescription = averageDescriptionLength();
+
+        for (Term term : matched) {
+            if (term.title != null) accumulate(accumulator, term.title, titleLengths, averageTitle, TITLE_WEIGHT);
+            if (term.description != null) accumulate(accumulator, term.description, descriptionLengths, averageDescription, DESCRIPTION_WEIGHT);
+        }
+
+        return accumulator.top(limit, deleted, this::hit);
+    }
+
+    /**
+     * Títulos que completam a consulta: os termos anteriores ao último precisam aparecer
+     * inteiros no título e o último vale como prefixo de uma das {@code completions}
+     * completações mais frequentes no dicionário. Percorre cada lista de postings a partir
+     * dos documentos indexados por último.
+     */
+    List<Hit> suggest(List<String> fullTerms, String prefix, int limit, int completions, int maxScan) {
+        List<PostingList> completed = completions(prefix, completions, maxScan);
+        if (completed.isEmpty()) return List.of();
+        if (fullTerms.isEmpty()) return suggestPrefix(completed, limit);
+
+        List<PostingList> required = new ArrayList<>();
+        for (String fullTerm : new LinkedHashSet<>(fullTerms)) {
+            Term term = terms.get(fullTerm);
+            if (term == null || term.title == null) return List.of();
+            required.add(term.title);
+        }
+        required.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList driver = required.getFirst();
+        List<Hit> hits = new ArrayList<>(limit);
+
+        for (int i = driver.size() - 1, scanned = 0; i >= 0 && hits.size() < limit && scanned < maxScan; i--, scanned++) {
+            int doc = driver.doc(i);
+            if (deleted.get(doc) || !containsAll(required, 1, doc) || !containsAny(completed, doc)) continue;
+
+            hits.add(hit(doc, 0));
+        }
+
+        return hits;
+    }
+
+    /**
+     * Postings de título dos termos com o prefixo, do mais para o menos frequente.
+     */
+    private List<PostingList> completions(String prefix, int completions, int maxScan) {
+        PriorityQueue<PostingList> top = new PriorityQueue<>(Comparator.comparingInt(PostingList::size));
+        int scanned = 0;
+
+        for (Term term : titleTerms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (++scanned > maxScan) break;
+
+            top.add(term.title);
+            if (top.size() > completions) top.poll();
+        }
+
+        List<PostingList> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingInt(PostingList::size).reversed());
+        return ranked;
+    }
+
+    private List<Hit> suggestPrefix(List<PostingList> completed, int limit) {
+        Set<Integer> seen = new HashSet<>();
+        List<Hit> hits = new ArrayList<>(limit);
+
+        for (PostingList postings : completed) {
+            for (int i = postings.size() - 1; i >= 0 && hits.size() < limit; i--) {
+                int doc = postings.doc(i);
+                if (!deleted.get(doc) && seen.add(doc)) hits.add(hit(doc, 0));
+            }
+            if (hits.size() == limit) break;
+        }
+
+        return hits;
+    }
+
+    private static boolean containsAll(List<PostingList> postings, int from, int doc) {
+        for (int i = from; i < postings.size(); i++) {
+            if (!postings.get(i).contains(doc)) return false;
+        }
+        return true;
+    }
+
+    private static boolean containsAny(List<PostingList> postings, int doc) {
+        for (PostingList list : postings) {
+            if (list.contains(doc)) return true;
+        }
+        return false;
+    }
+
+    private void accumulate(ScoreAccumulator accumulator, PostingList postings, int[] lengths, double averageLength, double weight) {
+        double idf = Math.log(1 + (docs - postings.size() + 0.5) / (postings.size() + 0.5));
+
+        int count = postings.hasChampions() ? postings.championCount() : postings.size();
+
+        for (int i = 0; i < count; i++) {
+            int position = postings.hasChampions() ? postings.champion(i) : i;
+            int doc = postings.doc(position);
+
+            accumulator.add(doc, (float) (weight * idf * impact(postings.frequency(position), lengths[doc], averageLength)));
+        }
+    }
+
+    /**
+     * Parte do BM25 que depende do documento: frequência saturada e normalizada pelo
+     * tamanho do campo.
+     */
+    private static float impact(int frequency, int length, double averageLength) {
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return (float) (frequency * (K1 + 1) / (frequency + norm));
+    }
+
+    private double averageTitleLength() {
+        return liveDocs == 0 ? 1.0 : Math.max(1.0, (double) titleLengthSum / liveDocs);
+    }
+
+    private double averageDescriptionLength() {
+        return liveDocs == 0 ? 1.0 : Math.max(1.0, (double) descriptionLengthSum / liveDocs);
+    }
+
+    private Hit hit(int doc, double score) {
+        return new Hit(ids[doc], titles[doc], score);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) return;
+
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        titles = Arrays.copyOf(titles, grown);
+        titleLengths = Arrays.copyOf(titleLengths, grown);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, grown);
+    }
+
+    private static Map<String, Integer> frequencies(List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static final class Term {
+
+        private PostingList title;
+        private PostingList description;
+
+        int df() {
+            return Math.max(title == null ? 0 : title.size(), description == null ? 0 : description.size());
+        }
+
+    }
+
+    /**
+     * Pontuações por documento em um array denso reaproveitado por thread; só as posições
+     * tocadas pela consulta são zeradas depois, então o custo acompanha os postings lidos
+     * e não o tamanho do catálogo.
+     */
+    private static final class ScoreAccumulator {
+
+        private float[] scores = new float[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        void reset(int docs) {
+            if (scores.length < docs) {
+                scores = new float[docs + (docs >> 2)];
+                touched = new int[scores.length];
+            }
+            touchedCount = 0;
+        }
+
+        void add(int doc, float score) {
+            if (score <= 0f) return;
+            if (scores[doc] == 0f) touched[touchedCount++] = doc;
+            scores[doc] += score;
+        }
+
+        List<Hit> top(int limit, BitSet deleted, HitFactory hits) {
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(doc -> scores[doc]));
+
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (deleted.get(doc)) continue;
+
+                if (heap.size() < limit) {
+                    heap.add(doc);
+                } else if (scores[doc] > scores[heap.peek()]) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            }
+
+            Hit[] ranked = new Hit[heap.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                int doc = heap.poll();
+                ranked[i] = hits.hit(doc, scores[doc]);
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0f;
+            }
+            touchedCount = 0;
+
+            return List.of(ranked);
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface HitFactory {
+
+        Hit hit(int doc, double score);
+
+    }
+
+}
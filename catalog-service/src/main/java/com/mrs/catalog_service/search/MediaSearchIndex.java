@@ -0,0 +1,178 @@
+package com.mrs.catalog_service.search;
+
+import com.mrs.catalog_service.change.MediaChangeListener;
+import com.mrs.catalog_service.dto.MediaRow;
+import com.mrs.catalog_service.dto.MediaSearchHit;
+import com.mrs.catalog_service.exception.IndexUnavailableException;
+import com.mrs.catalog_service.model.Media;
+import com.mrs.catalog_service.repository.MediaReadRepository;
+import com.mrs.commons.index.RebuildableIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca textual e autocompletar do catálogo, inteiramente em memória.
+ * <p>
+ * O índice é reconstruído a partir do banco quando o serviço sobe, em segundo plano e
+ * por chave, uma página por transação; até a troca, o índice atual está vazio e as
+ * buscas recebem {@link IndexUnavailableException}. Depois disso é mantido pelas
+ * criações e remoções confirmadas. O que muda durante
+ * a reconstrução vale para o índice atual e é reaplicado no novo antes da troca, então
+ * nenhuma alteração se perde ({@link RebuildableIndex}).
+ * </p>
+ */
+@Slf4j
+@Component
+public class MediaSearchIndex implements MediaChangeListener {
+
+    private final MediaReadRepository mediaReadRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Timer searchTimer;
+    private final Timer suggestTimer;
+
+    private final RebuildableIndex<InvertedIndex> current = new RebuildableIndex<>(new InvertedIndex());
+
+    @Value("${catalog.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    @Value("${catalog.search.max-df-ratio:0.5}")
+    private double maxDfRatio;
+
+    @Value("${catalog.search.champion-list-size:2000}")
+    private int championListSize;
+
+    @Value("${catalog.search.suggest-completions:8}")
+    private int suggestCompletions;
+
+    @Value("${catalog.search.suggest-max-scan:20000}")
+    private int suggestMaxScan;
+
+    public MediaSearchIndex(MediaReadRepository mediaReadRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.mediaReadRepository = mediaReadRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.searchTimer = Timer.builder("catalog.search.latency")
+                .tag("operation", "search")
+                .description("Tempo de uma busca no índice em memória")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.suggestTimer = Timer.builder("catalog.search.latency")
+                .tag("operation", "suggest")
+                .description("Tempo de um autocompletar no índice em memória")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        Gauge.builder("catalog.search.documents", this, MediaSearchIndex::size)
+                .description("Mídias no índice de busca")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.ready", this, search -> search.isReady() ? 1 : 0)
+                .description("1 quando a reconstrução inicial do índice terminou")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws IndexUnavailableException enquanto a reconstrução inicial não termina.
+     */
+    public List<MediaSearchHit> search(String query, int limit) {
+        requireReady();
+
+        List<String> terms = TextAnalyzer.terms(query);
+        if (terms.isEmpty()) return List.of();
+
+        return searchTimer.record(() -> current.read(index -> toResponse(index.search(terms, limit, maxDfRatio))));
+    }
+
+    /**
+     * @throws IndexUnavailableException enquanto a reconstrução inicial não termina.
+     */
+    public List<MediaSearchHit> suggest(String query, int limit) {
+        requireReady();
+
+        List<String> terms = TextAnalyzer.terms(query);
+        if (terms.isEmpty()) return List.of();
+
+        List<String> fullTerms = terms.subList(0, terms.size() - 1);
+        String prefix = terms.getLast();
+
+        return suggestTimer.record(() -> current.read(index -> toResponse(index.suggest(fullTerms, prefix, limit, suggestCompletions, suggestMaxScan))));
+    }
+
+    public boolean isReady() {
+        return current.isReady();
+    }
+
+    @Override
+    public void onCreated(List<Media> media) {
+        current.write(index -> media.forEach(created -> index.add(created.getId(), created.getTitle(), created.getDescription())));
+    }
+
+    @Override
+    public void onDeleted(List<UUID> mediaIds) {
+        current.write(index -> mediaIds.forEach(index::remove));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofPlatform().daemon().name("media-search-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Relê o catálogo e troca o índice atual pelo reconstruído.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        InvertedIndex rebuilt;
+        try {
+            rebuilt = current.rebuild(this::load);
+        } catch (RuntimeException e) {
+            log.error("Erro ao reconstruir o índice de busca: {}", e.getMessage(), e);
+            return;
+        }
+        if (rebuilt == null) return;
+
+        log.info("Índice de busca reconstruído: {} mídias, {} termos em {} ms",
+                rebuilt.size(), rebuilt.terms(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private InvertedIndex load() {
+        InvertedIndex loaded = new InvertedIndex(championListSize);
+
+        UUID[] after = {new UUID(0, 0)};
+        while (true) {
+            Integer rows = readOnlyTransaction.execute(status -> mediaReadRepository.forEachAfter(after[0], rebuildBatchSize, (MediaRow row) -> {
+                loaded.add(row.id(), row.title(), row.description());
+                after[0] = row.id();
+            }));
+
+            if (rows == null || rows < rebuildBatchSize) break;
+        }
+        return loaded;
+    }
+
+    private void requireReady() {
+        if (!current.isReady()) throw new IndexUnavailableException("Search index is still loading, retry later");
+    }
+
+    private int size() {
+        return current.read(InvertedIndex::size);
+    }
+
+    private static List<MediaSearchHit> toResponse(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(hit -> new MediaSearchHit(hit.id(), hit.title(), hit.score())).toList();
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.mrs.catalog_service.search;
+
+import java.util.Arrays;
+
+/**
+ * Documentos que contêm um termo em um campo, em ordem crescente de documento, com a
+ * frequência do termo em cada um. Arrays primitivos em vez de objetos por ocorrência:
+ * cinco bytes por posting.
+ * <p>
+ * Listas maiores que a capacidade de campeões mantêm também os postings de maior impacto
+ * (a "champion list"), para que termos muito comuns não obriguem a pontuar a lista inteira.
+ * </p>
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private byte[] frequencies = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private int[] championPositions;
+    private float[] championImpacts;
+    private int championCount;
+
+    @FunctionalInterface
+    interface Impact {
+
+        float of(int doc, int frequency);
+
+    }
+
+    /**
+     * Documentos são acrescentados sempre com número maior que o último.
+     */
+    void append(int doc, int frequency) {
+        append(doc, frequency, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Como {@link #append(int, int)}, mantendo os {@code championCapacity} postings de maior
+     * impacto depois que a lista passa desse tamanho.
+     */
+    void append(int doc, int frequency, int championCapacity, Impact impact) {
+        appendPosting(doc, frequency);
+
+        if (championPositions != null) {
+            offerChampion(size - 1, impact);
+        } else if (size > championCapacity) {
+            championPositions = new int[championCapacity];
+            championImpacts = new float[championCapacity];
+            for (int position = 0; position < size; position++) {
+                offerChampion(position, impact);
+            }
+        }
+    }
+
+    private void appendPosting(int doc, int frequency) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+
+        docs[size] = doc;
+        frequencies[size] = (byte) Math.min(frequency, 255);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index] & 0xFF;
+    }
+
+    boolean contains(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    boolean hasChampions() {
+        return championPositions != null;
+    }
+
+    int championCount() {
+        return championCount;
+    }
+
+    /**
+     * Posição, na lista completa, do i-ésimo campeão; a ordem entre campeões é arbitrária.
+     */
+    int champion(int index) {
+        return championPositions[index];
+    }
+
+    /**
+     * Heap de mínimo pelo impacto: o campeão mais fraco fica na raiz e sai quando chega um
+     * posting mais forte.
+     */
+    private void offerChampion(int position, Impact impact) {
+        float value = impact.of(docs[position], frequency(position));
+
+        if (championCount < championPositions.length) {
+            int i = championCount++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (championImpacts[parent] <= value) break;
+                championPositions[i] = championPositions[parent];
+                championImpacts[i] = championImpacts[parent];
+                i = parent;
+            }
+            championPositions[i] = position;
+            championImpacts[i] = value;
+            return;
+        }
+
+        if (value <= championImpacts[0]) return;
+
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= championCount) break;
+            if (child + 1 < championCount && championImpacts[child + 1] < championImpacts[child]) child++;
+            if (championImpacts[child] >= value) break;
+            championPositions[i] = championPositions[child];
+            championImpacts[i] = championImpacts[child];
+            i = child;
+        }
+        championPositions[i] = position;
+        championImpacts[i] = value;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.mrs.catalog_service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quebra textos em termos de busca: sem acentos, em minúsculas, separados por qualquer
+ * caractere que não seja letra ou dígito. A mesma análise vale para indexar e consultar.
+ */
+final class TextAnalyzer {
+
+    static final int MAX_TERM_LENGTH = 40;
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) return terms;
+
+        String folded = fold(text);
+        int start = -1;
+
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) terms.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return terms;
+    }
+
+    private static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) folded.append(Character.toLowerCase(c));
+        }
+
+        return folded.toString();
+    }
+
+}
@@ -2,16 +2,32 @@ package com.mrs.catalog_service.service;
 
 import com.mrs.catalog_service.dto.CreateMediaRequest;
 import com.mrs.catalog_service.dto.GetMediaResponse;
+import com.mrs.catalog_service.dto.MediaBrowseQuery;
+import com.mrs.catalog_service.dto.MediaBrowseResponse;
+import com.mrs.catalog_service.dto.MediaCursor;
+import com.mrs.catalog_service.dto.MediaImportProgress;
+import com.mrs.catalog_service.dto.MediaPage;
+import com.mrs.catalog_service.dto.MediaRow;
+import com.mrs.catalog_service.dto.MediaSearchHit;
 import com.mrs.catalog_service.dto.PageMedia;
+import com.mrs.catalog_service.handler.BrowseMediaHandler;
 import com.mrs.catalog_service.handler.CreateMediaHandler;
 import com.mrs.catalog_service.handler.DeleteMediaHandler;
+import com.mrs.catalog_service.handler.ExportMediaHandler;
 import com.mrs.catalog_service.handler.GetAllMediaHandler;
+import com.mrs.catalog_service.handler.GetMediaBatchHandler;
 import com.mrs.catalog_service.handler.GetMediaHandler;
+import com.mrs.catalog_service.handler.ImportMediaHandler;
+import com.mrs.catalog_service.handler.RepublishMediaFeaturesHandler;
+import com.mrs.catalog_service.handler.SearchMediaHandler;
+import com.mrs.catalog_service.importer.MediaImportFormat;
 import com.mrs.catalog_service.mapper.MediaMapper;
 import com.mrs.catalog_service.model.Media;
-import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -23,14 +39,26 @@ public class MediaService {
     private final DeleteMediaHandler deleteMediaHandler;
     private final GetMediaHandler getMediaHandler;
     private final GetAllMediaHandler getAllMediaHandler;
+    private final GetMediaBatchHandler getMediaBatchHandler;
+    private final RepublishMediaFeaturesHandler republishMediaFeaturesHandler;
+    private final ExportMediaHandler exportMediaHandler;
+    private final SearchMediaHandler searchMediaHandler;
+    private final BrowseMediaHandler browseMediaHandler;
+    private final ImportMediaHandler importMediaHandler;
 
     private final MediaMapper mediaMapper;
 
-    public MediaService(CreateMediaHandler createMediaHandler, DeleteMediaHandler deleteMediaHandler, GetMediaHandler getMediaHandler, GetAllMediaHandler getAllMediaHandler, MediaMapper mediaMapper) {
+    public MediaService(CreateMediaHandler createMediaHandler, DeleteMediaHandler deleteMediaHandler, GetMediaHandler getMediaHandler, GetAllMediaHandler getAllMediaHandler, GetMediaBatchHandler getMediaBatchHandler, RepublishMediaFeaturesHandler republishMediaFeaturesHandler, ExportMediaHandler exportMediaHandler, SearchMediaHandler searchMediaHandler, BrowseMediaHandler browseMediaHandler, ImportMediaHandler importMediaHandler, MediaMapper mediaMapper) {
         this.createMediaHandler = createMediaHandler;
         this.deleteMediaHandler = deleteMediaHandler;
         this.getMediaHandler = getMediaHandler;
         this.getAllMediaHandler = getAllMediaHandler;
+        this.getMediaBatchHandler = getMediaBatchHandler;
+        this.republishMediaFeaturesHandler = republishMediaFeaturesHandler;
+        this.exportMediaHandler = exportMediaHandler;
+        this.searchMediaHandler = searchMediaHandler;
+        this.browseMediaHandler = browseMediaHandler;
+        this.importMediaHandler = importMediaHandler;
         this.mediaMapper = mediaMapper;
     }
 
@@ -40,6 +68,7 @@ public class MediaService {
                 .description( createMediaRequest.description() )
                 .mediaType( createMediaRequest.mediaType() )
                 .releaseYear( createMediaRequest.releaseYear() )
+                .coverUrl( createMediaRequest.coverUrl() )
                 .createAt( Instant.now() )
                 .updateAt( Instant.now() )
                 .genres( createMediaRequest.genres() )
@@ -53,17 +82,64 @@ public class MediaService {
     }
 
     public GetMediaResponse get(UUID mediaId){
-        Media media = getMediaHandler.execute(mediaId);
+        return getMediaHandler.execute(mediaId);
+    }
 
-        return mediaMapper.toGetResponse(media);
+    public List<GetMediaResponse> getAll(List<UUID> mediaIds){
+        return getMediaBatchHandler.execute(mediaIds);
     }
 
-    public List<GetMediaResponse> getAll(int pageNumber, int pageSize){
+    public MediaPage getAll(int pageNumber, int pageSize){
         PageMedia pageMedia = new PageMedia(pageSize, pageNumber);
 
-        Page<Media> mediaPage = getAllMediaHandler.execute(pageMedia);
+        return toPage(getAllMediaHandler.execute(pageMedia), pageMedia.pageSize());
+    }
+
+    /**
+     * Listagem por cursor; um cursor vazio começa do início do catálogo.
+     */
+    public MediaPage getAll(String cursor, int pageSize){
+        PageMedia pageMedia = new PageMedia(pageSize, 0);
+
+        List<MediaRow> rows = cursor.isEmpty()
+                ? getAllMediaHandler.execute(pageMedia)
+                : getAllMediaHandler.execute(MediaCursor.decode(cursor), pageMedia.pageSize());
+
+        return toPage(rows, pageMedia.pageSize());
+    }
+
+    private MediaPage toPage(List<MediaRow> rows, int pageSize){
+        String nextCursor = rows.size() < pageSize ? null : MediaCursor.of(rows.getLast()).encode();
+
+        return new MediaPage(rows.stream().map(mediaMapper::toGetResponse).toList(), nextCursor);
+    }
+
+    public long count(){
+        return getAllMediaHandler.count();
+    }
+
+    public int republishFeatures() {
+        return republishMediaFeaturesHandler.execute();
+    }
+
+    public List<MediaSearchHit> search(String query, int limit) {
+        return searchMediaHandler.search(query, limit);
+    }
+
+    public List<MediaSearchHit> suggest(String query, int limit) {
+        return searchMediaHandler.suggest(query, limit);
+    }
+
+    public MediaBrowseResponse browse(MediaBrowseQuery query, int pageNumber, int pageSize) {
+        return browseMediaHandler.execute(query, new PageMedia(pageSize, pageNumber));
+    }
+
+    public long export(OutputStream out) throws IOException {
+        return exportMediaHandler.execute(out);
+    }
 
-        return mediaPage.stream().map(mediaMapper::toGetResponse).toList();
+    public MediaImportProgress importMedia(InputStream in, MediaImportFormat format, OutputStream report) throws IOException {
+        return importMediaHandler.execute(in, format, report);
     }
 
 
@@ -0,0 +1,7 @@
+-- Executado depois do ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+
+-- Agregação dos gêneros por mídia nas leituras em massa (MediaReadRepository).
+CREATE INDEX IF NOT EXISTS ix_media_genre_media ON tb_media_genre (media_id);
+
+-- Paginação por chave da listagem (MediaRepository.findRowsAfter).
+CREATE INDEX IF NOT EXISTS ix_medias_create_at_id ON medias (create_at, id);
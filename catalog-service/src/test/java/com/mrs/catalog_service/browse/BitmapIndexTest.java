@@ -0,0 +1,125 @@
+package com.mrs.catalog_service.browse;
+
+import com.mrs.catalog_service.dto.MediaBrowseItem;
+import com.mrs.catalog_service.dto.MediaBrowseQuery;
+import com.mrs.catalog_service.dto.MediaBrowseResponse;
+import com.mrs.catalog_service.dto.MediaBrowseSort;
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class BitmapIndexTest {
+
+    private final UUID alien = UUID.randomUUID();
+    private final UUID scream = UUID.randomUUID();
+    private final UUID airplane = UUID.randomUUID();
+    private final UUID dark = UUID.randomUUID();
+
+    private BitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BitmapIndex();
+        index.startLoading();
+        index.add(alien, "Alien", MediaType.MOVIE, 1979, List.of(Genre.HORROR, Genre.THRILLER), null, Instant.parse("2024-01-01T00:00:00Z"));
+        index.add(scream, "Scream", MediaType.MOVIE, 1996, List.of(Genre.HORROR, Genre.COMEDY), null, Instant.parse("2024-01-02T00:00:00Z"));
+        index.add(airplane, "Airplane!", MediaType.MOVIE, 1980, List.of(Genre.COMEDY), null, Instant.parse("2024-01-03T00:00:00Z"));
+        index.add(dark, "Dark", MediaType.SERIES, 2017, List.of(Genre.THRILLER), null, Instant.parse("2024-01-04T00:00:00Z"));
+        index.finishLoading();
+    }
+
+    private static MediaBrowseQuery query(Set<Genre> genres, Set<MediaType> mediaTypes, Integer minYear, Integer maxYear) {
+        return new MediaBrowseQuery(genres, mediaTypes, minYear, maxYear, MediaBrowseSort.TITLE, false);
+    }
+
+    private static List<UUID> ids(MediaBrowseResponse response) {
+        return response.items().stream().map(MediaBrowseItem::id).toList();
+    }
+
+    @Test
+    @DisplayName("Deve somar valores do mesmo filtro e restringir entre filtros diferentes")
+    void browse_ShouldIntersectFilters_AndUniteValuesOfSameFilter() {
+        // Act
+        MediaBrowseResponse response = index.browse(query(Set.of(Genre.HORROR, Genre.THRILLER), Set.of(MediaType.MOVIE), null, null), 0, 10);
+
+        // Assert
+        assertThat(ids(response)).containsExactly(alien, scream);
+        assertThat(response.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve contar cada faceta com os outros filtros, mas sem o dela")
+    void browse_ShouldCountFacets_WithoutOwnFilter() {
+        // Act
+        MediaBrowseResponse response = index.browse(query(Set.of(Genre.HORROR), null, 1970, 1989), 0, 10);
+
+        // Assert
+        assertThat(ids(response)).containsExactly(alien);
+        assertThat(response.facets().genres()).contains(entry(Genre.HORROR, 1L), entry(Genre.COMEDY, 1L), entry(Genre.THRILLER, 1L), entry(Genre.ACTION, 0L));
+        assertThat(response.facets().mediaTypes()).contains(entry(MediaType.MOVIE, 1L), entry(MediaType.SERIES, 0L));
+        assertThat(response.facets().decades()).containsExactly(entry(1970, 1L), entry(1990, 1L));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar e paginar, inclusive na ordem inversa")
+    void browse_ShouldSortAndPage() {
+        // Act
+        MediaBrowseResponse byYear = index.browse(new MediaBrowseQuery(null, null, null, null, MediaBrowseSort.RELEASE_YEAR, true), 1, 2);
+
+        MediaBrowseResponse inRange = index.browse(new MediaBrowseQuery(null, null, 1980, 2000, MediaBrowseSort.RELEASE_YEAR, false), 0, 10);
+        MediaBrowseResponse beforeDescending = index.browse(new MediaBrowseQuery(null, null, null, 1990, MediaBrowseSort.RELEASE_YEAR, true), 0, 10);
+
+        // Assert
+        assertThat(ids(byYear)).containsExactly(scream, airplane);
+        assertThat(byYear.total()).isEqualTo(4);
+        assertThat(ids(inRange)).containsExactly(airplane, scream);
+        assertThat(ids(beforeDescending)).containsExactly(airplane, alien);
+    }
+
+    @Test
+    @DisplayName("Deve incluir mídias criadas depois da carga na ordem e não devolver removidas")
+    void browse_ShouldMergeCreatedMedia_AndSkipRemoved() {
+        // Arrange
+        UUID blob = UUID.randomUUID();
+        index.add(blob, "Blob", MediaType.MOVIE, 1958, List.of(Genre.HORROR), null, Instant.parse("2024-01-05T00:00:00Z"));
+        index.remove(scream);
+
+        // Act
+        MediaBrowseResponse response = index.browse(query(null, null, null, null), 0, 10);
+
+        // Assert
+        assertThat(ids(response)).containsExactly(airplane, alien, blob, dark);
+        assertThat(response.facets().genres()).contains(entry(Genre.HORROR, 2L), entry(Genre.COMEDY, 1L));
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem depois de fundir muitas mídias criadas")
+    void browse_ShouldKeepOrder_AfterMergingRecentMedia() {
+        // Arrange
+        for (int i = 0; i < 5000; i++) {
+            index.add(UUID.randomUUID(), "Zombie " + i, MediaType.MOVIE, 2000, List.of(), null, Instant.now());
+        }
+
+        // Act
+        MediaBrowseResponse first = index.browse(query(null, null, null, null), 0, 4);
+        MediaBrowseResponse last = index.browse(new MediaBrowseQuery(null, null, null, null, MediaBrowseSort.TITLE, true), 0, 1);
+        MediaBrowseResponse selective = index.browse(query(Set.of(Genre.HORROR), null, null, null), 0, 10);
+
+        // Assert
+        assertThat(ids(first)).containsExactly(airplane, alien, dark, scream);
+        assertThat(last.items().getFirst().title()).isEqualTo("Zombie 999");
+        assertThat(first.total()).isEqualTo(5004);
+        assertThat(ids(selective)).containsExactly(alien, scream);
+    }
+
+}
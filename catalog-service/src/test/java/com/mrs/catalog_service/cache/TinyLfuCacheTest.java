@@ -0,0 +1,75 @@
+package com.mrs.catalog_service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TinyLfuCacheTest {
+
+    private static void load(TinyLfuCache<String, Integer> cache, String key, int value) {
+        if (cache.get(key) == null) cache.putIfCurrent(key, value, cache.generation(key));
+    }
+
+    @Test
+    @DisplayName("Deve manter as chaves mais pedidas quando uma varredura passa pelo cache")
+    void putIfCurrent_ShouldKeepFrequentKeys_WhenScanned() {
+        // Arrange
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(64, 1);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 32; i++) load(cache, "hot-" + i, i);
+        }
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            load(cache, "scan-" + i, i);
+        }
+
+        // Assert
+        assertThat(cache.size()).isEqualTo(64);
+        for (int i = 0; i < 32; i++) {
+            assertThat(cache.get("hot-" + i)).isEqualTo(i);
+        }
+        assertThat(cache.rejectedCount()).isEqualTo(168);
+    }
+
+    @Test
+    @DisplayName("Deve trocar a entrada usada há mais tempo por uma chave pedida mais vezes")
+    void putIfCurrent_ShouldEvictLeastRecentlyUsed_WhenCandidateIsMoreFrequent() {
+        // Arrange
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(2, 1);
+        load(cache, "a", 1);
+        load(cache, "b", 2);
+        cache.get("a");
+        cache.get("c");
+
+        // Act
+        cache.get("c");
+        boolean stored = cache.putIfCurrent("c", 3, cache.generation("c"));
+
+        // Assert
+        assertThat(stored).isTrue();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.evictedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recusar um valor lido antes de uma remoção")
+    void putIfCurrent_ShouldRefuse_WhenRemovedSinceRead() {
+        // Arrange
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(16, 4);
+        long generation = cache.generation("a");
+        cache.remove("a");
+
+        // Act
+        boolean stored = cache.putIfCurrent("a", 1, generation);
+
+        // Assert
+        assertThat(stored).isFalse();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.putIfCurrent("a", 1, cache.generation("a"))).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+}
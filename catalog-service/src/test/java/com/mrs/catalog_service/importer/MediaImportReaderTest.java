@@ -0,0 +1,107 @@
+package com.mrs.catalog_service.importer;
+
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.MediaType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaImportReaderTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private List<MediaImportRow> read(MediaImportFormat format, String content) throws IOException {
+        MediaImportReader reader = MediaImportReader.of(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, jsonMapper);
+
+        List<MediaImportRow> rows = new ArrayList<>();
+        MediaImportRow row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Deve ler um objeto por linha e relatar a linha do JSON inválido")
+    void ndjson_ShouldReadOneObjectPerLine_AndReportInvalidLines() throws IOException {
+        // Arrange
+        String content = """
+                {"title":"Alien","releaseYear":1979,"mediaType":"MOVIE","genres":["HORROR"]}
+
+                {"title":"Dark","releaseYear":2017,"mediaType":"PODCAST"}
+                """;
+
+        // Act
+        List<MediaImportRow> rows = read(MediaImportFormat.NDJSON, content);
+
+        // Assert
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).request().title()).isEqualTo("Alien");
+        assertThat(rows.get(0).request().genres()).containsExactly(Genre.HORROR);
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(1).error()).startsWith("Invalid JSON");
+    }
+
+    @Test
+    @DisplayName("Deve ler CSV com aspas, vírgulas e quebras de linha dentro dos campos")
+    void csv_ShouldReadQuotedFields_WithCommasAndLineBreaks() throws IOException {
+        // Arrange
+        String content = "mediaType,title,releaseYear,description,genres\r\n"
+                + "movie,\"Alien, o Oitavo Passageiro\",1979,\"Um \"\"organismo\"\"\nperfeito\",HORROR|thriller\r\n"
+                + "SERIES,Dark,2017,,\n";
+
+        // Act
+        List<MediaImportRow> rows = read(MediaImportFormat.CSV, content);
+
+        // Assert
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).request().title()).isEqualTo("Alien, o Oitavo Passageiro");
+        assertThat(rows.get(0).request().description()).isEqualTo("Um \"organismo\"\nperfeito");
+        assertThat(rows.get(0).request().mediaType()).isEqualTo(MediaType.MOVIE);
+        assertThat(rows.get(0).request().genres()).containsExactly(Genre.HORROR, Genre.THRILLER);
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).request().description()).isNull();
+        assertThat(rows.get(1).request().genres()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a linha com valor inválido e seguir para a próxima")
+    void csv_ShouldRejectInvalidRow_AndContinue() throws IOException {
+        // Arrange
+        String content = """
+                title,releaseYear,mediaType
+                Alien,nineteen,MOVIE
+                Dark,2017
+                Scream,1996,MOVIE
+                """;
+
+        // Act
+        List<MediaImportRow> rows = read(MediaImportFormat.CSV, content);
+
+        // Assert
+        assertThat(rows).extracting(MediaImportRow::error)
+                .containsExactly("Invalid releaseYear: nineteen", "Expected 3 columns but found 2", null);
+        assertThat(rows.get(2).request().title()).isEqualTo("Scream");
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a leitura quando faltam colunas obrigatórias no cabeçalho")
+    void csv_ShouldStop_WhenHeaderIsMissingRequiredColumns() throws IOException {
+        // Act
+        List<MediaImportRow> rows = read(MediaImportFormat.CSV, "title,genres\nAlien,HORROR\n");
+
+        // Assert
+        assertThat(rows).singleElement()
+                .extracting(MediaImportRow::error)
+                .isEqualTo("Missing CSV header columns: releaseYear, mediaType");
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.mrs.catalog_service.repository;
+
+import com.mrs.catalog_service.dto.MediaRow;
+import com.mrs.catalog_service.model.Genre;
+import com.mrs.catalog_service.model.Media;
+import com.mrs.catalog_service.model.MediaType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+class MediaRepositoryTest {
+
+    private static final int MEDIA = 30;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < MEDIA; i++) {
+            List<Genre> genres = i % 3 == 0 ? List.of() : List.of(Genre.values()[i % 4], Genre.COMEDY);
+            entityManager.persist(new Media.Builder()
+                    .title("Title " + i)
+                    .description("Description " + i)
+                    .mediaType(MediaType.MOVIE)
+                    .releaseYear(2000 + i)
+                    .createAt(start.plusSeconds(i))
+                    .updateAt(start.plusSeconds(i))
+                    .genres(genres)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Listagem por entidade deve custar 2 + N consultas por página")
+    void findAll_ShouldIssueCountAndOneQueryPerMedia_WhenGenresAreTouched() {
+        // Act
+        Page<Media> page = mediaRepository.findAll(PageRequest.of(0, PAGE_SIZE));
+        page.forEach(media -> media.getGenres().size());
+
+        // Assert
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 + PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Listagem por projeção deve custar uma única consulta por página, com os gêneros")
+    void findRows_ShouldIssueSingleQuery_WithGenresAggregated() {
+        // Act
+        List<MediaRow> rows = mediaRepository.findRows(PageRequest.of(0, PAGE_SIZE));
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rows).hasSize(PAGE_SIZE);
+        assertThat(rows).extracting(MediaRow::title).startsWith("Title 0", "Title 1", "Title 2");
+        assertThat(rows.get(0).genres()).isNull();
+        assertThat(rows.get(1).genres().split(",")).containsExactlyInAnyOrder("THRILLER", "COMEDY");
+    }
+
+    @Test
+    @DisplayName("Projeção deve paginar na mesma ordem de criação")
+    void findRows_ShouldContinueInCreationOrder_OnNextPage() {
+        // Act
+        List<MediaRow> rows = mediaRepository.findRows(PageRequest.of(1, PAGE_SIZE));
+
+        // Assert
+        assertThat(rows).hasSize(MEDIA - PAGE_SIZE);
+        assertThat(rows.getFirst().title()).isEqualTo("Title " + PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Paginação por chave deve continuar logo após a última mídia devolvida")
+    void findRowsAfter_ShouldStartAfterCursor_InCreationOrder() {
+        // Arrange
+        MediaRow last = mediaRepository.findRows(PageRequest.of(0, PAGE_SIZE)).getLast();
+        statistics.clear();
+
+        // Act
+        List<MediaRow> rows = mediaRepository.findRowsAfter(last.createAt(), last.id(), Limit.of(PAGE_SIZE));
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rows).hasSize(MEDIA - PAGE_SIZE);
+        assertThat(rows.getFirst().title()).isEqualTo("Title " + PAGE_SIZE);
+        assertThat(rows.getLast().title()).isEqualTo("Title " + (MEDIA - 1));
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.mrs.catalog_service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final UUID matrix = UUID.randomUUID();
+    private final UUID matrixReloaded = UUID.randomUUID();
+    private final UUID mask = UUID.randomUUID();
+    private final UUID amelie = UUID.randomUUID();
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(matrix, "The Matrix", "A hacker discovers reality is a simulation");
+        index.add(matrixReloaded, "The Matrix Reloaded", "Neo fights the machines again");
+        index.add(mask, "The Mask", "A clerk finds a magical matrix-shaped mask");
+        index.add(amelie, "O Fabuloso Destino de Amélie Poulain", "Uma jovem garçonete em Paris");
+    }
+
+    private static List<UUID> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    @Test
+    @DisplayName("Deve ranquear acima a mídia com o termo no título mais curto")
+    void search_ShouldRankTitleMatchesFirst_ByBm25() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search(TextAnalyzer.terms("matrix"), 10, 1.0);
+
+        // Assert
+        assertThat(ids(hits)).containsExactly(matrix, matrixReloaded, mask);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e maiúsculas na consulta e no texto indexado")
+    void search_ShouldFoldAccentsAndCase() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search(TextAnalyzer.terms("AMELIE garconete"), 10, 1.0);
+
+        // Assert
+        assertThat(ids(hits)).containsExactly(amelie);
+    }
+
+    @Test
+    @DisplayName("Não deve devolver mídias removidas")
+    void search_ShouldSkipRemovedMedia() {
+        // Arrange
+        index.remove(matrix);
+
+        // Act
+        List<InvertedIndex.Hit> hits = index.search(TextAnalyzer.terms("matrix"), 10, 1.0);
+
+        // Assert
+        assertThat(ids(hits)).containsExactly(matrixReloaded, mask);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar termos muito comuns quando há termos seletivos")
+    void search_ShouldDropCommonTerms_WhenSelectiveTermsExist() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search(TextAnalyzer.terms("the reloaded"), 10, 0.5);
+
+        // Assert
+        assertThat(ids(hits)).containsExactly(matrixReloaded);
+    }
+
+    @Test
+    @DisplayName("Deve pontuar só os postings de maior impacto quando a lista passa da capacidade")
+    void search_ShouldScoreChampionsOnly_WhenPostingListIsLarge() {
+        // Arrange
+        InvertedIndex bounded = new InvertedIndex(2);
+        UUID shortest = UUID.randomUUID();
+        UUID longest = UUID.randomUUID();
+        bounded.add(longest, "Matrix Resurrections Extended Cut", "");
+        bounded.add(shortest, "Matrix", "");
+        bounded.add(UUID.randomUUID(), "Matrix Reloaded", "");
+        bounded.add(UUID.randomUUID(), "Matrix Revolutions", "");
+
+        // Act
+        List<InvertedIndex.Hit> hits = bounded.search(TextAnalyzer.terms("matrix"), 10, 1.0);
+
+        // Assert
+        assertThat(hits).hasSize(2);
+        assertThat(hits.getFirst().id()).isEqualTo(shortest);
+        assertThat(ids(hits)).doesNotContain(longest);
+    }
+
+    @Test
+    @DisplayName("Deve completar o último termo como prefixo dos títulos")
+    void suggest_ShouldCompletePrefix_FromTitleTerms() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.suggest(List.of(), "ma", 10, 8, 1000);
+
+        // Assert
+        assertThat(ids(hits)).containsExactlyInAnyOrder(matrix, matrixReloaded, mask);
+    }
+
+    @Test
+    @DisplayName("Deve exigir os termos completos anteriores ao prefixo")
+    void suggest_ShouldRequirePreviousTerms_WhenQueryHasManyTerms() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.suggest(List.of("matrix"), "rel", 10, 8, 1000);
+
+        // Assert
+        assertThat(ids(hits)).containsExactly(matrixReloaded);
+    }
+
+    @Test
+    @DisplayName("Não deve indexar a mesma mídia duas vezes")
+    void add_ShouldIgnoreDuplicateMedia() {
+        // Act
+        boolean added = index.add(matrix, "The Matrix", "duplicate");
+
+        // Assert
+        assertThat(added).isFalse();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+}
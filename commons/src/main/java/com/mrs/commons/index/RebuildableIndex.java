@@ -0,0 +1,106 @@
+package com.mrs.commons.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Índice em memória que é reconstruído por inteiro a partir da fonte de verdade sem
+ * bloquear leituras nem perder escritas.
+ * <p>
+ * A carga do novo índice acontece fora do lock, enquanto o atual continua respondendo.
+ * Toda alteração feita nesse meio tempo vale para o índice atual e é guardada para ser
+ * reaplicada no novo antes da troca, então nenhuma se perde. Só uma reconstrução roda
+ * por vez; uma segunda chamada enquanto a primeira carrega não faz nada.
+ * </p>
+ * Leituras concorrem entre si; escritas e a troca tomam o lock exclusivo.
+ *
+ * @param <T> estrutura do índice; não precisa ser thread-safe.
+ */
+public class RebuildableIndex<T> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private T index;
+    private List<Consumer<T>> pending;
+    private volatile boolean ready;
+
+    public RebuildableIndex(T initial) {
+        this.index = initial;
+    }
+
+    public <R> R read(Function<T, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica a alteração no índice atual e, se houver uma reconstrução em andamento,
+     * também no novo antes da troca; por isso a alteração precisa poder ser aplicada
+     * duas vezes em estruturas diferentes.
+     */
+    public void write(Consumer<T> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pending != null) pending.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@code true} depois da primeira reconstrução concluída.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Carrega um novo índice com {@code loader} e troca o atual por ele.
+     *
+     * @return o índice novo, ou {@code null} se outra reconstrução já estava em andamento.
+     * @throws RuntimeException o erro da carga; o índice atual continua em uso.
+     */
+    public T rebuild(Supplier<T> loader) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) return null;
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        T rebuilt;
+        try {
+            rebuilt = loader.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuilt;
+    }
+
+}
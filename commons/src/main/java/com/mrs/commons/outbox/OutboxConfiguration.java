@@ -0,0 +1,19 @@
+package com.mrs.commons.outbox;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Liga o outbox no serviço que importa esta configuração: registra o {@link OutboxPublisher} e o
+ * {@link OutboxRelay} sobre a tabela {@code outbox_event} do serviço.
+ * <p>
+ * O pacote entra nos pacotes de auto-configuração para que a entidade e o repositório
+ * sejam encontrados junto com os do próprio serviço, sem substituir a varredura padrão.
+ * </p>
+ */
+@Configuration
+@AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+@Import({OutboxPublisher.class, OutboxRelay.class})
+public class OutboxConfiguration {
+}
@@ -0,0 +1,59 @@
+package com.mrs.commons.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Evento pendente de publicação, gravado na mesma transação da entidade que o originou.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(nullable = false)
+    private String messageKey;
+
+    /**
+     * Nome da classe do evento, enviado no header {@code __TypeId__} como o
+     * {@code JsonSerializer} do Spring faria. Nulo em tombstones.
+     */
+    private String typeId;
+
+    /**
+     * Nulo em tombstones.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Até quando o lote do evento está reservado por uma instância do relay; nulo enquanto
+     * ninguém o pegou.
+     */
+    private Instant claimedUntil;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(String topic, String messageKey, String typeId, String payload, Instant createdAt) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.typeId = typeId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+}
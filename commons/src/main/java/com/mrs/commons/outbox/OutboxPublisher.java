@@ -0,0 +1,62 @@
+package com.mrs.commons.outbox;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registra eventos no outbox dentro da transação corrente. A publicação no Kafka fica a
+ * cargo do {@link OutboxRelay}, então o evento existe se e somente se a entidade foi
+ * gravada.
+ */
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final JsonMapper jsonMapper;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, JsonMapper jsonMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String topic, String key, Object event) {
+        outboxEventRepository.save(toOutboxEvent(topic, key, event, Instant.now()));
+    }
+
+    /**
+     * Registra um valor nulo para a chave: em tópicos compactados, remove a chave.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishTombstone(String topic, String key) {
+        outboxEventRepository.save(new OutboxEvent(topic, key, null, null, Instant.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(String topic, List<Keyed> events) {
+        Instant now = Instant.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+
+        for (Keyed event : events) {
+            outboxEvents.add(toOutboxEvent(topic, event.key(), event.event(), now));
+        }
+
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, String key, Object event, Instant createdAt) {
+        return new OutboxEvent(topic, key, event.getClass().getName(), jsonMapper.writeValueAsString(event), createdAt);
+    }
+
+    /**
+     * Par chave de partição e evento para publicação em lote.
+     */
+    public record Keyed(String key, Object event) {
+    }
+
+}
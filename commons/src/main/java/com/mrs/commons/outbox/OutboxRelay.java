@@ -0,0 +1,263 @@
+package com.mrs.commons.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publica no Kafka os eventos pendentes da tabela {@code outbox_event} do serviço.
+ * <p>
+ * Cada ciclo reserva um lote limitado com um único {@code UPDATE ... FOR UPDATE SKIP
+ * LOCKED}, que grava em {@code claimed_until} o prazo da reserva e já é confirmado: as
+ * linhas não ficam travadas enquanto o broker responde. O lote é enviado de uma vez por
+ * um producer próprio (lotes grandes e compressão) e, só depois de todas as
+ * confirmações, apagado com um único {@code DELETE}. Se algum envio falhar a reserva é
+ * desfeita e o lote volta a ficar disponível; se a instância cair no meio, o lote volta
+ * quando o prazo vence. A entrega é <i>at-least-once</i>, e várias instâncias podem rodar
+ * o relay em paralelo sem publicar o mesmo lote duas vezes.
+ * </p>
+ * Roda em uma thread própria, fora do agendador padrão do Spring: esperar confirmações
+ * de um broker lento não atrasa as outras tarefas agendadas do serviço.
+ * </p>
+ * Registrado pelo {@link OutboxConfiguration}, sobre a tabela {@code outbox_event} do serviço
+ * ({@code id}, {@code topic}, {@code message_key}, {@code type_id}, {@code payload},
+ * {@code created_at}, {@code claimed_until}).
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private static final String CLAIM_NEXT_BATCH = """
+            UPDATE outbox_event SET claimed_until = ?
+            WHERE id IN (
+                SELECT id FROM outbox_event
+                WHERE claimed_until IS NULL OR claimed_until < ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, topic, message_key, type_id, payload, created_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DefaultKafkaProducerFactory<String, String> producerFactory;
+    private final KafkaTemplate<String, String> kafka;
+
+    private ScheduledExecutorService scheduler;
+
+    private final Counter published;
+    private final Timer lag;
+
+    @Value("${outbox.relay.interval-ms:200}")
+    private long intervalMs;
+
+    @Value("${outbox.relay.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    /**
+     * Prazo da reserva de um lote; precisa passar do tempo de espera pelas confirmações,
+     * senão outra instância pega o lote enquanto ele ainda está sendo enviado.
+     */
+    @Value("${outbox.relay.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.producer.linger-ms:20}") int lingerMs,
+            @Value("${outbox.relay.producer.batch-size:262144}") int producerBatchSize,
+            @Value("${outbox.relay.producer.compression-type:lz4}") String compressionType
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.producerFactory = relayProducerFactory(kafkaProperties, lingerMs, producerBatchSize, compressionType);
+        this.kafka = new KafkaTemplate<>(producerFactory);
+
+        this.published = Counter.builder("outbox.relay.published")
+                .description("Eventos publicados pelo relay do outbox")
+                .register(meterRegistry);
+        this.lag = Timer.builder("outbox.relay.lag")
+                .description("Tempo entre a gravação do evento no outbox e a confirmação do broker")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        Gauge.builder("outbox.depth", this, OutboxRelay::depth)
+                .description("Eventos aguardando publicação")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.age.seconds", this, OutboxRelay::oldestAgeSeconds)
+                .description("Idade do evento pendente mais antigo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("outbox-relay").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::relay, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deixa o ciclo em andamento terminar; um lote que não couber no prazo volta quando
+     * a reserva vence.
+     */
+    @Override
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(sendTimeoutMs, TimeUnit.MILLISECONDS)) scheduler.shutdownNow();
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null && !scheduler.isShutdown();
+    }
+
+    /**
+     * Enquanto os lotes vierem cheios há backlog, então o relay continua sem esperar o
+     * próximo agendamento. Uma falha só encerra o ciclo: uma exceção que escapasse
+     * cancelaria os agendamentos seguintes.
+     */
+    void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Erro no ciclo do relay do outbox: {}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        Instant now = Instant.now();
+        List<Event> events = new ArrayList<>(jdbcTemplate.query(CLAIM_NEXT_BATCH,
+                (rs, rowNum) -> new Event(
+                        rs.getLong("id"),
+                        rs.getString("topic"),
+                        rs.getString("message_key"),
+                        rs.getString("type_id"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toInstant()
+                ),
+                Timestamp.from(now.plusMillis(claimTimeoutMs)), Timestamp.from(now), batchSize));
+        if (events.isEmpty()) return 0;
+
+        // RETURNING não garante ordem; eventos da mesma chave precisam sair na ordem em que foram gravados.
+        events.sort(Comparator.comparingLong(Event::id));
+
+        Long[] ids = events.stream().map(Event::id).toArray(Long[]::new);
+        try {
+            send(events);
+        } catch (RuntimeException e) {
+            jdbcTemplate.update("UPDATE outbox_event SET claimed_until = NULL WHERE id = ANY (?)", (Object) ids);
+            throw e;
+        }
+
+        jdbcTemplate.update("DELETE FROM outbox_event WHERE id = ANY (?)", (Object) ids);
+
+        Instant acknowledged = Instant.now();
+        events.forEach(event -> lag.record(Duration.between(event.createdAt(), acknowledged)));
+        published.increment(events.size());
+
+        return events.size();
+    }
+
+    /**
+     * Envia o lote e espera todas as confirmações; {@code send} também pode falhar antes
+     * de devolver o future, por exemplo sem metadados do tópico.
+     */
+    private void send(List<Event> events) {
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (Event event : events) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(event.topic(), event.messageKey(), event.payload());
+            if (event.typeId() != null) record.headers().add(TYPE_ID_HEADER, event.typeId().getBytes(StandardCharsets.UTF_8));
+
+            sends.add(kafka.send(record));
+        }
+
+        kafka.flush();
+        awaitAcknowledgements(sends);
+    }
+
+    private void awaitAcknowledgements(List<CompletableFuture<SendResult<String, String>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Falha ao publicar lote de {} eventos do outbox, será reenviado: {}", sends.size(), e.getMessage());
+            throw new IllegalStateException("Outbox batch was not acknowledged by the broker", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox batch", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        producerFactory.destroy();
+    }
+
+    /**
+     * Producer próprio do relay: o payload já está serializado em JSON, então o valor vai
+     * como texto, com lotes maiores e compressão. Não é exposto como bean para não
+     * substituir o {@code KafkaTemplate} padrão do Spring Boot.
+     */
+    private static DefaultKafkaProducerFactory<String, String> relayProducerFactory(KafkaProperties kafkaProperties, int lingerMs, int batchSize, String compressionType) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties();
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        return new DefaultKafkaProducerFactory<>(properties);
+    }
+
+    private double depth() {
+        Long depth = jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_event", Long.class);
+        return depth == null ? 0 : depth;
+    }
+
+    private double oldestAgeSeconds() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM outbox_event", Timestamp.class);
+        return oldest == null ? 0 : Duration.between(oldest.toInstant(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    private record Event(long id, String topic, String messageKey, String typeId, String payload, Instant createdAt) {
+    }
+
+}
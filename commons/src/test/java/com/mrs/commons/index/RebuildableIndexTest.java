@@ -0,0 +1,66 @@
+package com.mrs.commons.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RebuildableIndexTest {
+
+    @Test
+    @DisplayName("Deve reaplicar no índice novo as escritas feitas durante a reconstrução")
+    void rebuild_ShouldReplayWrites_MadeWhileLoading() {
+        // Arrange
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>(new ArrayList<>());
+
+        // Act
+        List<String> rebuilt = index.rebuild(() -> {
+            index.write(list -> list.add("durante"));
+            return new ArrayList<>(List.of("carregado"));
+        });
+
+        // Assert
+        assertThat(rebuilt).containsExactly("carregado", "durante");
+        assertThat(index.<List<String>>read(List::copyOf)).containsExactly("carregado", "durante");
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar uma segunda reconstrução enquanto a primeira carrega")
+    void rebuild_ShouldReturnNull_WhenAnotherRebuildIsRunning() {
+        // Arrange
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>(new ArrayList<>());
+        List<List<String>> nested = new ArrayList<>();
+
+        // Act
+        index.rebuild(() -> {
+            nested.add(index.rebuild(ArrayList::new));
+            return new ArrayList<>();
+        });
+
+        // Assert
+        assertThat(nested).containsExactly((List<String>) null);
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice atual e liberar nova reconstrução quando a carga falhar")
+    void rebuild_ShouldKeepCurrentIndex_WhenLoaderFails() {
+        // Arrange
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>(new ArrayList<>(List.of("atual")));
+
+        // Act
+        assertThatThrownBy(() -> index.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(index.<List<String>>read(List::copyOf)).containsExactly("atual");
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.rebuild(() -> new ArrayList<>(List.of("novo")))).containsExactly("novo");
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.mrs.engagement_service.coalescing;
+
+/**
+ * Como combinar os valores de relatos repetidos dentro da mesma janela.
+ */
+public enum CoalescingPolicy {
+    /**
+     * Sem coalescência: cada relato vira uma interação.
+     */
+    NONE,
+    /**
+     * Mantém o maior {@code interactionValue} da janela (ex.: progresso máximo assistido).
+     */
+    MAX,
+    /**
+     * Mantém o valor do relato mais recente.
+     */
+    LATEST
+}
@@ -0,0 +1,42 @@
+package com.mrs.engagement_service.coalescing;
+
+import com.mrs.engagement_service.model.InteractionType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Regras de coalescência por tipo de interação, por exemplo:
+ * <pre>
+ * engagement.coalescing.rules.WATCH.policy=MAX
+ * engagement.coalescing.rules.WATCH.window=30s
+ * </pre>
+ * Tipos sem regra não são coalescidos.
+ */
+@ConfigurationProperties(prefix = "engagement.coalescing")
+public record CoalescingProperties(
+        Map<InteractionType, Rule> rules,
+        int maxPending
+) {
+
+    public CoalescingProperties {
+        rules = rules == null ? Map.of() : Map.copyOf(rules);
+        maxPending = maxPending > 0 ? maxPending : 100_000;
+    }
+
+    public Rule ruleFor(InteractionType type) {
+        Rule rule = rules.get(type);
+        return rule == null || rule.policy() == CoalescingPolicy.NONE ? null : rule;
+    }
+
+    public record Rule(CoalescingPolicy policy, Duration window) {
+
+        public Rule {
+            if (policy == null) policy = CoalescingPolicy.NONE;
+            if (window == null || window.isNegative() || window.isZero()) window = Duration.ofSeconds(30);
+        }
+
+    }
+
+}
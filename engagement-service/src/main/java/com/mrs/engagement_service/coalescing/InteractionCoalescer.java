@@ -0,0 +1,164 @@
+package com.mrs.engagement_service.coalescing;
+
+import com.mrs.engagement_service.handler.CreateEngagementBatchHandler;
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.model.InteractionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa relatos repetidos de uma mesma interação, como os heartbeats de WATCH que os
+ * players enviam a cada poucos segundos.
+ * <p>
+ * O primeiro relato de um par (usuário, mídia, tipo) abre uma janela; os seguintes só
+ * atualizam o valor em memória conforme a {@link CoalescingPolicy} do tipo. Quando a
+ * janela fecha, uma única interação é gravada com o valor combinado e o horário do
+ * último relato. Como a janela vive em memória até fechar, uma queda do processo perde
+ * os relatos ainda não emitidos, o que é aceitável para heartbeats de progresso.
+ * </p>
+ */
+@Slf4j
+@Component
+public class InteractionCoalescer {
+
+    private final CreateEngagementBatchHandler createEngagementBatchHandler;
+    private final CoalescingProperties properties;
+    private final Clock clock;
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    private final Counter absorbed;
+    private final Counter emitted;
+
+    @Autowired
+    public InteractionCoalescer(
+            CreateEngagementBatchHandler createEngagementBatchHandler,
+            CoalescingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this(createEngagementBatchHandler, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    InteractionCoalescer(
+            CreateEngagementBatchHandler createEngagementBatchHandler,
+            CoalescingProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+        this.createEngagementBatchHandler = createEngagementBatchHandler;
+        this.properties = properties;
+        this.clock = clock;
+
+        this.absorbed = Counter.builder("engagement.coalescing.reports")
+                .description("Relatos recebidos pela coalescência")
+                .register(meterRegistry);
+        this.emitted = Counter.builder("engagement.coalescing.emitted")
+                .description("Interações gravadas após o fechamento das janelas")
+                .register(meterRegistry);
+        Gauge.builder("engagement.coalescing.open.windows", windows, Map::size)
+                .description("Janelas de coalescência abertas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tenta absorver a interação em uma janela.
+     *
+     * @return {@code false} quando o tipo não é coalescido ou o limite de janelas abertas
+     * foi atingido; nesse caso quem chamou deve gravar a interação normalmente.
+     */
+    public boolean offer(Interaction interaction) {
+        CoalescingProperties.Rule rule = properties.ruleFor(interaction.getType());
+        if (rule == null) return false;
+
+        Key key = new Key(interaction.getUserId(), interaction.getMediaId(), interaction.getType());
+        if (windows.size() >= properties.maxPending() && !windows.containsKey(key)) return false;
+
+        long now = clock.millis();
+        windows.merge(
+                key,
+                new Window(now + rule.window().toMillis(), interaction.getInteractionValue(), interaction.getTimestamp()),
+                (current, report) -> current.merge(report, rule.policy())
+        );
+        absorbed.increment();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.coalescing.flush-interval-ms:1000}")
+    public void flushExpired() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(true);
+    }
+
+    int openWindows() {
+        return windows.size();
+    }
+
+    /**
+     * Remove as janelas vencidas e grava as interações resultantes em um único lote.
+     * A remoção só acontece se a janela não mudou desde a leitura; um relato que chegar
+     * nesse meio tempo é emitido no ciclo seguinte. Se a gravação falhar, as janelas
+     * voltam para o mapa já vencidas, somadas a qualquer relato novo da mesma chave, e
+     * são tentadas de novo no próximo ciclo.
+     */
+    private void flush(boolean all) {
+        long now = clock.millis();
+        Map<Key, Window> closed = new HashMap<>();
+
+        windows.forEach((key, window) -> {
+            if ((all || window.closesAtMillis() <= now) && windows.remove(key, window)) {
+                closed.put(key, window);
+            }
+        });
+
+        if (closed.isEmpty()) return;
+
+        List<Interaction> interactions = new ArrayList<>(closed.size());
+        closed.forEach((key, window) ->
+                interactions.add(new Interaction(key.userId(), key.mediaId(), key.type(), window.value(), window.lastReportAt())));
+
+        try {
+            createEngagementBatchHandler.handler(interactions);
+            emitted.increment(interactions.size());
+        } catch (RuntimeException e) {
+            log.error("Erro ao gravar {} interações coalescidas, serão reenviadas: {}", interactions.size(), e.getMessage(), e);
+            closed.forEach((key, window) -> windows.merge(key, window,
+                    (current, restored) -> restored.merge(current, properties.ruleFor(key.type()).policy())));
+        }
+    }
+
+    private record Key(UUID userId, UUID mediaId, InteractionType type) {
+    }
+
+    private record Window(long closesAtMillis, double value, LocalDateTime lastReportAt) {
+
+        Window merge(Window report, CoalescingPolicy policy) {
+            boolean newer = !report.lastReportAt().isBefore(lastReportAt);
+            double merged = switch (policy) {
+                case MAX -> Math.max(value, report.value());
+                case LATEST, NONE -> newer ? report.value() : value;
+            };
+            return new Window(closesAtMillis, merged, newer ? report.lastReportAt() : lastReportAt);
+        }
+
+    }
+
+}
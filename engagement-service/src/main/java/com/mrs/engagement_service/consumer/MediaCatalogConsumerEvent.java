@@ -0,0 +1,241 @@
+package com.mrs.engagement_service.consumer;
+
+import com.mrs.engagement_service.mediacatalog.CountingBloomFilter;
+import com.mrs.engagement_service.mediacatalog.MediaCatalogFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Alimenta o {@link MediaCatalogFilter} a partir do tópico compactado {@code media-features}.
+ * <p>
+ * Como o tópico guarda a última versão de cada mídia sem limite de tempo, lê-lo do início
+ * reconstrói o catálogo inteiro. Uma thread própria acompanha o fim do tópico e insere as
+ * mídias novas; a cada {@code rebuild-interval-ms}, e logo na subida, outro consumidor lê o
+ * tópico do início em segundo plano e o filtro é trocado pelo resultado, o que aplica as
+ * remoções. O filtro vive só em memória, então cada instância lê todas as partições, sem
+ * grupo de consumo: elas são descobertas no broker e conferidas a cada
+ * {@code partition-refresh-ms}, acompanhando um aumento de partições do catalog-service.
+ * O valor não é desserializado, já que só a presença importa.
+ * </p>
+ * Enquanto o tópico nem existe, o filtro continua deixando tudo passar.
+ */
+@Slf4j
+@Component
+public class MediaCatalogConsumerEvent implements SmartLifecycle {
+
+    private static final String TOPIC = "media-features";
+    private static final String GROUP_ID = "engagement-media-filter";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final MediaCatalogFilter mediaCatalogFilter;
+    private final KafkaProperties kafkaProperties;
+    private final long partitionRefreshMs;
+    private final long rebuildIntervalMs;
+
+    private volatile boolean running;
+    private volatile KafkaConsumer<String, byte[]> live;
+    private Thread thread;
+
+    public MediaCatalogConsumerEvent(
+            MediaCatalogFilter mediaCatalogFilter,
+            KafkaProperties kafkaProperties,
+            @Value("${engagement.media-filter.partition-refresh-ms:30000}") long partitionRefreshMs,
+            @Value("${engagement.media-filter.rebuild-interval-ms:3600000}") long rebuildIntervalMs
+    ) {
+        this.mediaCatalogFilter = mediaCatalogFilter;
+        this.kafkaProperties = kafkaProperties;
+        this.partitionRefreshMs = partitionRefreshMs;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name(GROUP_ID).daemon().start(this::follow);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        KafkaConsumer<String, byte[]> consumer = live;
+        if (consumer != null) consumer.wakeup();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void follow() {
+        try (KafkaConsumer<String, byte[]> consumer = newConsumer()) {
+            live = consumer;
+            long nextRefresh = 0;
+            long nextRebuild = 0;
+
+            while (running) {
+                long now = System.currentTimeMillis();
+                if (now >= nextRefresh) {
+                    nextRefresh = now + partitionRefreshMs;
+                    assignNewPartitions(consumer);
+
+                    if (!consumer.assignment().isEmpty() && (!mediaCatalogFilter.isReady() || now >= nextRebuild)) {
+                        nextRebuild = now + rebuildIntervalMs;
+                        rebuildInBackground();
+                    }
+                }
+
+                if (consumer.assignment().isEmpty()) {
+                    LockSupport.parkNanos(POLL_TIMEOUT.toNanos());
+                    continue;
+                }
+                poll(consumer);
+            }
+        } catch (WakeupException e) {
+            // stop() interrompeu a espera do consumidor.
+        } finally {
+            live = null;
+        }
+    }
+
+    private void poll(KafkaConsumer<String, byte[]> consumer) {
+        try {
+            for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                if (record.value() != null) mediaCatalogFilter.add(UUID.fromString(record.key()));
+            }
+        } catch (WakeupException e) {
+            throw e;
+        } catch (KafkaException e) {
+            log.warn("Erro ao ler media-features, tentando de novo: {}", e.getMessage());
+            LockSupport.parkNanos(POLL_TIMEOUT.toNanos());
+        }
+    }
+
+    /**
+     * Na primeira atribuição o consumidor começa do fim, porque o histórico vem da carga
+     * que começa em seguida; partições que aparecem depois são lidas do início. As posições
+     * são resolvidas aqui, antes de a carga fixar até onde vai ler, para não sobrar um
+     * intervalo que nenhum dos dois leia.
+     */
+    private void assignNewPartitions(KafkaConsumer<String, byte[]> consumer) {
+        Set<TopicPartition> assigned = consumer.assignment();
+        try {
+            List<TopicPartition> added = partitions(consumer).stream()
+                    .filter(partition -> !assigned.contains(partition))
+                    .toList();
+            if (added.isEmpty()) return;
+
+            List<TopicPartition> all = new ArrayList<>(assigned);
+            all.addAll(added);
+            consumer.assign(all);
+
+            if (assigned.isEmpty()) {
+                consumer.seekToEnd(added);
+            } else {
+                consumer.seekToBeginning(added);
+            }
+            added.forEach(consumer::position);
+
+            log.info("Filtro de mídias lendo {} partições de {}", all.size(), TOPIC);
+        } catch (WakeupException e) {
+            throw e;
+        } catch (KafkaException e) {
+            // Volta à atribuição anterior para tentar de novo, sem deixar uma posição por resolver.
+            consumer.assign(assigned);
+            log.warn("Não foi possível atribuir as partições de {}: {}", TOPIC, e.getMessage());
+        }
+    }
+
+    private void rebuildInBackground() {
+        Thread.ofPlatform().name(GROUP_ID + "-rebuild").daemon().start(() -> {
+            try {
+                mediaCatalogFilter.rebuild(this::load);
+            } catch (RuntimeException e) {
+                log.error("Erro ao reconstruir o filtro de mídias: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Lê todas as partições do início até o fim que tinham quando a carga começou.
+     */
+    private void load(CountingBloomFilter filter) {
+        try (KafkaConsumer<String, byte[]> consumer = newConsumer()) {
+            List<TopicPartition> partitions = partitions(consumer);
+            if (partitions.isEmpty()) throw new IllegalStateException("Topic " + TOPIC + " has no partitions yet");
+
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            while (!caughtUp(consumer, endOffsets)) {
+                if (!running) throw new IllegalStateException("Stopped while loading " + TOPIC);
+
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.value() != null) filter.add(UUID.fromString(record.key()));
+                }
+            }
+        }
+    }
+
+    private static boolean caughtUp(KafkaConsumer<?, ?> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) return false;
+        }
+        return true;
+    }
+
+    private static List<TopicPartition> partitions(KafkaConsumer<?, ?> consumer) {
+        List<PartitionInfo> partitions = consumer.partitionsFor(TOPIC);
+        if (partitions == null) return List.of();
+
+        return partitions.stream()
+                .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                .toList();
+    }
+
+    /**
+     * Sem commits de offset e sem criar o tópico: quem define partições e compactação é o
+     * catalog-service. Os metadados expiram junto com a conferência de partições, senão
+     * uma partição nova só apareceria depois do {@code metadata.max.age.ms} padrão.
+     */
+    private KafkaConsumer<String, byte[]> newConsumer() {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties();
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, GROUP_ID);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, false);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, partitionRefreshMs);
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        return new KafkaConsumer<>(properties);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.mrs.engagement_service.consumer;
+
+import com.mrs.engagement_service.event.CreateMediaEvent;
+import com.mrs.engagement_service.event.DeleteMediaEvent;
+import com.mrs.engagement_service.rollup.MediaGenre;
+import com.mrs.engagement_service.rollup.MediaGenreRepository;
+import org.springframework.kafka.annotation.KafkaHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mantém {@code media_genre} a partir dos eventos do catálogo, para os rollups por gênero.
+ */
+@Component
+@KafkaListener(
+        topics = {"create-media", "delete-media"},
+        groupId = "engagement-service",
+        properties = "auto.offset.reset=earliest"
+)
+public class MediaGenreConsumerEvent {
+
+    private final MediaGenreRepository mediaGenreRepository;
+
+    public MediaGenreConsumerEvent(MediaGenreRepository mediaGenreRepository) {
+        this.mediaGenreRepository = mediaGenreRepository;
+    }
+
+    @KafkaHandler
+    @Transactional
+    public void listen(CreateMediaEvent createMediaEvent) {
+        mediaGenreRepository.deleteByMediaId(createMediaEvent.mediaId());
+
+        if (createMediaEvent.genres() == null) return;
+
+        mediaGenreRepository.saveAll(createMediaEvent.genres().stream()
+                .distinct()
+                .map(genre -> new MediaGenre(createMediaEvent.mediaId(), genre))
+                .toList());
+    }
+
+    @KafkaHandler
+    @Transactional
+    public void listen(DeleteMediaEvent deleteMediaEvent) {
+        mediaGenreRepository.deleteByMediaId(deleteMediaEvent.mediaId());
+    }
+
+}
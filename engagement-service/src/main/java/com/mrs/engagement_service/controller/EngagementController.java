@@ -1,28 +1,160 @@
 package com.mrs.engagement_service.controller;
 
 import com.mrs.engagement_service.dto.InteractionCreateRequest;
+import com.mrs.engagement_service.dto.InteractionExportStatusResponse;
+import com.mrs.engagement_service.dto.InteractionHistoryResponse;
+import com.mrs.engagement_service.dto.MediaStatsResponse;
+import com.mrs.engagement_service.dto.TimelineResponse;
+import com.mrs.engagement_service.export.InteractionExporter;
+import com.mrs.engagement_service.idempotency.IdempotentRequests;
+import com.mrs.engagement_service.provider.UserAuthenticationProvider;
+import com.mrs.engagement_service.ratelimit.EngagementRateLimiter;
+import com.mrs.engagement_service.rollup.RollupDimension;
+import com.mrs.engagement_service.rollup.RollupGranularity;
+import com.mrs.engagement_service.service.EngagementHistoryService;
+import com.mrs.engagement_service.service.EngagementRollupService;
 import com.mrs.engagement_service.service.EngagementService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/engagement")
 public class EngagementController {
 
     private final EngagementService engagementService;
 
-    public EngagementController(EngagementService engagementService) {
+    private final IdempotentRequests idempotentRequests;
+
+    private final EngagementRateLimiter engagementRateLimiter;
+
+    private final EngagementRollupService engagementRollupService;
+
+    private final EngagementHistoryService engagementHistoryService;
+
+    private final InteractionExporter interactionExporter;
+
+    private final UserAuthenticationProvider userAuthenticationProvider;
+
+    public EngagementController(
+            EngagementService engagementService,
+            IdempotentRequests idempotentRequests,
+            EngagementRateLimiter engagementRateLimiter,
+            EngagementRollupService engagementRollupService,
+            EngagementHistoryService engagementHistoryService,
+            InteractionExporter interactionExporter,
+            UserAuthenticationProvider userAuthenticationProvider
+    ) {
         this.engagementService = engagementService;
+        this.idempotentRequests = idempotentRequests;
+        this.engagementRateLimiter = engagementRateLimiter;
+        this.engagementRollupService = engagementRollupService;
+        this.engagementHistoryService = engagementHistoryService;
+        this.interactionExporter = interactionExporter;
+        this.userAuthenticationProvider = userAuthenticationProvider;
     }
 
     @PostMapping
-    public ResponseEntity<String> create(@RequestBody @Valid InteractionCreateRequest engagement){
-        engagementService.create(engagement);
+    public ResponseEntity<String> create(
+            @RequestBody @Valid InteractionCreateRequest engagement,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
+    ){
+        UUID callerId = userAuthenticationProvider.getUserId();
+        engagementRateLimiter.acquire(callerId);
+
+        if (idempotencyKey == null) return register(engagement);
+
+        return idempotentRequests.execute(callerId.toString(), idempotencyKey, engagement, () -> register(engagement));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> createBatch(@RequestBody List<InteractionCreateRequest> engagements){
+        return registerBatch(engagements);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<String> createBatchNdjson(InputStream engagements){
+        return registerBatch(engagementService.readBatch(engagements));
+    }
+
+    @GetMapping("/media/{mediaId}/stats")
+    public ResponseEntity<MediaStatsResponse> getMediaStats(@PathVariable UUID mediaId){
+        return ResponseEntity.ok(engagementService.getMediaStats(mediaId));
+    }
+
+    @GetMapping("/media/{mediaId}/timeline")
+    public ResponseEntity<TimelineResponse> getMediaTimeline(
+            @PathVariable UUID mediaId,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ){
+        return ResponseEntity.ok(engagementRollupService.timeline(RollupDimension.MEDIA, mediaId.toString(), granularity, from, to));
+    }
+
+    @GetMapping("/genres/{genre}/timeline")
+    public ResponseEntity<TimelineResponse> getGenreTimeline(
+            @PathVariable String genre,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ){
+        return ResponseEntity.ok(engagementRollupService.timeline(RollupDimension.GENRE, genre, granularity, from, to));
+    }
+
+    @GetMapping("/users/{userId}/history")
+    @PreAuthorize("hasRole('ADMIN') or #userId.toString() == principal.claims['userId']")
+    public ResponseEntity<InteractionHistoryResponse> getUserHistory(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ){
+        return ResponseEntity.ok(engagementHistoryService.history(userId, cursor, limit));
+    }
+
+    @PostMapping("/exports")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InteractionExportStatusResponse> exportInteractions(){
+        InteractionExportStatusResponse export = interactionExporter.start();
+
+        return ResponseEntity.accepted().location(URI.create("/engagement/exports/" + export.id())).body(export);
+    }
+
+    @GetMapping("/exports/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InteractionExportStatusResponse> getExport(@PathVariable String id){
+        return ResponseEntity.of(interactionExporter.status(id));
+    }
+
+    private ResponseEntity<String> registerBatch(List<InteractionCreateRequest> engagements) {
+        engagementRateLimiter.acquire(userAuthenticationProvider.getUserId(), engagements.size());
+
+        int registered = engagementService.createBatch(engagements);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(registered + " engagements registered with success");
+    }
+
+    private ResponseEntity<String> register(InteractionCreateRequest engagement) {
+        if (!engagementService.create(engagement)) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Engagement accepted and will be registered when its window closes");
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED).body("Engagement registered with success");
     }
@@ -0,0 +1,11 @@
+package com.mrs.engagement_service.dto;
+
+public record InteractionExportResponse(
+        String directory,
+        long rows,
+        int users,
+        int media,
+        long elapsedMs,
+        long rowsPerSecond
+) {
+}
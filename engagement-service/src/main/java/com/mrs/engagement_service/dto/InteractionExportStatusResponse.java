@@ -0,0 +1,29 @@
+package com.mrs.engagement_service.dto;
+
+public record InteractionExportStatusResponse(
+        String id,
+        State state,
+        String directory,
+        InteractionExportResponse result,
+        String error
+) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static InteractionExportStatusResponse running(String id, String directory) {
+        return new InteractionExportStatusResponse(id, State.RUNNING, directory, null, null);
+    }
+
+    public static InteractionExportStatusResponse completed(String id, InteractionExportResponse result) {
+        return new InteractionExportStatusResponse(id, State.COMPLETED, result.directory(), result, null);
+    }
+
+    public static InteractionExportStatusResponse failed(String id, String directory, String error) {
+        return new InteractionExportStatusResponse(id, State.FAILED, directory, null, error);
+    }
+
+}
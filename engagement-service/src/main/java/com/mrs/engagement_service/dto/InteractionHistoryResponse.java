@@ -0,0 +1,27 @@
+package com.mrs.engagement_service.dto;
+
+import com.mrs.engagement_service.model.InteractionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param nextCursor {@code null} na última página.
+ */
+public record InteractionHistoryResponse(
+        UUID userId,
+        List<Item> items,
+        String nextCursor
+) {
+
+    public record Item(
+            long id,
+            UUID mediaId,
+            InteractionType type,
+            double interactionValue,
+            LocalDateTime timestamp
+    ) {
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.mrs.engagement_service.dto;
+
+import java.util.UUID;
+
+public record MediaStatsResponse(
+        UUID mediaId,
+        long likes,
+        long dislikes,
+        long watches,
+        long uniqueUsers
+) {
+
+    public static MediaStatsResponse empty(UUID mediaId) {
+        return new MediaStatsResponse(mediaId, 0, 0, 0, 0);
+    }
+
+}
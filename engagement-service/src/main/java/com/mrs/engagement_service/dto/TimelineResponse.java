@@ -0,0 +1,26 @@
+package com.mrs.engagement_service.dto;
+
+import com.mrs.engagement_service.rollup.RollupDimension;
+import com.mrs.engagement_service.rollup.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TimelineResponse(
+        RollupDimension dimension,
+        String key,
+        RollupGranularity granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        List<Point> points
+) {
+
+    public record Point(
+            LocalDateTime bucketStart,
+            long likes,
+            long dislikes,
+            long watches
+    ) {
+    }
+
+}
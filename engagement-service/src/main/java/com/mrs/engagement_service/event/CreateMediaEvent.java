@@ -1,4 +1,4 @@
-package com.mrs.recommendation_service.event;
+package com.mrs.engagement_service.event;
 
 import java.util.List;
 import java.util.UUID;
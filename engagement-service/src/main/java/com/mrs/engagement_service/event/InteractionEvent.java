@@ -1,5 +1,6 @@
 package com.mrs.engagement_service.event;
 
+import com.mrs.engagement_service.model.Interaction;
 import com.mrs.engagement_service.model.InteractionType;
 
 import java.time.LocalDateTime;
@@ -13,4 +14,16 @@ public record InteractionEvent(
         double interactionValue,
         LocalDateTime timestamp
 ) {
+
+    public static InteractionEvent from(Interaction interaction) {
+        return new InteractionEvent(
+                interaction.getId(),
+                interaction.getUserId(),
+                interaction.getMediaId(),
+                interaction.getType(),
+                interaction.getInteractionValue(),
+                interaction.getTimestamp()
+        );
+    }
+
 }
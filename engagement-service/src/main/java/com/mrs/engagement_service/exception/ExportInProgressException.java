@@ -0,0 +1,12 @@
+package com.mrs.engagement_service.exception;
+
+/**
+ * Pedido de exportação enquanto outra ainda está em andamento.
+ */
+public class ExportInProgressException extends RuntimeException {
+
+    public ExportInProgressException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.mrs.engagement_service.exception;
+
+/**
+ * Uma requisição com a mesma {@code Idempotency-Key} ainda está sendo processada.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.mrs.engagement_service.exception;
+
+/**
+ * A fila de ingestão está cheia; o cliente deve tentar novamente mais tarde.
+ */
+public class IngestionOverloadedException extends RuntimeException {
+
+    public IngestionOverloadedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.mrs.engagement_service.exception;
+
+/**
+ * A interação não pôde ser confirmada como persistida: escrita falhou, demorou além do
+ * limite ou o serviço está sendo desligado.
+ */
+public class IngestionUnavailableException extends RuntimeException {
+
+    public IngestionUnavailableException(String message) {
+        super(message);
+    }
+
+    public IngestionUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
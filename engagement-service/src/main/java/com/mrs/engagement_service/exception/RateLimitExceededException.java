@@ -0,0 +1,18 @@
+package com.mrs.engagement_service.exception;
+
+import lombok.Getter;
+
+/**
+ * Limite de taxa excedido; {@code retryAfterSeconds} indica quando haverá capacidade.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
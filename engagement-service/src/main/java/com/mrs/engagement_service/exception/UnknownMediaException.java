@@ -0,0 +1,12 @@
+package com.mrs.engagement_service.exception;
+
+/**
+ * Interação para uma mídia que não existe no catálogo.
+ */
+public class UnknownMediaException extends RuntimeException {
+
+    public UnknownMediaException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.mrs.engagement_service.export;
+
+import com.mrs.engagement_service.dto.InteractionExportResponse;
+import com.mrs.engagement_service.dto.InteractionExportStatusResponse;
+import com.mrs.engagement_service.exception.ExportInProgressException;
+import com.mrs.engagement_service.model.InteractionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exporta o log completo de interações em formato colunar para treino offline.
+ * <p>
+ * As linhas são lidas por um cursor no servidor ({@code fetchSize} dentro de uma
+ * transação somente leitura), então a memória usada não depende do tamanho da tabela,
+ * exceto pelos dicionários de ids. Cada coluna vai para um arquivo próprio, em
+ * little-endian, e pode ser carregada diretamente como array (por exemplo
+ * {@code numpy.fromfile(path, dtype="<i4")}):
+ * </p>
+ * <ul>
+ * <li>{@code users.i32} e {@code media.i32}: ordinais dos dicionários
+ * {@code user_ids.txt} e {@code media_ids.txt} (um UUID por linha);</li>
+ * <li>{@code types.u8}: ordinal de {@link InteractionType} (255 quando ausente);</li>
+ * <li>{@code values.f32}: {@code interactionValue};</li>
+ * <li>{@code timestamps.i64}: epoch em milissegundos.</li>
+ * </ul>
+ * <p>
+ * A exportação roda numa thread própria, fora da requisição que a pediu, já que a
+ * leitura da tabela inteira pode levar minutos e prenderia uma thread do servidor e a
+ * transação de leitura enquanto isso. O andamento da última exportação fica disponível
+ * por {@link #status(String)}.
+ * </p>
+ * O {@code manifest.json} é escrito por último: um diretório sem ele é uma exportação
+ * interrompida.
+ */
+@Slf4j
+@Component
+public class InteractionExporter {
+
+    private static final String QUERY = "SELECT user_id, media_id, type, interaction_value, \"timestamp\" FROM interaction";
+    private static final DateTimeFormatter DIRECTORY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonMapper jsonMapper;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile InteractionExportStatusResponse latest;
+
+    @Value("${engagement.export.directory:${java.io.tmpdir}/engagement-export}")
+    private Path baseDirectory;
+
+    @Value("${engagement.export.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${engagement.export.chunk-bytes:67108864}")
+    private int chunkBytes;
+
+    @Value("${engagement.export.progress-rows:1000000}")
+    private long progressRows;
+
+    public InteractionExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Inicia a exportação em segundo plano; apenas uma por vez.
+     */
+    public InteractionExportStatusResponse start() {
+        if (!running.compareAndSet(false, true)) throw new ExportInProgressException("An interaction export is already running");
+
+        String id = "interactions-" + LocalDateTime.now().format(DIRECTORY_SUFFIX);
+        Path directory;
+        try {
+            directory = Files.createDirectories(baseDirectory.resolve(id));
+        } catch (IOException e) {
+            running.set(false);
+            throw new UncheckedIOException("Failed to export interactions", e);
+        }
+
+        latest = InteractionExportStatusResponse.running(id, directory.toString());
+        Thread.ofPlatform().name("interaction-export").start(() -> run(id, directory));
+        return latest;
+    }
+
+    /**
+     * @return o estado da exportação {@code id}, se for a última iniciada.
+     */
+    public Optional<InteractionExportStatusResponse> status(String id) {
+        InteractionExportStatusResponse status = latest;
+        return status != null && status.id().equals(id) ? Optional.of(status) : Optional.empty();
+    }
+
+    private void run(String id, Path directory) {
+        try {
+            latest = InteractionExportStatusResponse.completed(id, export(directory));
+        } catch (IOException | RuntimeException e) {
+            log.error("Erro ao exportar interações para {}: {}", directory, e.getMessage(), e);
+            latest = InteractionExportStatusResponse.failed(id, directory.toString(), e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private InteractionExportResponse export(Path directory) throws IOException {
+        log.info("Exportando interações para {}", directory);
+
+        UuidDictionary users = new UuidDictionary();
+        UuidDictionary media = new UuidDictionary();
+        long start = System.nanoTime();
+        long rows;
+
+        try (MappedColumnWriter userColumn = new MappedColumnWriter(directory.resolve("users.i32"), chunkBytes);
+             MappedColumnWriter mediaColumn = new MappedColumnWriter(directory.resolve("media.i32"), chunkBytes);
+             MappedColumnWriter typeColumn = new MappedColumnWriter(directory.resolve("types.u8"), chunkBytes);
+             MappedColumnWriter valueColumn = new MappedColumnWriter(directory.resolve("values.f32"), chunkBytes);
+             MappedColumnWriter timestampColumn = new MappedColumnWriter(directory.resolve("timestamps.i64"), chunkBytes)) {
+
+            long[] count = new long[1];
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        var statement = connection.prepareStatement(QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(fetchSize);
+                        return statement;
+                    },
+                    (ResultSet row) -> {
+                        userColumn.putInt(users.ordinal(row.getObject(1, UUID.class)));
+                        mediaColumn.putInt(media.ordinal(row.getObject(2, UUID.class)));
+                        typeColumn.putByte((byte) typeOrdinal(row));
+                        valueColumn.putFloat((float) row.getDouble(4));
+                        timestampColumn.putLong(row.getTimestamp(5).getTime());
+
+                        if (++count[0] % progressRows == 0) {
+                            log.info("Exportação: {} linhas, {} linhas/s", count[0], rowsPerSecond(count[0], System.nanoTime() - start));
+                        }
+                    }
+            ));
+            rows = count[0];
+        }
+
+        users.write(directory.resolve("user_ids.txt"));
+        media.write(directory.resolve("media_ids.txt"));
+
+        long elapsedNanos = System.nanoTime() - start;
+        writeManifest(directory, rows, users.size(), media.size());
+
+        InteractionExportResponse response = new InteractionExportResponse(
+                directory.toString(),
+                rows,
+                users.size(),
+                media.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond(rows, elapsedNanos)
+        );
+        log.info("Exportação concluída: {} linhas, {} usuários, {} mídias em {} ms ({} linhas/s)",
+                rows, response.users(), response.media(), response.elapsedMs(), response.rowsPerSecond());
+        return response;
+    }
+
+    private void writeManifest(Path directory, long rows, int users, int media) {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("rows", rows);
+        manifest.put("byteOrder", "little-endian");
+        manifest.put("columns", List.of(
+                Map.of("name", "user", "file", "users.i32", "dtype", "int32", "dictionary", "user_ids.txt"),
+                Map.of("name", "media", "file", "media.i32", "dtype", "int32", "dictionary", "media_ids.txt"),
+                Map.of("name", "type", "file", "types.u8", "dtype", "uint8"),
+                Map.of("name", "value", "file", "values.f32", "dtype", "float32"),
+                Map.of("name", "timestamp", "file", "timestamps.i64", "dtype", "int64", "unit", "epoch-millis")
+        ));
+        manifest.put("types", Arrays.stream(TYPES).map(Enum::name).toList());
+        manifest.put("users", users);
+        manifest.put("media", media);
+
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("manifest.json").toFile(), manifest);
+    }
+
+    private static int typeOrdinal(ResultSet row) throws SQLException {
+        String type = row.getString(3);
+        return type == null ? -1 : InteractionType.valueOf(type).ordinal();
+    }
+
+    private static long rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos == 0 ? rows : rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+}
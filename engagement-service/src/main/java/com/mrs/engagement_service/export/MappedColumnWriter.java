@@ -0,0 +1,97 @@
+package com.mrs.engagement_service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Escreve uma coluna de valores de tamanho fixo, em little-endian, direto em regiões
+ * mapeadas em memória do arquivo: cada valor é uma escrita na page cache, sem cópia
+ * para um buffer intermediário nem chamada de sistema por lote.
+ * <p>
+ * O arquivo cresce de {@code chunkSize} em {@code chunkSize} bytes conforme é
+ * preenchido e é cortado no tamanho exato ao fechar. Um valor nunca é partido entre
+ * duas regiões: a próxima região começa onde a anterior parou de ser usada.
+ * </p>
+ */
+final class MappedColumnWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final int chunkSize;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    MappedColumnWriter(Path file, int chunkSize) {
+        if (chunkSize < Long.BYTES) throw new IllegalArgumentException("Chunk size must hold at least one value");
+
+        this.chunkSize = chunkSize;
+        try {
+            this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+            map(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open " + file, e);
+        }
+    }
+
+    void putByte(byte value) {
+        reserve(Byte.BYTES).put(value);
+    }
+
+    void putInt(int value) {
+        reserve(Integer.BYTES).putInt(value);
+    }
+
+    void putFloat(float value) {
+        reserve(Float.BYTES).putFloat(value);
+    }
+
+    void putLong(long value) {
+        reserve(Long.BYTES).putLong(value);
+    }
+
+    long size() {
+        return regionStart + region.position();
+    }
+
+    @Override
+    public void close() {
+        try {
+            long size = size();
+            region.force();
+            channel.truncate(size);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close column file", e);
+        }
+    }
+
+    private MappedByteBuffer reserve(int bytes) {
+        if (region.remaining() < bytes) {
+            try {
+                map(size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map column file", e);
+            }
+        }
+        return region;
+    }
+
+    private void map(long start) throws IOException {
+        if (region != null) region.force();
+
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, chunkSize);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        regionStart = start;
+    }
+
+}
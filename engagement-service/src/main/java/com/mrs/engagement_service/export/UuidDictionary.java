@@ -0,0 +1,49 @@
+package com.mrs.engagement_service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Atribui ordinais densos ({@code 0..n-1}) aos UUIDs na ordem em que aparecem, para que
+ * as colunas guardem 4 bytes por id e possam indexar matrizes diretamente.
+ */
+final class UuidDictionary {
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> ids = new ArrayList<>();
+
+    int ordinal(UUID id) {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null) return ordinal;
+
+        ordinal = ids.size();
+        ordinals.put(id, ordinal);
+        ids.add(id);
+        return ordinal;
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * Um UUID por linha: o número da linha (a partir de 0) é o ordinal.
+     */
+    void write(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (UUID id : ids) {
+                writer.write(id.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+}
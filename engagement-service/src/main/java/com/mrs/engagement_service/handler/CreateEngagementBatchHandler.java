@@ -0,0 +1,54 @@
+package com.mrs.engagement_service.handler;
+
+import com.mrs.commons.outbox.OutboxPublisher;
+import com.mrs.engagement_service.event.InteractionEvent;
+import com.mrs.engagement_service.ingestion.CommittedInteractions;
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.repository.EngagementRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persiste um lote de interações e seus eventos de outbox em uma única transação.
+ * <p>
+ * Com ids vindos de sequência, o Hibernate agrupa os inserts das duas tabelas em lotes
+ * JDBC ({@code hibernate.jdbc.batch_size}) e o driver os reescreve como inserts
+ * multi-linha ({@code reWriteBatchedInserts}). A publicação no Kafka é feita pelo relay
+ * do outbox, também em lotes.
+ * </p>
+ */
+@Component
+public class CreateEngagementBatchHandler {
+
+    private final EngagementRepository engagementRepository;
+
+    private final OutboxPublisher outboxPublisher;
+
+    private final CommittedInteractions committedInteractions;
+
+    public CreateEngagementBatchHandler(EngagementRepository engagementRepository, OutboxPublisher outboxPublisher, CommittedInteractions committedInteractions) {
+        this.engagementRepository = engagementRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.committedInteractions = committedInteractions;
+    }
+
+    @Transactional
+    public void handler(List<Interaction> interactions) {
+        if (interactions == null || interactions.isEmpty()) throw new IllegalArgumentException("Interactions can't be empty");
+
+        engagementRepository.saveAll(interactions);
+
+        List<OutboxPublisher.Keyed> events = new ArrayList<>(interactions.size());
+        for (Interaction interaction : interactions) {
+            events.add(new OutboxPublisher.Keyed(interaction.getUserId().toString(), InteractionEvent.from(interaction)));
+        }
+
+        outboxPublisher.publishAll("engagement-created", events);
+
+        committedInteractions.recordAfterCommit(interactions);
+    }
+
+}
@@ -1,40 +1,41 @@
 package com.mrs.engagement_service.handler;
 
+import com.mrs.commons.outbox.OutboxPublisher;
 import com.mrs.engagement_service.event.InteractionEvent;
+import com.mrs.engagement_service.ingestion.CommittedInteractions;
 import com.mrs.engagement_service.model.Interaction;
 import com.mrs.engagement_service.repository.EngagementRepository;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.util.List;
 
 @Component
 public class CreateEngagementHandler {
 
     private final EngagementRepository engagementRepository;
 
-    private final KafkaTemplate<String, InteractionEvent> kafka;
+    private final OutboxPublisher outboxPublisher;
 
-    public CreateEngagementHandler(EngagementRepository engagementRepository, KafkaTemplate<String, InteractionEvent> kafka) {
+    private final CommittedInteractions committedInteractions;
+
+    public CreateEngagementHandler(EngagementRepository engagementRepository, OutboxPublisher outboxPublisher, CommittedInteractions committedInteractions) {
         this.engagementRepository = engagementRepository;
-        this.kafka = kafka;
+        this.outboxPublisher = outboxPublisher;
+        this.committedInteractions = committedInteractions;
     }
 
+    @Transactional
     public void handler(Interaction interaction){
         if(interaction == null) throw new IllegalArgumentException("Interaction can't be null");
 
         engagementRepository.save(interaction);
 
-        InteractionEvent interactionEvent = new InteractionEvent(
-                interaction.getId(),
-                interaction.getUserId(),
-                interaction.getMediaId(),
-                interaction.getType(),
-                interaction.getInteractionValue(),
-                interaction.getTimestamp()
-        );
+        InteractionEvent interactionEvent = InteractionEvent.from(interaction);
+
+        outboxPublisher.publish("engagement-created", interaction.getUserId().toString(), interactionEvent);
 
-        kafka.send("engagement-created", interaction.getUserId().toString(), interactionEvent);
+        committedInteractions.recordAfterCommit(List.of(interaction));
     }
 
 }
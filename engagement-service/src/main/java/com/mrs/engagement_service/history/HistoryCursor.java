@@ -0,0 +1,38 @@
+package com.mrs.engagement_service.history;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição opaca no histórico de um usuário: a última interação devolvida, na ordem
+ * ({@code timestamp}, {@code id}) decrescente. A próxima página começa estritamente
+ * depois dela, então inserções concorrentes não duplicam nem pulam itens, e o custo de
+ * uma página não depende de quantas vieram antes.
+ */
+public record HistoryCursor(LocalDateTime timestamp, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException quando o cursor não foi gerado por {@link #encode()}.
+     */
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor");
+
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+}
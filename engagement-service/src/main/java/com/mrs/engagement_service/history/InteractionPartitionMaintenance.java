@@ -0,0 +1,67 @@
+package com.mrs.engagement_service.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Mantém as partições mensais de {@code interaction}: cria as dos próximos meses antes
+ * que sejam necessárias e remove as que saíram da retenção com {@code DROP TABLE}, sem
+ * {@code DELETE} de linhas nem vacuum. As funções SQL usadas são criadas em
+ * {@code schema.sql}.
+ * <p>
+ * Uma partição só é removida quando o mês inteiro está fora da retenção, então o
+ * histórico guardado varia entre {@code retention-months} e um mês a mais.
+ * </p>
+ */
+@Slf4j
+@Component
+public class InteractionPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter droppedPartitions;
+
+    @Value("${engagement.history.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    @Value("${engagement.history.retention-months:24}")
+    private int retentionMonths;
+
+    public InteractionPartitionMaintenance(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.droppedPartitions = Counter.builder("engagement.history.partitions.dropped")
+                .description("Partições mensais de interaction removidas pela retenção")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.history.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT ensure_interaction_partitions(?, ?)", Integer.class, now, now.plusMonths(partitionsAhead));
+            if (created != null && created > 0) log.info("{} partições de interaction criadas", created);
+
+            if (retentionMonths <= 0) return;
+
+            LocalDateTime cutoff = now.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).minusMonths(retentionMonths);
+            List<String> dropped = jdbcTemplate.queryForList("SELECT drop_interaction_partitions_before(?)", String.class, cutoff);
+            if (!dropped.isEmpty()) {
+                droppedPartitions.increment(dropped.size());
+                log.info("Partições de interaction anteriores a {} removidas: {}", cutoff, dropped);
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro na manutenção das partições de interaction: {}", e.getMessage(), e);
+        }
+    }
+
+}
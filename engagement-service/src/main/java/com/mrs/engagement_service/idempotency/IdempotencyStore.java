@@ -0,0 +1,194 @@
+package com.mrs.engagement_service.idempotency;
+
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Conjunto limitado de chaves de idempotência com expiração, dividido em segmentos.
+ * <p>
+ * Cada segmento é um {@link LinkedHashMap} em ordem de inserção protegido pelo próprio
+ * monitor, então threads com chaves em segmentos diferentes não disputam lock. Como
+ * toda entrada de um segmento usa o mesmo TTL contado a partir da última escrita, as
+ * mais antigas ficam sempre no início: a expiração só olha a cabeça do mapa, sem
+ * varredura nem threads auxiliares. Ao atingir a capacidade, a entrada mais antiga do
+ * segmento é descartada.
+ * </p>
+ * Cada chave guarda apenas o fingerprint do corpo (um digest, comparado byte a byte),
+ * o instante de expiração e o resultado lembrado; enquanto a primeira requisição não
+ * termina, o resultado é nulo.
+ */
+public class IdempotencyStore<T> {
+
+    public enum State {
+        /**
+         * A chave é nova e foi reservada para quem chamou.
+         */
+        CLAIMED,
+        /**
+         * A chave já foi concluída; {@link Claim#value()} traz o resultado lembrado.
+         */
+        COMPLETED,
+        /**
+         * Outra requisição com a mesma chave ainda está em andamento.
+         */
+        IN_PROGRESS,
+        /**
+         * A chave já foi usada com um corpo diferente.
+         */
+        MISMATCH
+    }
+
+    public record Claim<T>(State state, T value) {
+    }
+
+    private static final Claim<?> CLAIMED = new Claim<>(State.CLAIMED, null);
+    private static final Claim<?> IN_PROGRESS = new Claim<>(State.IN_PROGRESS, null);
+    private static final Claim<?> MISMATCH = new Claim<>(State.MISMATCH, null);
+
+    private final Segment<T>[] segments;
+    private final int mask;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public IdempotencyStore(int maxKeys, int segmentCount, long ttlMillis, LongSupplier clock) {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("Segment count must be a power of two");
+        }
+        if (maxKeys < segmentCount) throw new IllegalArgumentException("Max keys must be at least the segment count");
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maxKeys / segmentCount);
+        }
+        this.mask = segmentCount - 1;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public Claim<T> claim(String key, byte[] fingerprint) {
+        Segment<T> segment = segmentFor(key);
+        long now = clock.getAsLong();
+
+        synchronized (segment) {
+            expire(segment, now);
+
+            Entry<T> entry = segment.entries.get(key);
+            if (entry != null) {
+                if (!MessageDigest.isEqual(entry.fingerprint, fingerprint)) return constant(MISMATCH);
+                if (entry.value == null) return constant(IN_PROGRESS);
+                return new Claim<>(State.COMPLETED, entry.value);
+            }
+
+            if (segment.entries.size() >= segment.capacity) {
+                removeEldest(segment);
+                evicted.incrementAndGet();
+            }
+            segment.entries.put(key, new Entry<>(fingerprint, now + ttlMillis));
+            return constant(CLAIMED);
+        }
+    }
+
+    /**
+     * Guarda o resultado e reinicia o TTL, movendo a chave para o fim do segmento.
+     */
+    public void complete(String key, T value) {
+        Segment<T> segment = segmentFor(key);
+
+        synchronized (segment) {
+            Entry<T> entry = segment.entries.remove(key);
+            if (entry == null) return;
+
+            entry.value = value;
+            entry.expiresAtMillis = clock.getAsLong() + ttlMillis;
+            segment.entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Libera a chave após uma falha, para que uma nova tentativa seja processada.
+     */
+    public void release(String key) {
+        Segment<T> segment = segmentFor(key);
+
+        synchronized (segment) {
+            segment.entries.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long expiredCount() {
+        return expired.get();
+    }
+
+    public long evictedCount() {
+        return evicted.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Claim<T> constant(Claim<?> claim) {
+        return (Claim<T>) claim;
+    }
+
+    private Segment<T> segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private void expire(Segment<T> segment, long now) {
+        Iterator<Entry<T>> iterator = segment.entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAtMillis > now) return;
+            iterator.remove();
+            expired.incrementAndGet();
+        }
+    }
+
+    private static <T> void removeEldest(Segment<T> segment) {
+        Iterator<Map.Entry<String, Entry<T>>> iterator = segment.entries.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    private static final class Segment<T> {
+
+        private final LinkedHashMap<String, Entry<T>> entries;
+        private final int capacity;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(Math.min(capacity, 1024) * 4 / 3 + 1);
+        }
+
+    }
+
+    private static final class Entry<T> {
+
+        private final byte[] fingerprint;
+        private long expiresAtMillis;
+        private T value;
+
+        private Entry(byte[] fingerprint, long expiresAtMillis) {
+            this.fingerprint = fingerprint;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+    }
+
+}
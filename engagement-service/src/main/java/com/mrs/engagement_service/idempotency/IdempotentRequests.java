@@ -0,0 +1,121 @@
+package com.mrs.engagement_service.idempotency;
+
+import com.mrs.engagement_service.exception.IdempotencyConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+
+/**
+ * Executa requisições protegidas por {@code Idempotency-Key}.
+ * <p>
+ * A primeira requisição com uma chave reserva a chave, executa a operação e guarda a
+ * resposta. Repetições com o mesmo corpo recebem a resposta guardada sem tocar banco
+ * nem Kafka; repetições enquanto a primeira ainda executa recebem 409. Se a operação
+ * falhar a chave é liberada, para que o cliente possa tentar de novo.
+ * </p>
+ * As chaves ficam em memória na instância: com várias réplicas, a garantia vale para
+ * retentativas que chegam à mesma instância.
+ */
+@Component
+public class IdempotentRequests {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore<ResponseEntity<String>> store;
+
+    private final JsonMapper canonicalMapper;
+
+    private final Counter hits;
+    private final Counter conflicts;
+
+    public IdempotentRequests(
+            MeterRegistry meterRegistry,
+            JsonMapper jsonMapper,
+            @Value("${engagement.idempotency.max-keys:262144}") int maxKeys,
+            @Value("${engagement.idempotency.segments:64}") int segments,
+            @Value("${engagement.idempotency.ttl-ms:600000}") long ttlMs
+    ) {
+        this.store = new IdempotencyStore<>(maxKeys, segments, ttlMs, System::currentTimeMillis);
+        this.canonicalMapper = jsonMapper.rebuild()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .build();
+
+        this.hits = Counter.builder("engagement.idempotency.hits")
+                .description("Repetições respondidas com o resultado lembrado")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("engagement.idempotency.conflicts")
+                .description("Repetições recusadas porque a requisição original ainda estava em andamento")
+                .register(meterRegistry);
+        FunctionCounter.builder("engagement.idempotency.evictions", store, IdempotencyStore::evictedCount)
+                .description("Chaves descartadas por falta de espaço antes de expirar")
+                .tag("reason", "capacity")
+                .register(meterRegistry);
+        FunctionCounter.builder("engagement.idempotency.evictions", store, IdempotencyStore::expiredCount)
+                .description("Chaves removidas ao expirar")
+                .tag("reason", "expired")
+                .register(meterRegistry);
+        Gauge.builder("engagement.idempotency.keys", store, IdempotencyStore::size)
+                .description("Chaves de idempotência em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param scope       escopo da chave (o usuário autenticado), para que clientes
+     *                    diferentes não colidam ao reutilizar a mesma chave.
+     * @param body        corpo da requisição; o SHA-256 do seu JSON canônico (propriedades
+     *                    em ordem alfabética) é guardado com a chave, e a mesma chave com
+     *                    outro corpo é rejeitada.
+     */
+    public ResponseEntity<String> execute(String scope, String key, Object body, Supplier<ResponseEntity<String>> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = scope + ':' + key;
+        IdempotencyStore.Claim<ResponseEntity<String>> claim = store.claim(scopedKey, fingerprint(body));
+
+        switch (claim.state()) {
+            case COMPLETED -> {
+                hits.increment();
+                return claim.value();
+            }
+            case IN_PROGRESS -> {
+                conflicts.increment();
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            case MISMATCH -> throw new IllegalArgumentException("Idempotency-Key was already used with a different request body");
+            case CLAIMED -> {
+            }
+        }
+
+        try {
+            ResponseEntity<String> response = operation.get();
+            store.complete(scopedKey, response);
+            return response;
+        } catch (RuntimeException e) {
+            store.release(scopedKey);
+            throw e;
+        }
+    }
+
+    private byte[] fingerprint(Object body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
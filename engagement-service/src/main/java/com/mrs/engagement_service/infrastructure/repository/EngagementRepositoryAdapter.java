@@ -4,6 +4,10 @@ import com.mrs.engagement_service.model.Interaction;
 import com.mrs.engagement_service.repository.EngagementRepository;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 @Component
 public class EngagementRepositoryAdapter implements EngagementRepository {
 
@@ -18,4 +22,16 @@ public class EngagementRepositoryAdapter implements EngagementRepository {
         engagementRepositoryJpa.save(interaction);
     }
 
+    @Override
+    public void saveAll(List<Interaction> interactions) {
+        engagementRepositoryJpa.saveAll(interactions);
+    }
+
+    @Override
+    public List<Interaction> findHistory(UUID userId, LocalDateTime beforeTimestamp, long beforeId, int limit) {
+        if (beforeTimestamp == null) return engagementRepositoryJpa.findLatestByUser(userId, limit);
+
+        return engagementRepositoryJpa.findByUserBefore(userId, beforeTimestamp, beforeId, limit);
+    }
+
 }
@@ -2,8 +2,40 @@ package com.mrs.engagement_service.infrastructure.repository;
 
 import com.mrs.engagement_service.model.Interaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 @Repository
 public interface EngagementRepositoryJpa extends JpaRepository<Interaction, Long> {
+
+    @Query(value = """
+            SELECT * FROM interaction
+            WHERE user_id = :userId
+            ORDER BY "timestamp" DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Interaction> findLatestByUser(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    /**
+     * A comparação de linha ({@code (timestamp, id) < (...)}) vira um limite do índice
+     * {@code ix_interaction_user_history}, em cada partição.
+     */
+    @Query(value = """
+            SELECT * FROM interaction
+            WHERE user_id = :userId AND ("timestamp", id) < (:timestamp, :id)
+            ORDER BY "timestamp" DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Interaction> findByUserBefore(
+            @Param("userId") UUID userId,
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") long id,
+            @Param("limit") int limit
+    );
+
 }
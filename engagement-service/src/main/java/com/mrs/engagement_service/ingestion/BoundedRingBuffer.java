@@ -0,0 +1,110 @@
+package com.mrs.engagement_service.ingestion;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, para múltiplos produtores e múltiplos consumidores.
+ * <p>
+ * Cada posição guarda um número de sequência que indica se ela está livre para o
+ * produtor da volta atual ou preenchida para o consumidor correspondente; produtores e
+ * consumidores só disputam o próprio cursor via CAS. Quando a fila está cheia,
+ * {@link #offer(Object)} retorna {@code false} imediatamente em vez de bloquear, o que
+ * permite aplicar backpressure na borda HTTP.
+ * </p>
+ */
+public class BoundedRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public BoundedRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two greater than 1");
+        }
+
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T item) {
+        if (item == null) throw new IllegalArgumentException("Item can't be null");
+
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (distance < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    public T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - (position + 1);
+
+            if (distance == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (distance < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Move até {@code max} itens para {@code sink}, parando quando a fila esvazia.
+     *
+     * @return quantidade de itens transferidos.
+     */
+    public int drainTo(List<T> sink, int max) {
+        int drained = 0;
+        T item;
+        while (drained < max && (item = poll()) != null) {
+            sink.add(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Tamanho aproximado: sob concorrência o valor pode estar defasado.
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+}
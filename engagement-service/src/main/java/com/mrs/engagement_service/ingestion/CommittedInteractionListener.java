@@ -0,0 +1,14 @@
+package com.mrs.engagement_service.ingestion;
+
+import com.mrs.engagement_service.model.Interaction;
+
+import java.util.List;
+
+/**
+ * Recebe as interações depois que a transação que as gravou confirmou.
+ */
+public interface CommittedInteractionListener {
+
+    void onCommitted(List<Interaction> interactions);
+
+}
@@ -0,0 +1,50 @@
+package com.mrs.engagement_service.ingestion;
+
+import com.mrs.engagement_service.model.Interaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Repassa as interações gravadas aos {@link CommittedInteractionListener}s (contadores,
+ * rollups) somente quando a transação atual confirmar; fora de transação, repassa na
+ * hora. Assim um rollback nunca infla agregados em memória.
+ */
+@Slf4j
+@Component
+public class CommittedInteractions {
+
+    private final List<CommittedInteractionListener> listeners;
+
+    public CommittedInteractions(List<CommittedInteractionListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void recordAfterCommit(List<Interaction> interactions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(interactions);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(interactions);
+            }
+        });
+    }
+
+    private void dispatch(List<Interaction> interactions) {
+        for (CommittedInteractionListener listener : listeners) {
+            try {
+                listener.onCommitted(interactions);
+            } catch (RuntimeException e) {
+                log.error("Erro ao repassar {} interações para {}: {}", interactions.size(), listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+}
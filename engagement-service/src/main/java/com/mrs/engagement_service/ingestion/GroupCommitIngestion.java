@@ -0,0 +1,179 @@
+package com.mrs.engagement_service.ingestion;
+
+import com.mrs.engagement_service.exception.IngestionOverloadedException;
+import com.mrs.engagement_service.exception.IngestionUnavailableException;
+import com.mrs.engagement_service.handler.CreateEngagementBatchHandler;
+import com.mrs.engagement_service.model.Interaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ingestão com <i>group commit</i> para o caminho de uma interação por requisição.
+ * <p>
+ * As requisições enfileiram a interação em um {@link BoundedRingBuffer} e aguardam.
+ * Poucas threads escritoras drenam a fila, gravam até {@code max-batch} interações e
+ * seus eventos de outbox em uma única transação e só então liberam as requisições do
+ * lote, de modo que a resposta continua significando "persistido". Com a fila cheia a
+ * requisição é recusada na hora (429) em vez de acumular threads bloqueadas.
+ * </p>
+ * Ativada com {@code engagement.ingestion.mode=group-commit}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "engagement.ingestion.mode", havingValue = "group-commit")
+public class GroupCommitIngestion implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final CreateEngagementBatchHandler createEngagementBatchHandler;
+    private final BoundedRingBuffer<PendingInteraction> buffer;
+    private final int writers;
+    private final int maxBatch;
+    private final long awaitTimeoutMs;
+
+    private final List<Thread> writerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    public GroupCommitIngestion(
+            CreateEngagementBatchHandler createEngagementBatchHandler,
+            @Value("${engagement.ingestion.buffer-capacity:65536}") int bufferCapacity,
+            @Value("${engagement.ingestion.writers:2}") int writers,
+            @Value("${engagement.ingestion.max-batch:500}") int maxBatch,
+            @Value("${engagement.ingestion.await-timeout-ms:5000}") long awaitTimeoutMs
+    ) {
+        if (writers <= 0 || maxBatch <= 0) throw new IllegalArgumentException("Writers and max batch must be positive");
+
+        this.createEngagementBatchHandler = createEngagementBatchHandler;
+        this.buffer = new BoundedRingBuffer<>(bufferCapacity);
+        this.writers = writers;
+        this.maxBatch = maxBatch;
+        this.awaitTimeoutMs = awaitTimeoutMs;
+    }
+
+    /**
+     * Enfileira a interação e bloqueia até o lote que a contém ser persistido.
+     * <p>
+     * Se o tempo de espera estourar, a interação ainda pode ser gravada depois; a
+     * resposta 503 indica apenas que a confirmação não chegou a tempo.
+     * </p>
+     */
+    public void submit(Interaction interaction) {
+        if (interaction == null) throw new IllegalArgumentException("Interaction can't be null");
+        if (!running) throw new IngestionUnavailableException("Ingestion is not accepting interactions");
+
+        PendingInteraction pending = new PendingInteraction(interaction, new CompletableFuture<>());
+        if (!buffer.offer(pending)) {
+            throw new IngestionOverloadedException("Ingestion buffer is full, retry later");
+        }
+        // O stop() pode ter terminado entre a checagem acima e o offer, sem escritoras para drenar a fila.
+        if (!running) failPending();
+
+        try {
+            pending.durable().get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IngestionUnavailableException("Interaction was not confirmed within " + awaitTimeoutMs + " ms");
+        } catch (ExecutionException e) {
+            throw new IngestionUnavailableException("Failed to persist interaction", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestionUnavailableException("Interrupted while waiting for persistence", e);
+        }
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        for (int i = 0; i < writers; i++) {
+            Thread thread = Thread.ofPlatform()
+                    .name("engagement-group-commit-" + i)
+                    .start(this::drain);
+            writerThreads.add(thread);
+        }
+
+        log.info("Ingestão com group commit iniciada: writers={}, capacidade={}, lote máximo={}", writers, buffer.capacity(), maxBatch);
+    }
+
+    /**
+     * Para de aceitar novas interações e espera as escritoras esvaziarem a fila; o que
+     * ainda sobrar nela depois disso é recusado, para a requisição não esperar por uma
+     * gravação que não vai acontecer.
+     */
+    @Override
+    public void stop() {
+        running = false;
+
+        for (Thread thread : writerThreads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        writerThreads.clear();
+        failPending();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        List<PendingInteraction> batch = new ArrayList<>(maxBatch);
+
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, maxBatch) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<PendingInteraction> batch) {
+        List<Interaction> interactions = new ArrayList<>(batch.size());
+        for (PendingInteraction pending : batch) {
+            interactions.add(pending.interaction());
+        }
+
+        try {
+            createEngagementBatchHandler.handler(interactions);
+            batch.forEach(pending -> pending.durable().complete(null));
+        } catch (RuntimeException e) {
+            log.error("Erro ao gravar lote de {} interações: {}", batch.size(), e.getMessage(), e);
+            batch.forEach(pending -> pending.durable().completeExceptionally(e));
+        }
+    }
+
+    private void failPending() {
+        List<PendingInteraction> leftover = new ArrayList<>();
+        while (buffer.drainTo(leftover, maxBatch) > 0) {
+            IngestionUnavailableException stopped = new IngestionUnavailableException("Ingestion stopped before the interaction was persisted");
+            leftover.forEach(pending -> pending.durable().completeExceptionally(stopped));
+            leftover.clear();
+        }
+    }
+
+    private record PendingInteraction(Interaction interaction, CompletableFuture<Void> durable) {
+    }
+
+}
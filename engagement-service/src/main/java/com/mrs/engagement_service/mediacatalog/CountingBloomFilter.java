@@ -0,0 +1,157 @@
+package com.mrs.engagement_service.mediacatalog;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom com contadores de 4 bits, o que permite remover ids.
+ * <p>
+ * Dezesseis contadores ficam em cada {@code long} e são alterados por CAS, então o
+ * filtro aceita leituras e escritas concorrentes sem locks. As {@code k} posições de
+ * cada id vêm de <i>double hashing</i> sobre os 128 bits do UUID.
+ * </p>
+ * Um contador que chega a 15 fica saturado e nunca mais é decrementado: isso pode
+ * manter um falso positivo, mas nunca gera falso negativo. Remover um id que não foi
+ * inserido, por outro lado, decrementa contadores de outros ids; por isso
+ * {@link #remove(UUID)} só age quando {@link #mightContain(UUID)} é verdadeiro.
+ */
+public class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long SATURATED = COUNTER_MASK;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+    private final AtomicLong entries = new AtomicLong();
+
+    /**
+     * @param expectedInsertions quantidade de ids esperada.
+     * @param falsePositiveRate  taxa de falsos positivos desejada com essa quantidade.
+     */
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("Expected insertions must be positive");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+
+        long optimal = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long wordCount = (optimal + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD;
+        if (wordCount > Integer.MAX_VALUE) throw new IllegalArgumentException("Filter would be too large");
+
+        this.words = new AtomicLongArray((int) wordCount);
+        this.counters = wordCount * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / expectedInsertions * Math.log(2)));
+    }
+
+    public void add(UUID id) {
+        long h1 = h1(id);
+        long h2 = h2(id);
+
+        for (int i = 0; i < hashes; i++) {
+            increment(index(h1, h2, i));
+        }
+        entries.incrementAndGet();
+    }
+
+    /**
+     * @return {@code false} quando o id certamente não está no filtro e nada foi alterado.
+     */
+    public boolean remove(UUID id) {
+        if (!mightContain(id)) return false;
+
+        long h1 = h1(id);
+        long h2 = h2(id);
+
+        for (int i = 0; i < hashes; i++) {
+            decrement(index(h1, h2, i));
+        }
+        entries.decrementAndGet();
+        return true;
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = h1(id);
+        long h2 = h2(id);
+
+        for (int i = 0; i < hashes; i++) {
+            if (counter(index(h1, h2, i)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Inserções menos remoções; aproximado quando o mesmo id é inserido mais de uma vez.
+     */
+    public long entries() {
+        return entries.get();
+    }
+
+    public long counters() {
+        return counters;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    private long counter(long index) {
+        long word = words.get((int) (index / COUNTERS_PER_WORD));
+        return (word >>> shift(index)) & COUNTER_MASK;
+    }
+
+    private void increment(long index) {
+        int slot = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+
+        while (true) {
+            long word = words.get(slot);
+            long value = (word >>> shift) & COUNTER_MASK;
+            if (value == SATURATED) return;
+            if (words.compareAndSet(slot, word, word + (1L << shift))) return;
+        }
+    }
+
+    private void decrement(long index) {
+        int slot = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+
+        while (true) {
+            long word = words.get(slot);
+            long value = (word >>> shift) & COUNTER_MASK;
+            if (value == SATURATED || value == 0) return;
+            if (words.compareAndSet(slot, word, word - (1L << shift))) return;
+        }
+    }
+
+    private long index(long h1, long h2, int i) {
+        return Math.floorMod(h1 + i * h2, counters);
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    private static long h1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    private static long h2(UUID id) {
+        return mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    /**
+     * Finalizador do MurmurHash3: espalha bits próximos, já que UUIDs v4 fixam alguns
+     * bits de versão e variante.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.mrs.engagement_service.mediacatalog;
+
+import com.mrs.commons.index.RebuildableIndex;
+import com.mrs.engagement_service.exception.UnknownMediaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Conjunto aproximado dos ids de mídia existentes no catálogo, mantido a partir do
+ * tópico compactado {@code media-features}.
+ * <p>
+ * Permite recusar interações para mídias desconhecidas na entrada, sem consultar banco,
+ * antes que cheguem ao recommendation-service. Falsos positivos apenas deixam passar
+ * uma mídia inexistente, como antes do filtro.
+ * </p>
+ * <p>
+ * O filtro só recebe inserções. Um decremento só é seguro para um id contado exatamente
+ * uma vez, e o tópico traz a mesma mídia várias vezes (versões ainda não compactadas e
+ * republicações); decrementar contadores compartilhados geraria falsos negativos. As
+ * remoções entram quando o filtro é reconstruído do tópico ({@link RebuildableIndex}):
+ * até lá, uma mídia removida continua passando.
+ * </p>
+ * Enquanto a primeira carga não termina, o filtro deixa tudo passar, para não recusar
+ * mídias válidas logo após o deploy.
+ */
+@Slf4j
+@Component
+public class MediaCatalogFilter {
+
+    private final boolean enabled;
+    private final long expectedMedia;
+    private final double falsePositiveRate;
+    private final RebuildableIndex<CountingBloomFilter> current;
+    private final Counter rejections;
+
+    public MediaCatalogFilter(
+            MeterRegistry meterRegistry,
+            @Value("${engagement.media-filter.enabled:true}") boolean enabled,
+            @Value("${engagement.media-filter.expected-media:1000000}") long expectedMedia,
+            @Value("${engagement.media-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.enabled = enabled;
+        this.expectedMedia = expectedMedia;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new RebuildableIndex<>(new CountingBloomFilter(expectedMedia, falsePositiveRate));
+
+        this.rejections = Counter.builder("engagement.media.filter.rejected")
+                .description("Interações recusadas por mídia desconhecida")
+                .register(meterRegistry);
+        Gauge.builder("engagement.media.filter.entries", current, index -> index.read(CountingBloomFilter::entries))
+                .description("Mídias conhecidas pelo filtro")
+                .register(meterRegistry);
+        Gauge.builder("engagement.media.filter.ready", current, index -> index.isReady() ? 1 : 0)
+                .description("1 quando a primeira carga do catálogo terminou")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws UnknownMediaException quando a mídia certamente não existe no catálogo.
+     */
+    public void requireKnown(UUID mediaId) {
+        if (!isKnown(mediaId)) throw new UnknownMediaException("Media " + mediaId + " not found");
+    }
+
+    /**
+     * @return {@code false} apenas quando a mídia certamente não existe no catálogo.
+     */
+    public boolean isKnown(UUID mediaId) {
+        if (!enabled || !current.isReady() || current.read(filter -> filter.mightContain(mediaId))) return true;
+
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Repetir uma mídia só aumenta os contadores dela, o que nunca gera falso negativo.
+     */
+    public void add(UUID mediaId) {
+        current.write(filter -> filter.add(mediaId));
+    }
+
+    /**
+     * Troca o filtro por um novo, preenchido por {@code loader}; o que chega por
+     * {@link #add(UUID)} durante a carga também vale para o novo.
+     */
+    public void rebuild(Consumer<CountingBloomFilter> loader) {
+        long start = System.nanoTime();
+        CountingBloomFilter rebuilt = current.rebuild(() -> {
+            CountingBloomFilter loaded = new CountingBloomFilter(expectedMedia, falsePositiveRate);
+            loader.accept(loaded);
+            return loaded;
+        });
+        if (rebuilt == null) return;
+
+        log.info("Filtro de mídias reconstruído: {} mídias, {} contadores, {} hashes em {} ms",
+                rebuilt.entries(), rebuilt.counters(), rebuilt.hashes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public boolean isReady() {
+        return current.isReady();
+    }
+
+}
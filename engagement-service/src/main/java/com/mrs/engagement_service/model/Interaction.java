@@ -14,8 +14,14 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Interaction {
 
+    /**
+     * Ids alocados por sequência com otimizador pooled: o Hibernate reserva blocos de
+     * {@code allocationSize} ids por chamada ao banco e consegue agrupar os inserts em
+     * lotes JDBC, o que IDENTITY impede.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interaction_seq")
+    @SequenceGenerator(name = "interaction_seq", sequenceName = "interaction_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
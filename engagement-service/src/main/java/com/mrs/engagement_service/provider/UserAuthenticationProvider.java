@@ -0,0 +1,26 @@
+package com.mrs.engagement_service.provider;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Dados do usuário autenticado, lidos do JWT da requisição atual.
+ */
+@Component
+public class UserAuthenticationProvider {
+
+    public UUID getUserId() {
+        String userId = getJwt().getClaim("userId");
+        return UUID.fromString(userId);
+    }
+
+    private Jwt getJwt() {
+        return (Jwt) SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+
+}
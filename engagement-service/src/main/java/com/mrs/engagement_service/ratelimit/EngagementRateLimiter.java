@@ -0,0 +1,123 @@
+package com.mrs.engagement_service.ratelimit;
+
+import com.mrs.engagement_service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita a ingestão por usuário e no total do serviço antes de qualquer trabalho.
+ * <p>
+ * Cada usuário tem o próprio {@link TokenBucket} em um mapa limitado. Buckets cheios
+ * são removidos periodicamente, já que recriá-los dá o mesmo resultado; se o mapa
+ * ainda estiver no limite, usuários novos passam apenas pelo bucket global em vez de
+ * serem recusados. Quando o bucket global recusa, o token já tirado do bucket do usuário
+ * é devolvido, para que uma sobrecarga do serviço não gaste a cota de quem foi recusado.
+ * Lotes são cobrados pela quantidade de interações, não por requisição.
+ * </p>
+ */
+@Component
+public class EngagementRateLimiter {
+
+    private final boolean enabled;
+    private final double userRate;
+    private final int userBurst;
+    private final int maxUsers;
+
+    private final TokenBucket global;
+    private final Map<UUID, TokenBucket> users = new ConcurrentHashMap<>();
+
+    private final Counter userRejections;
+    private final Counter globalRejections;
+
+    public EngagementRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${engagement.rate-limit.enabled:true}") boolean enabled,
+            @Value("${engagement.rate-limit.user.rate:20}") double userRate,
+            @Value("${engagement.rate-limit.user.burst:40}") int userBurst,
+            @Value("${engagement.rate-limit.global.rate:5000}") double globalRate,
+            @Value("${engagement.rate-limit.global.burst:10000}") int globalBurst,
+            @Value("${engagement.rate-limit.max-users:100000}") int maxUsers
+    ) {
+        this.enabled = enabled;
+        this.userRate = userRate;
+        this.userBurst = userBurst;
+        this.maxUsers = maxUsers;
+        this.global = new TokenBucket(globalRate, globalBurst, System.nanoTime());
+
+        this.userRejections = Counter.builder("engagement.rate.limited")
+                .description("Requisições recusadas por limite de taxa")
+                .tag("scope", "user")
+                .register(meterRegistry);
+        this.globalRejections = Counter.builder("engagement.rate.limited")
+                .description("Requisições recusadas por limite de taxa")
+                .tag("scope", "global")
+                .register(meterRegistry);
+        Gauge.builder("engagement.rate.limit.buckets", users, Map::size)
+                .description("Buckets de usuário em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param userId usuário autenticado que fez a requisição.
+     * @throws RateLimitExceededException quando o usuário ou o serviço estão acima do limite.
+     */
+    public void acquire(UUID userId) {
+        acquire(userId, 1);
+    }
+
+    /**
+     * Cobra {@code interactions} de uma vez, para que um lote consuma a mesma cota que as
+     * interações enviadas uma a uma.
+     *
+     * @param userId usuário autenticado que fez a requisição.
+     * @throws RateLimitExceededException quando o usuário ou o serviço estão acima do limite.
+     */
+    public void acquire(UUID userId, int interactions) {
+        if (!enabled || interactions <= 0) return;
+
+        long now = System.nanoTime();
+
+        TokenBucket bucket = bucketFor(userId, now);
+        if (bucket != null) {
+            long wait = bucket.tryAcquire(now, interactions);
+            if (wait > 0) {
+                userRejections.increment();
+                throw new RateLimitExceededException("Too many interactions for this user", retryAfterSeconds(wait));
+            }
+        }
+
+        long wait = global.tryAcquire(now, interactions);
+        if (wait > 0) {
+            if (bucket != null) bucket.refund(interactions);
+            globalRejections.increment();
+            throw new RateLimitExceededException("Too many interactions, retry later", retryAfterSeconds(wait));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.rate-limit.sweep-interval-ms:10000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        users.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket bucketFor(UUID userId, long now) {
+        TokenBucket bucket = users.get(userId);
+        if (bucket != null || users.size() >= maxUsers) return bucket;
+
+        return users.computeIfAbsent(userId, id -> new TokenBucket(userRate, userBurst, now));
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+}
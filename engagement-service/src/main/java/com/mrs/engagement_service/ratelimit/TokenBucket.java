@@ -0,0 +1,80 @@
+package com.mrs.engagement_service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, com todo o estado em um único {@link AtomicLong}.
+ * <p>
+ * Em vez de guardar tokens e horário do último refill separadamente, o bucket guarda o
+ * instante teórico em que ele estaria cheio de novo (formulação GCRA). Consumir um
+ * token avança esse instante em {@code 1 / rate}; a requisição é aceita enquanto o
+ * instante não passar de {@code agora + burst / rate}. Refill é implícito no tempo,
+ * então cada tentativa é uma leitura e, no máximo, um CAS.
+ * </p>
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong fullAtNanos;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        if (tokensPerSecond <= 0 || burst <= 0) throw new IllegalArgumentException("Rate and burst must be positive");
+
+        this.emissionIntervalNanos = Math.max(1, Math.round(1_000_000_000L / tokensPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 se o token foi concedido, ou quantos nanossegundos esperar até haver um.
+     */
+    public long tryAcquire(long nowNanos) {
+        return tryAcquire(nowNanos, 1);
+    }
+
+    /**
+     * Consome {@code permits} tokens de uma vez. Um pedido maior que o burst nunca caberia
+     * no bucket, então é aceito quando o bucket está cheio e o deixa em débito: os pedidos
+     * seguintes esperam até o custo inteiro ser reposto, e a taxa média é mantida.
+     *
+     * @return 0 se os tokens foram concedidos, ou quantos nanossegundos esperar até haver espaço.
+     */
+    public long tryAcquire(long nowNanos, int permits) {
+        long cost = emissionIntervalNanos * permits;
+        long admission = Math.min(cost, burstToleranceNanos);
+
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long start = Math.max(fullAt, nowNanos);
+            long excess = start + admission - nowNanos - burstToleranceNanos;
+
+            if (excess > 0) return excess;
+            if (fullAtNanos.compareAndSet(fullAt, start + cost)) return 0;
+        }
+    }
+
+    /**
+     * Devolve um token concedido por {@link #tryAcquire(long)} quando a requisição acabou
+     * recusada por outro limite.
+     */
+    public void refund() {
+        refund(1);
+    }
+
+    /**
+     * Devolve tokens concedidos por {@link #tryAcquire(long, int)}.
+     */
+    public void refund(int permits) {
+        fullAtNanos.addAndGet(-emissionIntervalNanos * permits);
+    }
+
+    /**
+     * Bucket cheio: removê-lo do mapa não muda o comportamento, pois um novo bucket
+     * começa no mesmo estado.
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAtNanos.get() <= nowNanos;
+    }
+
+}
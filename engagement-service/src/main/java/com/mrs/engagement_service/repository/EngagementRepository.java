@@ -2,6 +2,19 @@ package com.mrs.engagement_service.repository;
 
 import com.mrs.engagement_service.model.Interaction;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 public interface EngagementRepository {
     void save(Interaction interaction);
+
+    void saveAll(List<Interaction> interactions);
+
+    /**
+     * Interações do usuário em ordem decrescente de ({@code timestamp}, {@code id}),
+     * estritamente depois da posição informada, ou desde a mais recente quando
+     * {@code beforeTimestamp} é {@code null}.
+     */
+    List<Interaction> findHistory(UUID userId, LocalDateTime beforeTimestamp, long beforeId, int limit);
 }
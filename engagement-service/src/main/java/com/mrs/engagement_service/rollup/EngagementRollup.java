@@ -0,0 +1,33 @@
+package com.mrs.engagement_service.rollup;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+/**
+ * Contagem de interações de uma mídia ou gênero em um intervalo de tempo.
+ * <p>
+ * Linhas de minuto existem só até serem compactadas em hora e dia pelo
+ * {@link RollupCompactor}. O Hibernate ordena as colunas da chave composta
+ * alfabeticamente, então o índice na ordem das consultas (granularidade, dimensão,
+ * chave e início do intervalo) é criado em {@code schema.sql}; com ele uma série é uma
+ * varredura contígua.
+ * </p>
+ */
+@Entity
+@Table(name = "engagement_rollup")
+@Getter
+public class EngagementRollup {
+
+    @EmbeddedId
+    private EngagementRollupId id;
+
+    private long likes;
+
+    private long dislikes;
+
+    private long watches;
+
+    protected EngagementRollup() {
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.mrs.engagement_service.rollup;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+public class EngagementRollupId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    private RollupGranularity granularity;
+
+    @Enumerated(EnumType.STRING)
+    private RollupDimension dimension;
+
+    private String dimensionKey;
+
+    private LocalDateTime bucketStart;
+
+    protected EngagementRollupId() {
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.mrs.engagement_service.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EngagementRollupRepository extends JpaRepository<EngagementRollup, EngagementRollupId> {
+
+    /**
+     * Uma série no intervalo {@code [from, to)}: lê no máximo uma linha por intervalo.
+     */
+    @Query("""
+            SELECT r FROM EngagementRollup r
+            WHERE r.id.granularity = :granularity AND r.id.dimension = :dimension AND r.id.dimensionKey = :key
+              AND r.id.bucketStart >= :from AND r.id.bucketStart < :to
+            ORDER BY r.id.bucketStart
+            """)
+    List<EngagementRollup> findSeries(
+            @Param("granularity") RollupGranularity granularity,
+            @Param("dimension") RollupDimension dimension,
+            @Param("key") String key,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO engagement_rollup (granularity, dimension, dimension_key, bucket_start, likes, dislikes, watches)
+            VALUES ('MINUTE', 'MEDIA', :mediaId, :bucketStart, :likes, :dislikes, :watches)
+            ON CONFLICT (granularity, dimension, dimension_key, bucket_start) DO UPDATE SET
+                likes = engagement_rollup.likes + excluded.likes,
+                dislikes = engagement_rollup.dislikes + excluded.dislikes,
+                watches = engagement_rollup.watches + excluded.watches
+            """, nativeQuery = true)
+    void addMinute(
+            @Param("mediaId") String mediaId,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("likes") long likes,
+            @Param("dislikes") long dislikes,
+            @Param("watches") long watches
+    );
+
+    /**
+     * Em um único comando: remove os minutos anteriores a {@code cutoff} e soma o
+     * conteúdo deles nas linhas de hora e de dia, por mídia e por gênero (via
+     * {@code media_genre}). Como a soma é incremental, minutos que chegam atrasados
+     * são compactados na execução seguinte sem recalcular nada.
+     *
+     * @return quantidade de linhas de hora e dia inseridas ou atualizadas.
+     */
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM engagement_rollup
+                WHERE granularity = 'MINUTE' AND bucket_start < :cutoff
+                RETURNING dimension_key, bucket_start, likes, dislikes, watches
+            ), expanded AS (
+                SELECT 'MEDIA' AS dimension, m.dimension_key, m.bucket_start, m.likes, m.dislikes, m.watches
+                FROM moved m
+                UNION ALL
+                SELECT 'GENRE', g.genre, m.bucket_start, m.likes, m.dislikes, m.watches
+                FROM moved m JOIN media_genre g ON g.media_id = CAST(m.dimension_key AS uuid)
+            )
+            INSERT INTO engagement_rollup (granularity, dimension, dimension_key, bucket_start, likes, dislikes, watches)
+            SELECT 'HOUR', dimension, dimension_key, date_trunc('hour', bucket_start), sum(likes), sum(dislikes), sum(watches)
+            FROM expanded GROUP BY dimension, dimension_key, date_trunc('hour', bucket_start)
+            UNION ALL
+            SELECT 'DAY', dimension, dimension_key, date_trunc('day', bucket_start), sum(likes), sum(dislikes), sum(watches)
+            FROM expanded GROUP BY dimension, dimension_key, date_trunc('day', bucket_start)
+            ON CONFLICT (granularity, dimension, dimension_key, bucket_start) DO UPDATE SET
+                likes = engagement_rollup.likes + excluded.likes,
+                dislikes = engagement_rollup.dislikes + excluded.dislikes,
+                watches = engagement_rollup.watches + excluded.watches
+            """, nativeQuery = true)
+    int compactMinutes(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM EngagementRollup r WHERE r.id.granularity = :granularity AND r.id.bucketStart < :cutoff")
+    int deleteOlderThan(@Param("granularity") RollupGranularity granularity, @Param("cutoff") LocalDateTime cutoff);
+
+}
@@ -0,0 +1,36 @@
+package com.mrs.engagement_service.rollup;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Gêneros de cada mídia, copiados dos eventos do catálogo para agregar rollups por
+ * gênero sem consultar o catalog-service.
+ */
+@Entity
+@Table(name = "media_genre")
+@IdClass(MediaGenre.Key.class)
+@Getter
+public class MediaGenre {
+
+    @Id
+    private UUID mediaId;
+
+    @Id
+    private String genre;
+
+    protected MediaGenre() {
+    }
+
+    public MediaGenre(UUID mediaId, String genre) {
+        this.mediaId = mediaId;
+        this.genre = genre;
+    }
+
+    public record Key(UUID mediaId, String genre) implements Serializable {
+    }
+
+}
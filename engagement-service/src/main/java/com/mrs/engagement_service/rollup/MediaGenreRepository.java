@@ -0,0 +1,18 @@
+package com.mrs.engagement_service.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface MediaGenreRepository extends JpaRepository<MediaGenre, MediaGenre.Key> {
+
+    @Modifying
+    @Query("DELETE FROM MediaGenre g WHERE g.mediaId = :mediaId")
+    void deleteByMediaId(@Param("mediaId") UUID mediaId);
+
+}
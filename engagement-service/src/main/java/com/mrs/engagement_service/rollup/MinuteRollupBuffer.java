@@ -0,0 +1,115 @@
+package com.mrs.engagement_service.rollup;
+
+import com.mrs.engagement_service.ingestion.CommittedInteractionListener;
+import com.mrs.engagement_service.model.Interaction;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acumula as interações confirmadas em intervalos de um minuto por mídia, pelo horário
+ * da interação, e grava os deltas periodicamente em {@code engagement_rollup}.
+ * <p>
+ * Cada célula só é alterada dentro de {@code compute} e sai do mapa com {@code remove},
+ * ambos atômicos por chave, então o flush nunca perde um incremento concorrente. Uma
+ * interação atrasada (por exemplo, liberada por uma janela de coalescência) cai no
+ * minuto em que aconteceu e é somada à linha existente.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MinuteRollupBuffer implements CommittedInteractionListener {
+
+    private final EngagementRollupRepository engagementRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<MinuteKey, long[]> minutes = new ConcurrentHashMap<>();
+
+    public MinuteRollupBuffer(
+            EngagementRollupRepository engagementRollupRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.engagementRollupRepository = engagementRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        Gauge.builder("engagement.rollup.pending.buckets", minutes, Map::size)
+                .description("Intervalos de minuto ainda não gravados")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onCommitted(List<Interaction> interactions) {
+        for (Interaction interaction : interactions) {
+            MinuteKey key = new MinuteKey(interaction.getMediaId(), RollupGranularity.MINUTE.truncate(interaction.getTimestamp()));
+            int slot = switch (interaction.getType()) {
+                case LIKE -> 0;
+                case DISLIKE -> 1;
+                case WATCH -> 2;
+            };
+
+            minutes.compute(key, (k, counts) -> {
+                if (counts == null) counts = new long[3];
+                counts[slot]++;
+                return counts;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        List<MinuteKey> keys = new ArrayList<>();
+        List<long[]> counts = new ArrayList<>();
+
+        for (MinuteKey key : minutes.keySet()) {
+            long[] removed = minutes.remove(key);
+            if (removed == null) continue;
+
+            keys.add(key);
+            counts.add(removed);
+        }
+        if (keys.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    long[] delta = counts.get(i);
+                    engagementRollupRepository.addMinute(keys.get(i).mediaId().toString(), keys.get(i).minute(), delta[0], delta[1], delta[2]);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Erro ao gravar {} intervalos de minuto: {}", keys.size(), e.getMessage(), e);
+            for (int i = 0; i < keys.size(); i++) {
+                long[] delta = counts.get(i);
+                minutes.merge(keys.get(i), delta, (current, restored) -> {
+                    for (int slot = 0; slot < current.length; slot++) current[slot] += restored[slot];
+                    return current;
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush();
+    }
+
+    int pending() {
+        return minutes.size();
+    }
+
+    private record MinuteKey(UUID mediaId, LocalDateTime minute) {
+    }
+
+}
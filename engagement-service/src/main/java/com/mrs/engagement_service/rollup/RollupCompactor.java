@@ -0,0 +1,74 @@
+package com.mrs.engagement_service.rollup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Compacta os minutos fechados em intervalos de hora e dia e aplica a retenção das
+ * horas; os dias são mantidos.
+ * <p>
+ * Um minuto só é compactado depois de {@code grace} além do seu fim, para que os flushes
+ * das instâncias tenham chegado. Várias instâncias podem compactar ao mesmo tempo: o
+ * {@code DELETE ... RETURNING} garante que cada minuto é somado uma única vez.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RollupCompactor {
+
+    private final EngagementRollupRepository engagementRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Timer compaction;
+
+    @Value("${engagement.rollup.grace-ms:120000}")
+    private long graceMs;
+
+    @Value("${engagement.rollup.hour-retention-days:90}")
+    private int hourRetentionDays;
+
+    @Autowired
+    public RollupCompactor(EngagementRollupRepository engagementRollupRepository, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this(engagementRollupRepository, transactionTemplate, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    RollupCompactor(EngagementRollupRepository engagementRollupRepository, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry, Clock clock) {
+        this.engagementRollupRepository = engagementRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.compaction = Timer.builder("engagement.rollup.compaction")
+                .description("Tempo de cada compactação de minutos em horas e dias")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.rollup.compaction-interval-ms:60000}")
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime cutoff = RollupGranularity.MINUTE.truncate(now.minus(Duration.ofMillis(graceMs)));
+        LocalDateTime hourRetention = RollupGranularity.DAY.truncate(now.minusDays(hourRetentionDays));
+
+        try {
+            compaction.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                int buckets = engagementRollupRepository.compactMinutes(cutoff);
+                int expired = engagementRollupRepository.deleteOlderThan(RollupGranularity.HOUR, hourRetention);
+
+                if (buckets > 0 || expired > 0) {
+                    log.debug("Rollups compactados até {}: {} intervalos de hora/dia, {} horas expiradas", cutoff, buckets, expired);
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.error("Erro ao compactar rollups: {}", e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.mrs.engagement_service.rollup;
+
+public enum RollupDimension {
+    MEDIA,
+    GENRE
+}
@@ -0,0 +1,26 @@
+package com.mrs.engagement_service.rollup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    public Duration bucket() {
+        return unit.getDuration();
+    }
+
+}
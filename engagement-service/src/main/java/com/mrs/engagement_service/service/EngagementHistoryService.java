@@ -0,0 +1,69 @@
+package com.mrs.engagement_service.service;
+
+import com.mrs.engagement_service.dto.InteractionHistoryResponse;
+import com.mrs.engagement_service.history.HistoryCursor;
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.repository.EngagementRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Histórico de interações de um usuário, paginado por cursor (keyset) em vez de
+ * offset: cada página é uma varredura de índice a partir da posição anterior.
+ */
+@Service
+public class EngagementHistoryService {
+
+    private final EngagementRepository engagementRepository;
+
+    @Value("${engagement.history.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${engagement.history.max-page-size:500}")
+    private int maxPageSize;
+
+    public EngagementHistoryService(EngagementRepository engagementRepository) {
+        this.engagementRepository = engagementRepository;
+    }
+
+    public InteractionHistoryResponse history(UUID userId, String cursor, Integer limit) {
+        if (userId == null) throw new IllegalArgumentException("User id can't be null");
+
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize <= 0 || pageSize > maxPageSize) throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+
+        // Um item a mais indica se existe próxima página sem um COUNT.
+        List<Interaction> page = after == null
+                ? engagementRepository.findHistory(userId, null, 0, pageSize + 1)
+                : engagementRepository.findHistory(userId, after.timestamp(), after.id(), pageSize + 1);
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            Interaction last = page.getLast();
+            nextCursor = new HistoryCursor(last.getTimestamp(), last.getId()).encode();
+        }
+
+        List<InteractionHistoryResponse.Item> items = page.stream()
+                .map(EngagementHistoryService::toItem)
+                .toList();
+
+        return new InteractionHistoryResponse(userId, items, nextCursor);
+    }
+
+    private static InteractionHistoryResponse.Item toItem(Interaction interaction) {
+        return new InteractionHistoryResponse.Item(
+                interaction.getId(),
+                interaction.getMediaId(),
+                interaction.getType(),
+                interaction.getInteractionValue(),
+                interaction.getTimestamp()
+        );
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.mrs.engagement_service.service;
+
+import com.mrs.engagement_service.dto.TimelineResponse;
+import com.mrs.engagement_service.rollup.EngagementRollup;
+import com.mrs.engagement_service.rollup.EngagementRollupRepository;
+import com.mrs.engagement_service.rollup.RollupDimension;
+import com.mrs.engagement_service.rollup.RollupGranularity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Séries de engajamento por hora ou dia, lidas apenas dos rollups.
+ * <p>
+ * O intervalo é alinhado à granularidade e limitado a {@code max-buckets} intervalos,
+ * então uma consulta lê no máximo essa quantidade de linhas (30 dias por hora = 720).
+ * A série reflete o que já foi compactado: fica atrás do ingest por até o flush, a
+ * carência e o intervalo de compactação somados.
+ * </p>
+ */
+@Service
+public class EngagementRollupService {
+
+    private final EngagementRollupRepository engagementRollupRepository;
+
+    @Value("${engagement.rollup.max-buckets:744}")
+    private int maxBuckets;
+
+    public EngagementRollupService(EngagementRollupRepository engagementRollupRepository) {
+        this.engagementRollupRepository = engagementRollupRepository;
+    }
+
+    public TimelineResponse timeline(RollupDimension dimension, String key, RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (key == null || key.isBlank()) throw new IllegalArgumentException("Key can't be blank");
+        if (granularity == RollupGranularity.MINUTE) throw new IllegalArgumentException("Granularity must be HOUR or DAY");
+
+        LocalDateTime end = granularity.truncate(to != null ? to : LocalDateTime.now()).plus(granularity.bucket());
+        LocalDateTime start = granularity.truncate(from != null ? from : end.minus(granularity.bucket().multipliedBy(defaultBuckets(granularity))));
+
+        if (!start.isBefore(end)) throw new IllegalArgumentException("'from' must be before 'to'");
+        if (Duration.between(start, end).compareTo(granularity.bucket().multipliedBy(maxBuckets)) > 0) {
+            throw new IllegalArgumentException("Range exceeds the limit of " + maxBuckets + " buckets");
+        }
+
+        List<TimelineResponse.Point> points = engagementRollupRepository.findSeries(granularity, dimension, key, start, end).stream()
+                .map(EngagementRollupService::toPoint)
+                .toList();
+
+        return new TimelineResponse(dimension, key, granularity, start, end, points);
+    }
+
+    private static long defaultBuckets(RollupGranularity granularity) {
+        return granularity == RollupGranularity.HOUR ? 24 : 30;
+    }
+
+    private static TimelineResponse.Point toPoint(EngagementRollup rollup) {
+        return new TimelineResponse.Point(rollup.getId().getBucketStart(), rollup.getLikes(), rollup.getDislikes(), rollup.getWatches());
+    }
+
+}
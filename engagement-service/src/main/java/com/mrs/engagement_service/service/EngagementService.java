@@ -1,31 +1,171 @@
 package com.mrs.engagement_service.service;
 
+import com.mrs.engagement_service.coalescing.InteractionCoalescer;
 import com.mrs.engagement_service.dto.InteractionCreateRequest;
+import com.mrs.engagement_service.dto.MediaStatsResponse;
+import com.mrs.engagement_service.exception.UnknownMediaException;
+import com.mrs.engagement_service.handler.CreateEngagementBatchHandler;
 import com.mrs.engagement_service.handler.CreateEngagementHandler;
+import com.mrs.engagement_service.ingestion.GroupCommitIngestion;
+import com.mrs.engagement_service.mediacatalog.MediaCatalogFilter;
 import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.stats.MediaEngagementCounters;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class EngagementService {
 
     private final CreateEngagementHandler createEngagementHandler;
 
-    public EngagementService(CreateEngagementHandler createEngagementHandler) {
+    private final CreateEngagementBatchHandler createEngagementBatchHandler;
+
+    private final Validator validator;
+
+    private final JsonMapper jsonMapper;
+
+    private final Optional<GroupCommitIngestion> groupCommitIngestion;
+
+    private final InteractionCoalescer interactionCoalescer;
+
+    private final MediaCatalogFilter mediaCatalogFilter;
+
+    private final MediaEngagementCounters mediaEngagementCounters;
+
+    @Value("${engagement.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    public EngagementService(
+            CreateEngagementHandler createEngagementHandler,
+            CreateEngagementBatchHandler createEngagementBatchHandler,
+            Validator validator,
+            JsonMapper jsonMapper,
+            Optional<GroupCommitIngestion> groupCommitIngestion,
+            InteractionCoalescer interactionCoalescer,
+            MediaCatalogFilter mediaCatalogFilter,
+            MediaEngagementCounters mediaEngagementCounters
+    ) {
         this.createEngagementHandler = createEngagementHandler;
+        this.createEngagementBatchHandler = createEngagementBatchHandler;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.groupCommitIngestion = groupCommitIngestion;
+        this.interactionCoalescer = interactionCoalescer;
+        this.mediaCatalogFilter = mediaCatalogFilter;
+        this.mediaEngagementCounters = mediaEngagementCounters;
     }
 
-    public void create(InteractionCreateRequest interactionCreateRequest){
-        Interaction interaction = new Interaction(
-                interactionCreateRequest.userId(),
-                interactionCreateRequest.mediaId(),
-                interactionCreateRequest.type(),
-                interactionCreateRequest.interactionValue(),
-                LocalDateTime.now()
-        );
+    /**
+     * @return {@code false} quando a interação foi absorvida por uma janela de
+     * coalescência e só será gravada quando a janela fechar.
+     */
+    public boolean create(InteractionCreateRequest interactionCreateRequest){
+        mediaCatalogFilter.requireKnown(interactionCreateRequest.mediaId());
+
+        Interaction interaction = toInteraction(interactionCreateRequest, LocalDateTime.now());
+
+        if (interactionCoalescer.offer(interaction)) return false;
+
+        if (groupCommitIngestion.isPresent()) {
+            groupCommitIngestion.get().submit(interaction);
+            return true;
+        }
 
         createEngagementHandler.handler(interaction);
+        return true;
+    }
+
+    /**
+     * Registra um lote de interações. O lote inteiro é validado antes de qualquer
+     * escrita: um item inválido ou com mídia desconhecida rejeita a requisição sem
+     * persistir nada.
+     *
+     * @return quantidade de interações registradas.
+     */
+    public int createBatch(List<InteractionCreateRequest> requests) {
+        if (requests == null || requests.isEmpty()) throw new IllegalArgumentException("Batch can't be empty");
+        if (requests.size() > batchMaxSize) throw new IllegalArgumentException("Batch exceeds the limit of " + batchMaxSize + " interactions");
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Interaction> interactions = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            InteractionCreateRequest request = requests.get(i);
+            validate(request, i);
+            requireKnownMedia(request, i);
+            interactions.add(toInteraction(request, now));
+        }
+
+        createEngagementBatchHandler.handler(interactions);
+        return interactions.size();
+    }
+
+    /**
+     * Lê um corpo NDJSON (um objeto JSON por linha) sem materializar o texto inteiro,
+     * parando assim que o limite do lote é ultrapassado.
+     */
+    public List<InteractionCreateRequest> readBatch(InputStream ndjson) {
+        List<InteractionCreateRequest> requests = new ArrayList<>();
+
+        try (MappingIterator<InteractionCreateRequest> lines = jsonMapper.readerFor(InteractionCreateRequest.class).readValues(ndjson)) {
+            while (lines.hasNextValue()) {
+                if (requests.size() == batchMaxSize) throw new IllegalArgumentException("Batch exceeds the limit of " + batchMaxSize + " interactions");
+                requests.add(lines.nextValue());
+            }
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed NDJSON at line " + (requests.size() + 1) + ": " + e.getOriginalMessage());
+        }
+
+        return requests;
+    }
+
+    public MediaStatsResponse getMediaStats(UUID mediaId) {
+        if (mediaId == null) throw new IllegalArgumentException("Media id can't be null");
+
+        return mediaEngagementCounters.stats(mediaId);
+    }
+
+    private void validate(InteractionCreateRequest request, int index) {
+        if (request == null) throw new IllegalArgumentException("Interaction at index " + index + " can't be null");
+
+        Set<ConstraintViolation<InteractionCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String fields = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("Invalid interaction at index " + index + ": " + fields);
+        }
+    }
+
+    private void requireKnownMedia(InteractionCreateRequest request, int index) {
+        if (!mediaCatalogFilter.isKnown(request.mediaId())) {
+            throw new UnknownMediaException("Unknown media at index " + index + ": " + request.mediaId());
+        }
+    }
+
+    private static Interaction toInteraction(InteractionCreateRequest request, LocalDateTime timestamp) {
+        return new Interaction(
+                request.userId(),
+                request.mediaId(),
+                request.type(),
+                request.interactionValue(),
+                timestamp
+        );
     }
 
 }
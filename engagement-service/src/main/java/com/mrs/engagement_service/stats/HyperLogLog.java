@@ -0,0 +1,121 @@
+package com.mrs.engagement_service.stats;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+
+/**
+ * Contador aproximado de elementos distintos (HyperLogLog) com {@code 2^precision}
+ * registradores de um byte.
+ * <p>
+ * O erro padrão é {@code 1.04 / sqrt(2^precision)}: com a precisão padrão (11) são
+ * 2 KiB por sketch e cerca de 2,3% de erro. Os registradores só crescem e são alterados
+ * por CAS, então {@link #add(UUID)} e {@link #merge(byte[])} podem ser chamados de várias
+ * threads; unir dois sketches é tirar o máximo de cada registrador.
+ * </p>
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 11;
+
+    private static final VarHandle REGISTER = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) throw new IllegalArgumentException("Precision must be between 4 and 16");
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Reconstrói um sketch gravado por {@link #toBytes()}.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || Integer.bitCount(bytes.length) != 1) {
+            throw new IllegalArgumentException("Invalid HyperLogLog sketch");
+        }
+
+        HyperLogLog sketch = new HyperLogLog(Integer.numberOfTrailingZeros(bytes.length));
+        sketch.merge(bytes);
+        return sketch;
+    }
+
+    public void add(UUID id) {
+        long hash = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+
+        raise(index, (byte) rank);
+    }
+
+    /**
+     * Une outro sketch de mesma precisão a este.
+     */
+    public void merge(byte[] other) {
+        if (other.length != registers.length) throw new IllegalArgumentException("Sketches must have the same precision");
+
+        for (int i = 0; i < other.length; i++) {
+            raise(i, other[i]);
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+
+        for (int i = 0; i < m; i++) {
+            byte register = (byte) REGISTER.getVolatile(registers, i);
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) zeros++;
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        byte[] copy = new byte[registers.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = (byte) REGISTER.getVolatile(registers, i);
+        }
+        return copy;
+    }
+
+    private void raise(int index, byte value) {
+        byte current = (byte) REGISTER.getVolatile(registers, index);
+        while (current < value && !REGISTER.compareAndSet(registers, index, current, value)) {
+            current = (byte) REGISTER.getVolatile(registers, index);
+        }
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
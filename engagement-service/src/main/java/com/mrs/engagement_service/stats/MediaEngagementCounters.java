@@ -0,0 +1,317 @@
+package com.mrs.engagement_service.stats;
+
+import com.mrs.engagement_service.dto.MediaStatsResponse;
+import com.mrs.engagement_service.ingestion.CommittedInteractionListener;
+import com.mrs.engagement_service.model.Interaction;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de engajamento por mídia (likes, dislikes, watches e usuários únicos).
+ * <p>
+ * Cada interação confirmada soma em {@link LongAdder}s e em um {@link HyperLogLog} da
+ * mídia, sem locks no caminho de escrita. Um agendamento grava os deltas acumulados em
+ * {@code media_engagement_stats} com upserts, em lotes, de modo que o total por mídia
+ * nunca exige {@code COUNT(*)} sobre {@code interaction}. As leituras somam o total já
+ * gravado com o delta pendente, em memória; só a primeira leitura de uma mídia fria vai
+ * ao banco, por chave primária.
+ * </p>
+ * Mídias sem escrita pendente e sem acesso por {@code idle-ttl-ms} saem da memória.
+ */
+@Slf4j
+@Component
+public class MediaEngagementCounters implements CommittedInteractionListener {
+
+    private final MediaEngagementStatsRepository mediaEngagementStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxMedia;
+    private final int flushBatchSize;
+    private final long idleTtlNanos;
+
+    private final Map<UUID, MediaCounters> media = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+
+    public MediaEngagementCounters(
+            MediaEngagementStatsRepository mediaEngagementStatsRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${engagement.media-stats.max-media:100000}") int maxMedia,
+            @Value("${engagement.media-stats.flush-batch-size:500}") int flushBatchSize,
+            @Value("${engagement.media-stats.idle-ttl-ms:600000}") long idleTtlMs
+    ) {
+        if (flushBatchSize <= 0) throw new IllegalArgumentException("Flush batch size must be positive");
+
+        this.mediaEngagementStatsRepository = mediaEngagementStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxMedia = maxMedia;
+        this.flushBatchSize = flushBatchSize;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMs);
+
+        this.flushTimer = Timer.builder("engagement.media.stats.flush")
+                .description("Tempo de cada gravação dos contadores por mídia")
+                .register(meterRegistry);
+        Gauge.builder("engagement.media.stats.tracked", media, Map::size)
+                .description("Mídias com contadores em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onCommitted(List<Interaction> interactions) {
+        for (Interaction interaction : interactions) {
+            record(interaction);
+        }
+    }
+
+    public MediaStatsResponse stats(UUID mediaId) {
+        MediaCounters counters = media.get(mediaId);
+
+        if (counters == null) {
+            Optional<MediaEngagementStats> row = mediaEngagementStatsRepository.findById(mediaId);
+            if (media.size() >= maxMedia) {
+                return row.map(MediaEngagementCounters::toResponse).orElseGet(() -> MediaStatsResponse.empty(mediaId));
+            }
+
+            counters = media.computeIfAbsent(mediaId, id -> new MediaCounters());
+            counters.load(row);
+        } else if (!counters.loaded) {
+            counters.load(mediaEngagementStatsRepository.findById(mediaId));
+        }
+
+        return counters.snapshot(mediaId);
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.media-stats.flush-interval-ms:5000}")
+    public void flush() {
+        List<UUID> dirty = media.entrySet().stream()
+                .filter(entry -> entry.getValue().dirty.get())
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+
+        for (int from = 0; from < dirty.size(); from += flushBatchSize) {
+            List<UUID> batch = dirty.subList(from, Math.min(from + flushBatchSize, dirty.size()));
+            flushTimer.record(() -> flushBatch(batch));
+        }
+
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush();
+    }
+
+    int tracked() {
+        return media.size();
+    }
+
+    private void record(Interaction interaction) {
+        while (true) {
+            MediaCounters counters = media.computeIfAbsent(interaction.getMediaId(), id -> new MediaCounters());
+
+            counters.writers.increment();
+            try {
+                if (counters.retired) continue;
+
+                counters.add(interaction);
+                return;
+            } finally {
+                counters.writers.decrement();
+            }
+        }
+    }
+
+    private void flushBatch(List<UUID> mediaIds) {
+        List<MediaCounters> batch = new ArrayList<>(mediaIds.size());
+        List<Delta> deltas = new ArrayList<>(mediaIds.size());
+
+        for (UUID mediaId : mediaIds) {
+            MediaCounters counters = media.get(mediaId);
+            if (counters == null) continue;
+
+            batch.add(counters);
+            deltas.add(counters.take(mediaId));
+        }
+
+        try {
+            List<Delta> totals = transactionTemplate.execute(status -> upsert(batch, deltas));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).persisted(totals.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro ao gravar contadores de {} mídias: {}", batch.size(), e.getMessage(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).restore(deltas.get(i));
+            }
+        }
+    }
+
+    private List<Delta> upsert(List<MediaCounters> batch, List<Delta> deltas) {
+        Map<UUID, MediaEngagementStats> rows = new HashMap<>();
+        for (MediaEngagementStats row : mediaEngagementStatsRepository.lockAll(deltas.stream().map(Delta::mediaId).toList())) {
+            rows.put(row.getMediaId(), row);
+        }
+
+        Instant now = Instant.now();
+        List<Delta> totals = new ArrayList<>(deltas.size());
+
+        for (int i = 0; i < deltas.size(); i++) {
+            Delta delta = deltas.get(i);
+            HyperLogLog users = batch.get(i).users;
+            MediaEngagementStats row = rows.get(delta.mediaId());
+
+            if (row != null && row.getUniqueUsersSketch() != null) users.merge(row.getUniqueUsersSketch());
+
+            mediaEngagementStatsRepository.upsert(
+                    delta.mediaId(), delta.likes(), delta.dislikes(), delta.watches(),
+                    users.estimate(), users.toBytes(), now
+            );
+
+            totals.add(row == null ? delta : new Delta(
+                    delta.mediaId(),
+                    row.getLikes() + delta.likes(),
+                    row.getDislikes() + delta.dislikes(),
+                    row.getWatches() + delta.watches()
+            ));
+        }
+
+        return totals;
+    }
+
+    /**
+     * Remove mídias ociosas. Marcar como aposentada antes de conferir escritores em
+     * andamento garante que ou a remoção desiste, ou o escritor percebe e recomeça em
+     * uma entrada nova: nenhuma interação é contada em uma entrada já descartada.
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+
+        for (UUID mediaId : media.keySet()) {
+            media.computeIfPresent(mediaId, (id, counters) -> {
+                if (counters.dirty.get() || now - counters.lastAccess < idleTtlNanos) return counters;
+
+                counters.retired = true;
+                if (counters.writers.sum() != 0 || counters.dirty.get()) {
+                    counters.retired = false;
+                    return counters;
+                }
+                return null;
+            });
+        }
+    }
+
+    private static MediaStatsResponse toResponse(MediaEngagementStats row) {
+        return new MediaStatsResponse(row.getMediaId(), row.getLikes(), row.getDislikes(), row.getWatches(), row.getUniqueUsers());
+    }
+
+    private record Delta(UUID mediaId, long likes, long dislikes, long watches) {
+    }
+
+    private static final class MediaCounters {
+
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder dislikes = new LongAdder();
+        private final LongAdder watches = new LongAdder();
+        private final HyperLogLog users = new HyperLogLog();
+
+        private final LongAdder writers = new LongAdder();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        private volatile boolean retired;
+        private volatile boolean loaded;
+        private volatile long lastAccess = System.nanoTime();
+
+        private volatile long persistedLikes;
+        private volatile long persistedDislikes;
+        private volatile long persistedWatches;
+
+        void add(Interaction interaction) {
+            switch (interaction.getType()) {
+                case LIKE -> likes.increment();
+                case DISLIKE -> dislikes.increment();
+                case WATCH -> watches.increment();
+            }
+            users.add(interaction.getUserId());
+
+            if (!dirty.get()) dirty.set(true);
+            lastAccess = System.nanoTime();
+        }
+
+        /**
+         * Retira o delta pendente. Somar o negativo, em vez de {@code sumThenReset},
+         * não perde incrementos concorrentes.
+         */
+        Delta take(UUID mediaId) {
+            dirty.set(false);
+
+            long l = likes.sum();
+            long d = dislikes.sum();
+            long w = watches.sum();
+            likes.add(-l);
+            dislikes.add(-d);
+            watches.add(-w);
+
+            return new Delta(mediaId, l, d, w);
+        }
+
+        void restore(Delta delta) {
+            likes.add(delta.likes());
+            dislikes.add(delta.dislikes());
+            watches.add(delta.watches());
+            dirty.set(true);
+        }
+
+        synchronized void persisted(Delta totals) {
+            persistedLikes = totals.likes();
+            persistedDislikes = totals.dislikes();
+            persistedWatches = totals.watches();
+            loaded = true;
+        }
+
+        synchronized void load(Optional<MediaEngagementStats> row) {
+            if (loaded) return;
+
+            row.ifPresent(stats -> {
+                persistedLikes = stats.getLikes();
+                persistedDislikes = stats.getDislikes();
+                persistedWatches = stats.getWatches();
+                if (stats.getUniqueUsersSketch() != null) users.merge(stats.getUniqueUsersSketch());
+            });
+            loaded = true;
+        }
+
+        MediaStatsResponse snapshot(UUID mediaId) {
+            lastAccess = System.nanoTime();
+
+            return new MediaStatsResponse(
+                    mediaId,
+                    persistedLikes + likes.sum(),
+                    persistedDislikes + dislikes.sum(),
+                    persistedWatches + watches.sum(),
+                    users.estimate()
+            );
+        }
+
+    }
+
+}
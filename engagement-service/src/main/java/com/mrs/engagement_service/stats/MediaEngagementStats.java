@@ -0,0 +1,40 @@
+package com.mrs.engagement_service.stats;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Totais de engajamento por mídia, mantidos por upserts periódicos do
+ * {@link MediaEngagementCounters} em vez de {@code COUNT(*)} sobre {@code interaction}.
+ */
+@Entity
+@Table(name = "media_engagement_stats")
+@Getter
+public class MediaEngagementStats {
+
+    @Id
+    private UUID mediaId;
+
+    private long likes;
+
+    private long dislikes;
+
+    private long watches;
+
+    /**
+     * Estimativa gravada junto com o sketch, para consultas SQL que não o decodificam.
+     */
+    private long uniqueUsers;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] uniqueUsersSketch;
+
+    private Instant updatedAt;
+
+    protected MediaEngagementStats() {
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.mrs.engagement_service.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MediaEngagementStatsRepository extends JpaRepository<MediaEngagementStats, UUID> {
+
+    /**
+     * Trava as linhas existentes do lote, sempre na mesma ordem para que instâncias
+     * concorrentes não entrem em deadlock.
+     */
+    @Query(value = "SELECT * FROM media_engagement_stats WHERE media_id IN (:mediaIds) ORDER BY media_id FOR UPDATE", nativeQuery = true)
+    List<MediaEngagementStats> lockAll(@Param("mediaIds") Collection<UUID> mediaIds);
+
+    /**
+     * Soma os deltas aos contadores; o sketch recebido já contém a união com o gravado.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO media_engagement_stats (media_id, likes, dislikes, watches, unique_users, unique_users_sketch, updated_at)
+            VALUES (:mediaId, :likes, :dislikes, :watches, :uniqueUsers, :sketch, :updatedAt)
+            ON CONFLICT (media_id) DO UPDATE SET
+                likes = media_engagement_stats.likes + excluded.likes,
+                dislikes = media_engagement_stats.dislikes + excluded.dislikes,
+                watches = media_engagement_stats.watches + excluded.watches,
+                unique_users = excluded.unique_users,
+                unique_users_sketch = excluded.unique_users_sketch,
+                updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    void upsert(
+            @Param("mediaId") UUID mediaId,
+            @Param("likes") long likes,
+            @Param("dislikes") long dislikes,
+            @Param("watches") long watches,
+            @Param("uniqueUsers") long uniqueUsers,
+            @Param("sketch") byte[] sketch,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+}
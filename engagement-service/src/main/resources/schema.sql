@@ -0,0 +1,78 @@
+-- Executado depois do ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization),
+-- como um único comando (spring.sql.init.separator), por causa dos blocos PL/pgSQL.
+
+-- A chave primária de engagement_rollup segue a ordem alfabética do Hibernate; este índice
+-- segue a ordem das consultas de série (ver EngagementRollup).
+CREATE UNIQUE INDEX IF NOT EXISTS ux_engagement_rollup_series
+    ON engagement_rollup (granularity, dimension, dimension_key, bucket_start);
+
+-- interaction é particionada por mês de "timestamp", em partições interaction_pAAAAMM.
+
+-- Cria as partições mensais que cobrem [from_ts, to_ts] e ainda não existem.
+CREATE OR REPLACE FUNCTION ensure_interaction_partitions(from_ts timestamp, to_ts timestamp) RETURNS integer AS $$
+DECLARE
+    month timestamp := date_trunc('month', from_ts);
+    partition text;
+    created integer := 0;
+BEGIN
+    WHILE month <= to_ts LOOP
+        partition := 'interaction_p' || to_char(month, 'YYYYMM');
+        IF to_regclass(partition) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF interaction FOR VALUES FROM (%L) TO (%L)',
+                           partition, month, month + interval '1 month');
+            created := created + 1;
+        END IF;
+        month := month + interval '1 month';
+    END LOOP;
+    RETURN created;
+END
+$$ LANGUAGE plpgsql;
+
+-- Remove as partições inteiramente anteriores a cutoff e devolve seus nomes.
+CREATE OR REPLACE FUNCTION drop_interaction_partitions_before(cutoff timestamp) RETURNS SETOF text AS $$
+DECLARE
+    partition text;
+BEGIN
+    FOR partition IN
+        SELECT c.relname
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'interaction'::regclass
+          AND c.relname ~ '^interaction_p[0-9]{6}$'
+          AND to_date(substr(c.relname, 14), 'YYYYMM') + interval '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('DROP TABLE %I', partition);
+        RETURN NEXT partition;
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+-- Converte a tabela criada pelo Hibernate (ou herdada de versões anteriores) em
+-- particionada. A chave primária precisa incluir a coluna de particionamento.
+DO $$
+DECLARE
+    oldest timestamp;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('interaction')) = 'r' THEN
+        ALTER TABLE interaction RENAME TO interaction_unpartitioned;
+        ALTER TABLE interaction_unpartitioned DROP CONSTRAINT IF EXISTS interaction_pkey;
+
+        CREATE TABLE interaction (
+            LIKE interaction_unpartitioned INCLUDING DEFAULTS,
+            PRIMARY KEY (id, "timestamp")
+        ) PARTITION BY RANGE ("timestamp");
+
+        SELECT min("timestamp") INTO oldest FROM interaction_unpartitioned;
+        PERFORM ensure_interaction_partitions(coalesce(oldest, localtimestamp), localtimestamp);
+
+        INSERT INTO interaction SELECT * FROM interaction_unpartitioned;
+        DROP TABLE interaction_unpartitioned;
+    END IF;
+END
+$$;
+
+SELECT ensure_interaction_partitions(localtimestamp, localtimestamp + interval '1 month');
+
+-- Histórico por usuário em ordem decrescente, na mesma ordem do cursor de paginação.
+CREATE INDEX IF NOT EXISTS ix_interaction_user_history
+    ON interaction (user_id, "timestamp" DESC, id DESC);
@@ -0,0 +1,176 @@
+package com.mrs.engagement_service.coalescing;
+
+import com.mrs.engagement_service.handler.CreateEngagementBatchHandler;
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.model.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionCoalescerTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID MEDIA_ID = UUID.randomUUID();
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private CreateEngagementBatchHandler createEngagementBatchHandler;
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Deve emitir uma única interação com o maior valor quando a janela fechar")
+    void flushExpired_ShouldEmitSingleInteractionWithMaxValue_WhenPolicyIsMax() {
+        // Arrange
+        InteractionCoalescer coalescer = coalescer(CoalescingPolicy.MAX);
+        coalescer.offer(watch(0.2, START));
+        coalescer.offer(watch(0.7, START.plusSeconds(5)));
+        coalescer.offer(watch(0.5, START.plusSeconds(10)));
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+        coalescer.flushExpired();
+
+        // Assert
+        Interaction emitted = singleEmitted();
+        assertThat(emitted.getInteractionValue()).isEqualTo(0.7);
+        assertThat(emitted.getTimestamp()).isEqualTo(START.plusSeconds(10));
+        assertThat(coalescer.openWindows()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter o valor do relato mais recente quando a política for LATEST")
+    void flushExpired_ShouldKeepLatestValue_WhenPolicyIsLatest() {
+        // Arrange
+        InteractionCoalescer coalescer = coalescer(CoalescingPolicy.LATEST);
+        coalescer.offer(watch(0.9, START));
+        coalescer.offer(watch(0.3, START.plusSeconds(5)));
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+        coalescer.flushExpired();
+
+        // Assert
+        assertThat(singleEmitted().getInteractionValue()).isEqualTo(0.3);
+    }
+
+    @Test
+    @DisplayName("Não deve emitir nada enquanto a janela estiver aberta")
+    void flushExpired_ShouldNotEmit_WhenWindowIsOpen() {
+        // Arrange
+        InteractionCoalescer coalescer = coalescer(CoalescingPolicy.MAX);
+        coalescer.offer(watch(0.2, START));
+
+        // Act
+        clock.advance(Duration.ofSeconds(10));
+        coalescer.flushExpired();
+
+        // Assert
+        verifyNoInteractions(createEngagementBatchHandler);
+        assertThat(coalescer.openWindows()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve reenviar as janelas no próximo ciclo quando a gravação falhar")
+    @SuppressWarnings("unchecked")
+    void flushExpired_ShouldRetryClosedWindows_WhenBatchWriteFails() {
+        // Arrange
+        InteractionCoalescer coalescer = coalescer(CoalescingPolicy.MAX);
+        coalescer.offer(watch(0.4, START));
+        doThrow(new RuntimeException("database down"))
+                .doNothing()
+                .when(createEngagementBatchHandler).handler(anyList());
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+        coalescer.flushExpired();
+        coalescer.flushExpired();
+
+        // Assert
+        ArgumentCaptor<List<Interaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(createEngagementBatchHandler, times(2)).handler(captor.capture());
+        assertThat(captor.getAllValues().getLast())
+                .singleElement()
+                .satisfies(interaction -> assertThat(interaction.getInteractionValue()).isEqualTo(0.4));
+        assertThat(coalescer.openWindows()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve recusar tipos sem regra de coalescência")
+    void offer_ShouldReturnFalse_WhenTypeHasNoRule() {
+        // Arrange
+        InteractionCoalescer coalescer = coalescer(CoalescingPolicy.MAX);
+        Interaction like = new Interaction(USER_ID, MEDIA_ID, InteractionType.LIKE, 1.0, START);
+
+        // Act
+        boolean absorbed = coalescer.offer(like);
+
+        // Assert
+        assertThat(absorbed).isFalse();
+        assertThat(coalescer.openWindows()).isZero();
+    }
+
+    private InteractionCoalescer coalescer(CoalescingPolicy policy) {
+        CoalescingProperties properties = new CoalescingProperties(
+                Map.of(InteractionType.WATCH, new CoalescingProperties.Rule(policy, Duration.ofSeconds(30))),
+                100
+        );
+        return new InteractionCoalescer(createEngagementBatchHandler, properties, new SimpleMeterRegistry(), clock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Interaction singleEmitted() {
+        ArgumentCaptor<List<Interaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(createEngagementBatchHandler).handler(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        return captor.getValue().getFirst();
+    }
+
+    private static Interaction watch(double value, LocalDateTime timestamp) {
+        return new Interaction(USER_ID, MEDIA_ID, InteractionType.WATCH, value, timestamp);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.mrs.engagement_service.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedColumnWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve gravar valores em sequência entre regiões mapeadas e cortar o arquivo no tamanho exato")
+    void close_ShouldTruncateToWrittenBytes_WhenValuesSpanSeveralRegions() throws IOException {
+        // Arrange
+        Path file = directory.resolve("values.i32");
+        MappedColumnWriter writer = new MappedColumnWriter(file, 10);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            writer.putInt(i * 7);
+        }
+        writer.close();
+
+        // Assert
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(content.capacity()).isEqualTo(4_000);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(content.getInt()).isEqualTo(i * 7);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter valores de tamanhos diferentes alinhados ao que foi escrito")
+    void put_ShouldKeepMixedWidthValuesInOrder() throws IOException {
+        // Arrange
+        Path file = directory.resolve("mixed.bin");
+        MappedColumnWriter writer = new MappedColumnWriter(file, 16);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            writer.putByte((byte) i);
+            writer.putFloat(i / 4f);
+            writer.putLong(1_700_000_000_000L + i);
+        }
+        long size = writer.size();
+        writer.close();
+
+        // Assert
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(size).isEqualTo(1_300);
+        assertThat(content.capacity()).isEqualTo(1_300);
+        for (int i = 0; i < 100; i++) {
+            assertThat(content.get()).isEqualTo((byte) i);
+            assertThat(content.getFloat()).isEqualTo(i / 4f);
+            assertThat(content.getLong()).isEqualTo(1_700_000_000_000L + i);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.mrs.engagement_service.history;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryCursorTest {
+
+    @Test
+    @DisplayName("Deve recuperar a mesma posição a partir do cursor codificado")
+    void decode_ShouldReturnSamePosition_WhenCursorWasEncoded() {
+        // Arrange
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000), 9_007_199_254_740_993L);
+
+        // Act
+        HistoryCursor decoded = HistoryCursor.decode(cursor.encode());
+
+        // Assert
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor que não foi gerado pelo serviço")
+    void decode_ShouldThrowIllegalArgument_WhenCursorIsMalformed() {
+        // Act & Assert
+        assertThatThrownBy(() -> HistoryCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> HistoryCursor.decode("MjAyNi0wMy0xNA"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+}
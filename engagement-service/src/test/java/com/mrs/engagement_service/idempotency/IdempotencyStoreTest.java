@@ -0,0 +1,91 @@
+package com.mrs.engagement_service.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private static final byte[] BODY = {1, 2, 3};
+    private static final byte[] OTHER_BODY = {1, 2, 4};
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    @DisplayName("Deve devolver o resultado lembrado quando a chave já foi concluída")
+    void claim_ShouldReturnRememberedValue_WhenKeyIsCompleted() {
+        // Arrange
+        IdempotencyStore<String> store = new IdempotencyStore<>(16, 4, 60_000, now::get);
+        store.claim("user:key", BODY);
+        store.complete("user:key", "created");
+
+        // Act
+        IdempotencyStore.Claim<String> claim = store.claim("user:key", BODY);
+
+        // Assert
+        assertThat(claim.state()).isEqualTo(IdempotencyStore.State.COMPLETED);
+        assertThat(claim.value()).isEqualTo("created");
+    }
+
+    @Test
+    @DisplayName("Deve indicar requisição em andamento quando a chave ainda não foi concluída")
+    void claim_ShouldReturnInProgress_WhenKeyIsPending() {
+        // Arrange
+        IdempotencyStore<String> store = new IdempotencyStore<>(16, 4, 60_000, now::get);
+        store.claim("user:key", BODY);
+
+        // Act & Assert
+        assertThat(store.claim("user:key", BODY).state()).isEqualTo(IdempotencyStore.State.IN_PROGRESS);
+        assertThat(store.claim("user:key", OTHER_BODY).state()).isEqualTo(IdempotencyStore.State.MISMATCH);
+    }
+
+    @Test
+    @DisplayName("Deve permitir nova tentativa depois que a chave for liberada")
+    void claim_ShouldClaimAgain_AfterRelease() {
+        // Arrange
+        IdempotencyStore<String> store = new IdempotencyStore<>(16, 4, 60_000, now::get);
+        store.claim("user:key", BODY);
+        store.release("user:key");
+
+        // Act & Assert
+        assertThat(store.claim("user:key", BODY).state()).isEqualTo(IdempotencyStore.State.CLAIMED);
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a chave depois do TTL")
+    void claim_ShouldClaimAgain_WhenKeyExpired() {
+        // Arrange
+        IdempotencyStore<String> store = new IdempotencyStore<>(16, 1, 60_000, now::get);
+        store.claim("user:key", BODY);
+        store.complete("user:key", "created");
+
+        // Act
+        now.addAndGet(60_001);
+        IdempotencyStore.Claim<String> claim = store.claim("user:key", BODY);
+
+        // Assert
+        assertThat(claim.state()).isEqualTo(IdempotencyStore.State.CLAIMED);
+        assertThat(store.expiredCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a chave mais antiga quando o segmento estiver cheio")
+    void claim_ShouldEvictEldest_WhenSegmentIsFull() {
+        // Arrange
+        IdempotencyStore<String> store = new IdempotencyStore<>(2, 1, 60_000, now::get);
+        store.claim("a", BODY);
+        store.claim("b", BODY);
+
+        // Act
+        store.claim("c", BODY);
+
+        // Assert
+        assertThat(store.evictedCount()).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("a", BODY).state()).isEqualTo(IdempotencyStore.State.CLAIMED);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.mrs.engagement_service.ingestion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedRingBufferTest {
+
+    @Test
+    @DisplayName("Deve recusar novos itens quando a fila estiver cheia")
+    void offer_ShouldReturnFalse_WhenBufferIsFull() {
+        // Arrange
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(i);
+        }
+
+        // Act
+        boolean accepted = buffer.offer(4);
+
+        // Assert
+        assertThat(accepted).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve entregar os itens em ordem FIFO ao longo de várias voltas")
+    void drainTo_ShouldPreserveOrder_AcrossWraps() {
+        // Arrange
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // Act
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) {
+                buffer.offer(round * 3 + i);
+            }
+            buffer.drainTo(drained, 10);
+        }
+
+        // Assert
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a capacidade não for potência de dois")
+    void constructor_ShouldThrowException_WhenCapacityIsNotPowerOfTwo() {
+        // Act & Assert
+        assertThatThrownBy(() -> new BoundedRingBuffer<>(10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Capacity must be a power of two greater than 1");
+    }
+
+    @Test
+    @DisplayName("Não deve perder nem duplicar itens com produtores e consumidores concorrentes")
+    void offerAndPoll_ShouldDeliverEachItemOnce_UnderContention() throws InterruptedException {
+        // Arrange
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        AtomicBoolean duplicated = new AtomicBoolean();
+        int producers = 4;
+        int perProducer = 20_000;
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers + 2)) {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            for (int c = 0; c < 2; c++) {
+                executor.submit(() -> {
+                    while (received.size() < producers * perProducer) {
+                        Integer item = buffer.poll();
+                        if (item != null && !received.add(item)) duplicated.set(true);
+                    }
+                });
+            }
+        }
+
+        // Assert
+        assertThat(duplicated).isFalse();
+        assertThat(received).hasSize(producers * perProducer);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.mrs.engagement_service.ingestion;
+
+import com.mrs.engagement_service.exception.IngestionUnavailableException;
+import com.mrs.engagement_service.handler.CreateEngagementBatchHandler;
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.model.InteractionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitIngestionTest {
+
+    @Mock
+    private CreateEngagementBatchHandler createEngagementBatchHandler;
+
+    private GroupCommitIngestion groupCommitIngestion;
+
+    @AfterEach
+    void tearDown() {
+        if (groupCommitIngestion != null) groupCommitIngestion.stop();
+    }
+
+    @Test
+    @DisplayName("Deve retornar somente depois que o lote contendo a interação for gravado")
+    void submit_ShouldReturn_AfterBatchIsPersisted() {
+        // Arrange
+        groupCommitIngestion = new GroupCommitIngestion(createEngagementBatchHandler, 16, 1, 10, 5000);
+        groupCommitIngestion.start();
+        Interaction interaction = interaction();
+
+        // Act
+        groupCommitIngestion.submit(interaction);
+
+        // Assert
+        verify(createEngagementBatchHandler).handler(List.of(interaction));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção de indisponibilidade quando a gravação do lote falhar")
+    void submit_ShouldThrowException_WhenBatchFails() {
+        // Arrange
+        groupCommitIngestion = new GroupCommitIngestion(createEngagementBatchHandler, 16, 1, 10, 5000);
+        groupCommitIngestion.start();
+        doThrow(new RuntimeException("database down")).when(createEngagementBatchHandler).handler(anyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> groupCommitIngestion.submit(interaction()))
+                .isInstanceOf(IngestionUnavailableException.class)
+                .hasMessage("Failed to persist interaction");
+    }
+
+    @Test
+    @DisplayName("Deve recusar interações quando a ingestão não estiver em execução")
+    void submit_ShouldThrowException_WhenNotRunning() {
+        // Arrange
+        groupCommitIngestion = new GroupCommitIngestion(createEngagementBatchHandler, 16, 1, 10, 5000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> groupCommitIngestion.submit(interaction()))
+                .isInstanceOf(IngestionUnavailableException.class);
+
+        verifyNoInteractions(createEngagementBatchHandler);
+    }
+
+    private static Interaction interaction() {
+        return new Interaction(UUID.randomUUID(), UUID.randomUUID(), InteractionType.WATCH, 0.5, LocalDateTime.now());
+    }
+
+}
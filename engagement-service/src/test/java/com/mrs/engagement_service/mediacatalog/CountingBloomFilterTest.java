@@ -0,0 +1,98 @@
+package com.mrs.engagement_service.mediacatalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingBloomFilterTest {
+
+    private static UUID randomId(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer todos os ids inseridos")
+    void mightContain_ShouldReturnTrue_ForEveryInsertedId() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = randomId(random);
+            ids.add(id);
+            filter.add(id);
+        }
+
+        // Act & Assert
+        assertThat(ids).allMatch(filter::mightContain);
+        assertThat(filter.entries()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falsos positivos próxima da configurada")
+    void mightContain_ShouldKeepFalsePositiveRate_WhenAtExpectedCapacity() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(randomId(random));
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(randomId(random))) falsePositives++;
+        }
+
+        // Assert
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Deve esquecer o id removido sem afetar os demais")
+    void remove_ShouldForgetId_WithoutAffectingOthers() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        Random random = new Random(1);
+        List<UUID> kept = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID id = randomId(random);
+            kept.add(id);
+            filter.add(id);
+        }
+        UUID removed = randomId(random);
+        filter.add(removed);
+
+        // Act
+        boolean result = filter.remove(removed);
+
+        // Assert
+        assertThat(result).isTrue();
+        assertThat(filter.mightContain(removed)).isFalse();
+        assertThat(kept).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar contadores ao remover um id ausente")
+    void remove_ShouldReturnFalse_WhenIdIsAbsent() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        UUID present = UUID.randomUUID();
+        filter.add(present);
+
+        // Act
+        boolean result = filter.remove(UUID.randomUUID());
+
+        // Assert
+        assertThat(result).isFalse();
+        assertThat(filter.mightContain(present)).isTrue();
+        assertThat(filter.entries()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.mrs.engagement_service.mediacatalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaCatalogFilterTest {
+
+    private static MediaCatalogFilter filter() {
+        return new MediaCatalogFilter(new SimpleMeterRegistry(), true, 10_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Deve deixar tudo passar enquanto a primeira carga não termina")
+    void isKnown_ShouldAcceptAnyMedia_BeforeFirstLoad() {
+        // Arrange
+        MediaCatalogFilter filter = filter();
+
+        // Act & Assert
+        assertThat(filter.isKnown(UUID.randomUUID())).isTrue();
+        assertThat(filter.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve esquecer uma mídia lida mais de uma vez nem uma que colide com outras")
+    void isKnown_ShouldNeverRejectInsertedMedia_WhenTopicRepeatsRecords() {
+        // Arrange
+        MediaCatalogFilter filter = filter();
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) ids.add(new UUID(random.nextLong(), random.nextLong()));
+
+        // Act
+        filter.rebuild(loaded -> {
+            ids.forEach(loaded::add);
+            ids.subList(0, 1_000).forEach(loaded::add);
+        });
+        ids.forEach(filter::add);
+
+        // Assert
+        assertThat(ids).allMatch(filter::isKnown);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as remoções na reconstrução e manter o que chegou durante a carga")
+    void rebuild_ShouldDropRemovedMedia_AndKeepMediaAddedWhileLoading() {
+        // Arrange
+        MediaCatalogFilter filter = filter();
+        UUID kept = new UUID(0, 1);
+        UUID removed = new UUID(0, 2);
+        UUID createdWhileLoading = new UUID(0, 3);
+        filter.rebuild(loaded -> {
+            loaded.add(kept);
+            loaded.add(removed);
+        });
+
+        // Act
+        filter.rebuild(loaded -> {
+            loaded.add(kept);
+            filter.add(createdWhileLoading);
+        });
+
+        // Assert
+        assertThat(filter.isKnown(kept)).isTrue();
+        assertThat(filter.isKnown(createdWhileLoading)).isTrue();
+        assertThat(filter.isKnown(removed)).isFalse();
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.mrs.engagement_service.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link EngagementRateLimiter} por requisição sob contenção.
+ * <p>
+ * Os limites são altos o bastante para nunca recusar, então o benchmark mede apenas o
+ * caminho de aceitação: busca do bucket no mapa e CAS nos buckets do usuário e global.
+ * {@code hotUser} concentra todas as threads no mesmo bucket, o pior caso de disputa.
+ * </p>
+ * Execução: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.mrs.engagement_service.ratelimit.EngagementRateLimiterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class EngagementRateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private EngagementRateLimiter limiter;
+    private UUID[] userIds;
+
+    @Setup
+    public void setUp() {
+        limiter = new EngagementRateLimiter(new SimpleMeterRegistry(), true, 1e9, 1_000_000_000, 1e9, 1_000_000_000, USERS * 2);
+        userIds = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public UUID baseline() {
+        return userIds[ThreadLocalRandom.current().nextInt(USERS)];
+    }
+
+    @Benchmark
+    public void manyUsers() {
+        limiter.acquire(userIds[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public void hotUser() {
+        limiter.acquire(userIds[0]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EngagementRateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.mrs.engagement_service.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve conceder o burst inteiro e recusar a requisição seguinte")
+    void tryAcquire_ShouldRejectRequest_WhenBurstIsExhausted() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        long wait = bucket.tryAcquire(0);
+
+        // Assert
+        assertThat(wait).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("Deve repor tokens conforme o tempo passa")
+    void tryAcquire_ShouldRefill_OverTime() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.tryAcquire(0);
+
+        // Act & Assert
+        assertThat(bucket.tryAcquire(SECOND / 20)).isPositive();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve conceder de novo o token devolvido")
+    void refund_ShouldRestoreToken_WhenRequestWasRejectedElsewhere() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.tryAcquire(0);
+
+        // Act
+        bucket.refund();
+
+        // Assert
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve cobrar um lote pela quantidade de tokens")
+    void tryAcquire_ShouldChargeEveryPermit_WhenBatchFitsInBurst() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        // Act
+        long batch = bucket.tryAcquire(0, 4);
+
+        // Assert
+        assertThat(batch).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar um lote maior que o burst com o bucket cheio e cobrar a dívida depois")
+    void tryAcquire_ShouldLeaveBucketInDebt_WhenBatchExceedsBurst() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        // Act
+        long batch = bucket.tryAcquire(0, 20);
+
+        // Assert
+        assertThat(batch).isZero();
+        assertThat(bucket.tryAcquire(SECOND + SECOND / 2)).isPositive();
+        assertThat(bucket.tryAcquire(SECOND + SECOND * 6 / 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ficar cheio novamente depois de um período ocioso")
+    void isFull_ShouldReturnTrue_AfterIdlePeriod() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        bucket.tryAcquire(0);
+
+        // Act & Assert
+        assertThat(bucket.isFull(0)).isFalse();
+        assertThat(bucket.isFull(SECOND)).isTrue();
+    }
+
+}
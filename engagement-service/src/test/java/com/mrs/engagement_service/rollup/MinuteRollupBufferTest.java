@@ -0,0 +1,92 @@
+package com.mrs.engagement_service.rollup;
+
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.model.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MinuteRollupBufferTest {
+
+    private static final UUID MEDIA_ID = UUID.randomUUID();
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2026, 1, 1, 12, 30);
+
+    @Mock
+    private EngagementRollupRepository engagementRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MinuteRollupBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        buffer = new MinuteRollupBuffer(engagementRollupRepository, transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar as interações por mídia e minuto em que aconteceram")
+    void flush_ShouldUpsertOneRowPerMediaAndMinute() {
+        // Arrange
+        buffer.onCommitted(List.of(
+                interaction(InteractionType.LIKE, MINUTE.plusSeconds(5)),
+                interaction(InteractionType.LIKE, MINUTE.plusSeconds(40)),
+                interaction(InteractionType.WATCH, MINUTE.plusSeconds(59)),
+                interaction(InteractionType.DISLIKE, MINUTE.plusMinutes(1))
+        ));
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        verify(engagementRollupRepository).addMinute(MEDIA_ID.toString(), MINUTE, 2, 0, 1);
+        verify(engagementRollupRepository).addMinute(MEDIA_ID.toString(), MINUTE.plusMinutes(1), 0, 1, 0);
+        assertThat(buffer.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter os deltas para o próximo flush quando a gravação falhar")
+    void flush_ShouldKeepDeltas_WhenUpsertFails() {
+        // Arrange
+        buffer.onCommitted(List.of(interaction(InteractionType.WATCH, MINUTE)));
+        doThrow(new IllegalStateException("database down")).doNothing()
+                .when(engagementRollupRepository).addMinute(anyString(), any(), anyLong(), anyLong(), anyLong());
+        buffer.flush();
+        buffer.onCommitted(List.of(interaction(InteractionType.WATCH, MINUTE)));
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        verify(engagementRollupRepository).addMinute(MEDIA_ID.toString(), MINUTE, 0, 0, 2);
+        assertThat(buffer.pending()).isZero();
+    }
+
+    private static Interaction interaction(InteractionType type, LocalDateTime timestamp) {
+        return new Interaction(UUID.randomUUID(), MEDIA_ID, type, 1.0, timestamp);
+    }
+
+}
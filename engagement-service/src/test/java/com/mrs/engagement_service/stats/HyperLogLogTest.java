@@ -0,0 +1,81 @@
+package com.mrs.engagement_service.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    private static UUID randomId(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    @Test
+    @DisplayName("Deve estimar a cardinalidade dentro do erro esperado")
+    void estimate_ShouldStayWithinExpectedError_ForManyDistinctIds() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(randomId(random));
+        }
+
+        // Act
+        long estimate = sketch.estimate();
+
+        // Assert
+        assertThat((double) estimate).isCloseTo(100_000, within(100_000 * 0.07));
+    }
+
+    @Test
+    @DisplayName("Deve ser exato para poucos ids e ignorar repetições")
+    void estimate_ShouldIgnoreDuplicates_WhenSameIdsAreAdded() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+        Random random = new Random(1);
+        UUID[] ids = new UUID[20];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = randomId(random);
+        }
+
+        // Act
+        for (int round = 0; round < 50; round++) {
+            for (UUID id : ids) {
+                sketch.add(id);
+            }
+        }
+
+        // Assert
+        assertThat(sketch.estimate()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Deve estimar a união ao juntar sketches serializados")
+    void merge_ShouldEstimateUnion_WhenSketchesOverlap() {
+        // Arrange
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        Random random = new Random(7);
+        for (int i = 0; i < 30_000; i++) {
+            UUID id = randomId(random);
+            first.add(id);
+            if (i % 2 == 0) second.add(id);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            second.add(randomId(random));
+        }
+
+        // Act
+        HyperLogLog union = HyperLogLog.fromBytes(first.toBytes());
+        union.merge(second.toBytes());
+
+        // Assert
+        assertThat((double) union.estimate()).isCloseTo(40_000, within(40_000 * 0.07));
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.mrs.engagement_service.stats;
+
+import com.mrs.engagement_service.dto.MediaStatsResponse;
+import com.mrs.engagement_service.model.Interaction;
+import com.mrs.engagement_service.model.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaEngagementCountersTest {
+
+    private static final UUID MEDIA_ID = UUID.randomUUID();
+
+    @Mock
+    private MediaEngagementStatsRepository mediaEngagementStatsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(mediaEngagementStatsRepository.findById(MEDIA_ID)).thenReturn(Optional.empty());
+        when(mediaEngagementStatsRepository.lockAll(any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Deve somar as interações por tipo e contar usuários distintos")
+    void stats_ShouldReturnCountsAndUniqueUsers_WhenInteractionsAreRecorded() {
+        // Arrange
+        MediaEngagementCounters counters = counters(600_000);
+        UUID user = UUID.randomUUID();
+        counters.onCommitted(List.of(
+                interaction(user, InteractionType.LIKE),
+                interaction(user, InteractionType.WATCH),
+                interaction(UUID.randomUUID(), InteractionType.WATCH),
+                interaction(UUID.randomUUID(), InteractionType.DISLIKE)
+        ));
+
+        // Act
+        MediaStatsResponse stats = counters.stats(MEDIA_ID);
+
+        // Assert
+        assertThat(stats).isEqualTo(new MediaStatsResponse(MEDIA_ID, 1, 1, 2, 3));
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas o delta pendente em cada flush")
+    void flush_ShouldUpsertOnlyPendingDelta_WhenCalledTwice() {
+        // Arrange
+        MediaEngagementCounters counters = counters(600_000);
+        counters.onCommitted(List.of(interaction(UUID.randomUUID(), InteractionType.LIKE)));
+        counters.flush();
+        counters.onCommitted(List.of(interaction(UUID.randomUUID(), InteractionType.LIKE)));
+        long likesBeforeFlush = counters.stats(MEDIA_ID).likes();
+
+        // Act
+        counters.flush();
+        counters.flush();
+
+        // Assert
+        assertThat(likesBeforeFlush).isEqualTo(2);
+        verify(mediaEngagementStatsRepository, times(2)).upsert(eq(MEDIA_ID), eq(1L), eq(0L), eq(0L), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o delta aos contadores quando a gravação falhar")
+    void flush_ShouldRestoreDelta_WhenUpsertFails() {
+        // Arrange
+        MediaEngagementCounters counters = counters(600_000);
+        counters.onCommitted(List.of(interaction(UUID.randomUUID(), InteractionType.WATCH)));
+        doThrow(new IllegalStateException("database down")).doNothing()
+                .when(mediaEngagementStatsRepository).upsert(any(), anyLong(), anyLong(), anyLong(), anyLong(), any(), any());
+
+        // Act
+        counters.flush();
+        counters.flush();
+
+        // Assert
+        verify(mediaEngagementStatsRepository, times(2)).upsert(eq(MEDIA_ID), eq(0L), eq(0L), eq(1L), anyLong(), any(), any());
+        assertThat(counters.stats(MEDIA_ID).watches()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a memória de mídias ociosas já gravadas")
+    void flush_ShouldEvictIdleMedia_WhenNothingIsPending() {
+        // Arrange
+        MediaEngagementCounters counters = counters(0);
+        counters.onCommitted(List.of(interaction(UUID.randomUUID(), InteractionType.LIKE)));
+
+        // Act
+        counters.flush();
+
+        // Assert
+        assertThat(counters.tracked()).isZero();
+    }
+
+    private MediaEngagementCounters counters(long idleTtlMs) {
+        return new MediaEngagementCounters(mediaEngagementStatsRepository, transactionTemplate, new SimpleMeterRegistry(), 1_000, 500, idleTtlMs);
+    }
+
+    private static Interaction interaction(UUID userId, InteractionType type) {
+        return new Interaction(userId, MEDIA_ID, type, 1.0, LocalDateTime.now());
+    }
+
+}
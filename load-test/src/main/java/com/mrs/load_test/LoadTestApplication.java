@@ -0,0 +1,204 @@
+package com.mrs.load_test;
+
+import com.mrs.load_test.config.LoadTestConfig;
+import com.mrs.load_test.dataset.DatasetGenerator;
+import com.mrs.load_test.driver.IngestBenchmark;
+import com.mrs.load_test.driver.LoadDriver;
+import com.mrs.load_test.infrastructure.EmbeddedInfrastructure;
+import com.mrs.load_test.infrastructure.ServiceProcess;
+import com.mrs.load_test.report.ConsumerLagProbe;
+import com.mrs.load_test.report.LoadMetrics;
+import com.mrs.load_test.report.LoadReporter;
+import com.mrs.load_test.security.JwtTokens;
+import com.mrs.load_test.seed.MediaSeeder;
+import com.mrs.load_test.stub.MlServiceStub;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Harness de carga end-to-end.
+ * <p>
+ * Sobe Kafka e Postgres embarcados, um stub do ml-service e os jars do
+ * engagement-service e recommendation-service como processos filhos. Em seguida
+ * popula mídias e perfis, executa o aquecimento e mede a mistura configurada de
+ * requisições, reportando throughput, percentis de latência e lag do consumer.
+ * </p>
+ */
+public class LoadTestApplication {
+
+    private static final String RECOMMENDATION_GROUP = "recommendation-service";
+
+    /**
+     * Os serviços publicam com o {@code JsonSerializer} do Spring, que grava o nome da
+     * classe do produtor no header de tipo. Este mapeamento traduz esses nomes para as
+     * classes equivalentes do recommendation-service.
+     */
+    private static final String RECOMMENDATION_TYPE_MAPPING = String.join(",",
+            "com.mrs.engagement_service.event.InteractionEvent:com.mrs.recommendation_service.event.InteractionEvent",
+            MediaSeeder.MEDIA_FEATURES_TYPE_ID + ":com.mrs.recommendation_service.event.MediaFeaturesEvent"
+    );
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("generate")) {
+            DatasetGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure(config)) {
+            infrastructure.start();
+            System.out.println("Kafka: " + infrastructure.kafkaBootstrapServers());
+
+            List<UUID> mediaIds = new MediaSeeder(infrastructure.kafkaBootstrapServers()).seed(config.media());
+            List<UUID> userIds = Stream.generate(UUID::randomUUID).limit(config.users()).toList();
+
+            try (MlServiceStub mlStub = new MlServiceStub(config.mlLatencyMs(), config.mlJitterMs(), mediaIds)) {
+                mlStub.start();
+                runAgainst(config, infrastructure, mlStub, userIds, mediaIds);
+            }
+        }
+    }
+
+    private static void runAgainst(
+            LoadTestConfig config,
+            EmbeddedInfrastructure infrastructure,
+            MlServiceStub mlStub,
+            List<UUID> userIds,
+            List<UUID> mediaIds
+    ) throws Exception {
+        try (ServiceProcess recommendation = recommendationService(config, infrastructure, mlStub.baseUrl());
+             ServiceProcess engagement = engagementService(config, infrastructure);
+             ConsumerLagProbe lagProbe = new ConsumerLagProbe(infrastructure.kafkaBootstrapServers())) {
+
+            recommendation.start();
+            engagement.start();
+            recommendation.awaitReady(STARTUP_TIMEOUT);
+            engagement.awaitReady(STARTUP_TIMEOUT);
+
+            awaitDrained(lagProbe, EmbeddedInfrastructure.MEDIA_FEATURES_TOPIC);
+
+            LoadMetrics metrics = new LoadMetrics();
+            LoadDriver driver = new LoadDriver(
+                    config,
+                    engagement.baseUrl(),
+                    recommendation.baseUrl(),
+                    new JwtTokens(config.jwtSecret()),
+                    userIds,
+                    mediaIds,
+                    metrics
+            );
+
+            System.out.println("Seeding " + userIds.size() + " user profiles...");
+            long seedStart = Math.max(0, lagProbe.published(EmbeddedInfrastructure.ENGAGEMENT_TOPIC));
+            driver.seedProfiles();
+            awaitPublished(lagProbe, EmbeddedInfrastructure.ENGAGEMENT_TOPIC, seedStart + userIds.size());
+            awaitDrained(lagProbe, EmbeddedInfrastructure.ENGAGEMENT_TOPIC);
+
+            if (config.ingestEvents() > 0) {
+                new IngestBenchmark(engagement.baseUrl(), new JwtTokens(config.jwtSecret()), userIds, mediaIds)
+                        .run(config.ingestEvents(), config.ingestBatchSize(), config.concurrency(), config.ingestBatchConcurrency(), System.out);
+                awaitDrained(lagProbe, EmbeddedInfrastructure.ENGAGEMENT_TOPIC);
+            }
+
+            System.out.println("Warming up for " + config.warmup().toSeconds() + "s...");
+            driver.run(config.warmup());
+
+            try (LoadReporter reporter = new LoadReporter(
+                    metrics,
+                    lagProbe,
+                    RECOMMENDATION_GROUP,
+                    EmbeddedInfrastructure.ENGAGEMENT_TOPIC,
+                    config.reportInterval(),
+                    config.reportCsv(),
+                    System.out)) {
+
+                System.out.printf("Measuring for %ds (%s, concurrency=%d, rate=%d, read-ratio=%.2f)%n",
+                        config.duration().toSeconds(),
+                        config.openLoop() ? "open loop" : "closed loop",
+                        config.concurrency(), config.rate(), config.readRatio());
+
+                metrics.startRecording();
+                reporter.start();
+                driver.run(config.duration());
+                metrics.stopRecording();
+                reporter.summary(config.duration());
+            }
+        }
+    }
+
+    private static ServiceProcess engagementService(LoadTestConfig config, EmbeddedInfrastructure infrastructure) throws Exception {
+        return new ServiceProcess(
+                "engagement-service",
+                config.engagementJar(),
+                serviceEnvironment(config, infrastructure, "engagement_db"),
+                List.of(
+                        "--spring.jpa.show-sql=false",
+                        "--engagement.ingestion.mode=" + config.engagementIngestionMode(),
+                        // O benchmark de ingestão envia tudo com o token de um só usuário; o limite mediria a cota, não a vazão.
+                        "--engagement.rate-limit.enabled=false"
+                )
+        );
+    }
+
+    private static ServiceProcess recommendationService(LoadTestConfig config, EmbeddedInfrastructure infrastructure, String mlServiceUrl) throws Exception {
+        Map<String, String> environment = new HashMap<>(serviceEnvironment(config, infrastructure, "recommendation_db"));
+        environment.put("ML_SERVICE_URL", mlServiceUrl);
+
+        return new ServiceProcess(
+                "recommendation-service",
+                config.recommendationJar(),
+                environment,
+                List.of(
+                        "--spring.jpa.show-sql=false",
+                        "--spring.kafka.consumer.properties.spring.json.type.mapping=" + RECOMMENDATION_TYPE_MAPPING
+                )
+        );
+    }
+
+    private static Map<String, String> serviceEnvironment(LoadTestConfig config, EmbeddedInfrastructure infrastructure, String database) {
+        return Map.of(
+                "SPRING_DATASOURCE_URL", infrastructure.jdbcUrl(database),
+                "SPRING_DATASOURCE_USERNAME", infrastructure.postgresUser(),
+                "SPRING_DATASOURCE_PASSWORD", infrastructure.postgresPassword(),
+                "KAFKA_BOOTSTRAP_SERVERS", infrastructure.kafkaBootstrapServers(),
+                "JWT_KEY", config.jwtSecret()
+        );
+    }
+
+    /**
+     * Os eventos saem pelo outbox de forma assíncrona: sem esta espera o lag pode ser
+     * zero simplesmente porque o relay ainda não publicou nada.
+     */
+    private static void awaitPublished(ConsumerLagProbe lagProbe, String topic, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (lagProbe.published(topic) >= expected) return;
+            Thread.sleep(200);
+        }
+
+        throw new IllegalStateException(topic + " did not receive the seeded events within " + DRAIN_TIMEOUT);
+    }
+
+    private static void awaitDrained(ConsumerLagProbe lagProbe, String topic) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (lagProbe.lag(RECOMMENDATION_GROUP, topic) == 0) return;
+            Thread.sleep(500);
+        }
+
+        throw new IllegalStateException("recommendation-service did not drain " + topic + " within " + DRAIN_TIMEOUT);
+    }
+
+}
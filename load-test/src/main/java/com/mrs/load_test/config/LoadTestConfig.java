@@ -0,0 +1,100 @@
+package com.mrs.load_test.config;
+
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Parâmetros de execução do harness de carga.
+ * <p>
+ * Todos os valores podem ser sobrescritos via argumentos no formato {@code --chave=valor}.
+ * Quando {@code postgres-url} não é informado, um Postgres embarcado é iniciado.
+ * </p>
+ */
+public record LoadTestConfig(
+        Path engagementJar,
+        Path recommendationJar,
+        String postgresUrl,
+        String postgresUser,
+        String postgresPassword,
+        int kafkaPartitions,
+        long mlLatencyMs,
+        long mlJitterMs,
+        int users,
+        int media,
+        int concurrency,
+        int rate,
+        double readRatio,
+        Duration warmup,
+        Duration duration,
+        Duration reportInterval,
+        Path reportCsv,
+        String jwtSecret,
+        int ingestEvents,
+        int ingestBatchSize,
+        int ingestBatchConcurrency,
+        String engagementIngestionMode
+) {
+
+    public LoadTestConfig {
+        if (readRatio < 0 || readRatio > 1) throw new IllegalArgumentException("read-ratio must be between 0 and 1");
+        if (users <= 0 || media <= 0) throw new IllegalArgumentException("users and media must be positive");
+        if (concurrency <= 0) throw new IllegalArgumentException("concurrency must be positive");
+        if (ingestBatchSize <= 0 || ingestBatchConcurrency <= 0) throw new IllegalArgumentException("ingest batch size and concurrency must be positive");
+    }
+
+    public boolean embeddedPostgres() {
+        return postgresUrl == null || postgresUrl.isBlank();
+    }
+
+    public boolean openLoop() {
+        return rate > 0;
+    }
+
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument: " + arg + " (expected --key=value)");
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestConfig(
+                Path.of(values.getOrDefault("engagement-jar", "../engagement-service/target/engagement-service-0.0.1-SNAPSHOT.jar")),
+                Path.of(values.getOrDefault("recommendation-jar", "../recommendation-service/target/recommendation-service-0.0.1-SNAPSHOT.jar")),
+                values.get("postgres-url"),
+                values.getOrDefault("postgres-user", "postgres"),
+                values.getOrDefault("postgres-password", "postgres"),
+                Integer.parseInt(values.getOrDefault("kafka-partitions", "3")),
+                Long.parseLong(values.getOrDefault("ml-latency-ms", "20")),
+                Long.parseLong(values.getOrDefault("ml-jitter-ms", "10")),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("media", "500")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Integer.parseInt(values.getOrDefault("rate", "0")),
+                Double.parseDouble(values.getOrDefault("read-ratio", "0.2")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("report-interval-seconds", "5"))),
+                values.containsKey("report-csv") ? Path.of(values.get("report-csv")) : null,
+                values.getOrDefault("jwt-secret", randomSecret()),
+                Integer.parseInt(values.getOrDefault("ingest-events", "0")),
+                Integer.parseInt(values.getOrDefault("ingest-batch-size", "10000")),
+                Integer.parseInt(values.getOrDefault("ingest-batch-concurrency", "4")),
+                values.getOrDefault("engagement-ingestion-mode", "direct")
+        );
+    }
+
+    private static String randomSecret() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.mrs.load_test.dataset;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parâmetros do gerador de dataset sintético, lidos de argumentos {@code --chave=valor}.
+ * <p>
+ * O dataset é função apenas de {@code seed} e dos tamanhos informados: duas execuções
+ * com os mesmos parâmetros produzem exatamente os mesmos registros.
+ * </p>
+ */
+public record DatasetConfig(
+        long seed,
+        int users,
+        int media,
+        long interactions,
+        double mediaZipfExponent,
+        double userZipfExponent,
+        LocalDateTime until,
+        int days,
+        String jdbcBaseUrl,
+        String dbUser,
+        String dbPassword,
+        Set<Target> targets,
+        String kafkaBootstrapServers,
+        int publishRate
+) {
+
+    public enum Target {
+        USERS,
+        CATALOG,
+        ENGAGEMENT,
+        RECOMMENDATION
+    }
+
+    public DatasetConfig {
+        if (users <= 0 || media <= 0) throw new IllegalArgumentException("users and media must be positive");
+        if (interactions < 0) throw new IllegalArgumentException("interactions can't be negative");
+        if (days <= 0) throw new IllegalArgumentException("days must be positive");
+    }
+
+    public boolean publishEnabled() {
+        return kafkaBootstrapServers != null && !kafkaBootstrapServers.isBlank();
+    }
+
+    public String jdbcUrl(String database) {
+        return jdbcBaseUrl.endsWith("/") ? jdbcBaseUrl + database : jdbcBaseUrl + "/" + database;
+    }
+
+    public static DatasetConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument: " + arg + " (expected --key=value)");
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Set<Target> targets = EnumSet.noneOf(Target.class);
+        Arrays.stream(values.getOrDefault("targets", "users,catalog,engagement,recommendation").split(","))
+                .map(String::trim)
+                .filter(target -> !target.isEmpty())
+                .map(target -> Target.valueOf(target.toUpperCase()))
+                .forEach(targets::add);
+
+        return new DatasetConfig(
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                Integer.parseInt(values.getOrDefault("media", "5000")),
+                Long.parseLong(values.getOrDefault("interactions", "1000000")),
+                Double.parseDouble(values.getOrDefault("media-zipf-exponent", "1.0")),
+                Double.parseDouble(values.getOrDefault("user-zipf-exponent", "0.8")),
+                LocalDateTime.parse(values.getOrDefault("until", "2026-01-01T00:00:00")),
+                Integer.parseInt(values.getOrDefault("days", "90")),
+                values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/"),
+                values.getOrDefault("db-user", "user"),
+                values.getOrDefault("db-password", "password"),
+                targets,
+                values.get("kafka-bootstrap-servers"),
+                Integer.parseInt(values.getOrDefault("publish-rate", "1000"))
+        );
+    }
+
+}
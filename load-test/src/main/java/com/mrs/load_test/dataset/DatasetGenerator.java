@@ -0,0 +1,70 @@
+package com.mrs.load_test.dataset;
+
+import com.mrs.load_test.dataset.DatasetConfig.Target;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Gera o dataset sintético e o carrega nos bancos selecionados em {@code --targets},
+ * opcionalmente publicando os mesmos registros nos tópicos Kafka.
+ * <p>
+ * Uso: {@code java -jar load-test.jar generate --seed=42 --users=10000 --media=5000 --interactions=1000000}
+ * </p>
+ */
+public class DatasetGenerator {
+
+    public static void main(String[] args) throws SQLException {
+        DatasetConfig config = DatasetConfig.fromArgs(args);
+
+        long started = System.nanoTime();
+        SyntheticDataset dataset = new SyntheticDataset(config);
+        report("generate", config.users() + config.media(), started);
+
+        DatasetLoader loader = new DatasetLoader(config, dataset);
+        long firstInteractionId = 1;
+
+        if (config.targets().contains(Target.USERS)) {
+            started = System.nanoTime();
+            report("users", loader.loadUsers(), started);
+        }
+        if (config.targets().contains(Target.CATALOG)) {
+            started = System.nanoTime();
+            report("catalog", loader.loadCatalog(), started);
+        }
+        if (config.targets().contains(Target.RECOMMENDATION)) {
+            started = System.nanoTime();
+            report("recommendation", loader.loadMediaFeatures(), started);
+        }
+        if (config.targets().contains(Target.ENGAGEMENT)) {
+            started = System.nanoTime();
+            firstInteractionId = loader.loadInteractions();
+            report("engagement", config.interactions(), started);
+        }
+
+        if (config.publishEnabled()) {
+            publish(config, dataset, firstInteractionId);
+        }
+    }
+
+    /**
+     * Republica as mídias e regenera as interações a partir da seed, com os mesmos ids
+     * gravados no banco, para que os consumidores vejam exatamente o dataset carregado.
+     */
+    private static void publish(DatasetConfig config, SyntheticDataset dataset, long firstInteractionId) {
+        long started = System.nanoTime();
+
+        try (DatasetPublisher publisher = new DatasetPublisher(config.kafkaBootstrapServers(), config.publishRate())) {
+            dataset.media().forEach(publisher::publishMedia);
+            dataset.interactions(firstInteractionId, publisher::publishInteraction);
+            report("kafka", publisher.published(), started);
+        }
+    }
+
+    private static void report(String target, long rows, long startedNanos) {
+        double seconds = Math.max((System.nanoTime() - startedNanos) / 1_000_000_000.0, 1e-9);
+        System.out.println(String.format(Locale.ROOT, "%-15s %,12d rows  %8.2fs  %,12.0f rows/s",
+                target, rows, seconds, rows / seconds));
+    }
+
+}
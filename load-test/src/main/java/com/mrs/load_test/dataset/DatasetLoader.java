@@ -0,0 +1,187 @@
+package com.mrs.load_test.dataset;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Collectors;
+
+/**
+ * Carrega o dataset sintético diretamente nos bancos de cada serviço via {@code COPY}.
+ * <p>
+ * As tabelas precisam existir: elas são criadas pelo Hibernate na primeira subida de
+ * cada serviço. Os nomes de colunas seguem a estratégia de nomes padrão do Spring
+ * (camelCase para snake_case).
+ * </p>
+ */
+public class DatasetLoader {
+
+    private static final String USER_PASSWORD = "Dataset@123";
+    private static final int ROLE_USER_ORDINAL = 1;
+
+    private final DatasetConfig config;
+    private final SyntheticDataset dataset;
+
+    public DatasetLoader(DatasetConfig config, SyntheticDataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+    }
+
+    public long loadUsers() throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder().encode(USER_PASSWORD);
+
+        try (Connection connection = connect("user_db")) {
+            requireTable(connection, "tb_users");
+
+            try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "tb_users",
+                    "id", "name", "email", "password", "role", "active", "version", "created_at", "updated_at")) {
+                for (GeneratedUser user : dataset.users()) {
+                    writer.row(user.id(), user.name(), user.email(), passwordHash, ROLE_USER_ORDINAL, true, 0, user.createdAt(), user.createdAt());
+                }
+                writer.close();
+                connection.commit();
+                return writer.rows();
+            }
+        }
+    }
+
+    public long loadCatalog() throws SQLException {
+        try (Connection connection = connect("catalog_db")) {
+            requireTable(connection, "medias");
+            requireTable(connection, "tb_media_genre");
+
+            try (PostgresCopyWriter medias = new PostgresCopyWriter(connection, "medias",
+                    "id", "title", "description", "release_year", "media_type", "cover_url", "version", "create_at", "update_at")) {
+                for (GeneratedMedia media : dataset.media()) {
+                    medias.row(media.id(), media.title(), media.description(), media.releaseYear(), media.mediaType(),
+                            media.coverUrl(), 0, media.createdAt(), media.createdAt());
+                }
+            }
+
+            long genreRows;
+            try (PostgresCopyWriter genres = new PostgresCopyWriter(connection, "tb_media_genre", "media_id", "genre_name")) {
+                for (GeneratedMedia media : dataset.media()) {
+                    for (Genre genre : media.genres()) {
+                        genres.row(media.id(), genre);
+                    }
+                }
+                genres.close();
+                genreRows = genres.rows();
+            }
+
+            connection.commit();
+            return dataset.media().size() + genreRows;
+        }
+    }
+
+    public long loadMediaFeatures() throws SQLException {
+        try (Connection connection = connect("recommendation_db")) {
+            requireTable(connection, "medias_features");
+            requireTable(connection, "media_cards");
+
+            long rows;
+            try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "medias_features",
+                    "media_id", "genres", "popularity_score", "media_type", "release_year")) {
+                for (GeneratedMedia media : dataset.media()) {
+                    String genres = media.genres().stream().map(Enum::name).collect(Collectors.joining(",", "{", "}"));
+                    writer.row(media.id(), genres, media.popularityScore(), media.mediaType(), media.releaseYear());
+                }
+                writer.close();
+                rows = writer.rows();
+            }
+
+            try (PostgresCopyWriter cards = new PostgresCopyWriter(connection, "media_cards", "media_id", "title", "cover_url", "media_type", "release_year")) {
+                for (GeneratedMedia media : dataset.media()) {
+                    cards.row(media.id(), media.title(), media.coverUrl(), media.mediaType(), media.releaseYear());
+                }
+                cards.close();
+                rows += cards.rows();
+            }
+
+            connection.commit();
+            return rows;
+        }
+    }
+
+    /**
+     * Insere as interações com ids explícitos a partir do maior id existente e depois
+     * avança a sequência usada pelo serviço, para que ele continue de onde o dataset
+     * parou. Com o otimizador pooled do Hibernate o valor da sequência é o topo do
+     * último bloco alocado, então basta posicioná-la no maior id.
+     *
+     * @return o primeiro id usado, para que a publicação em Kafka use os mesmos ids.
+     */
+    public long loadInteractions() throws SQLException {
+        try (Connection connection = connect("engagement_db")) {
+            requireTable(connection, "interaction");
+
+            long firstId = nextInteractionId(connection);
+            ensureInteractionPartitions(connection);
+
+            try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "interaction",
+                    "id", "user_id", "media_id", "type", "interaction_value", "timestamp")) {
+                dataset.interactions(firstId, interaction -> {
+                    try {
+                        writer.row(interaction.id(), interaction.userId(), interaction.mediaId(), interaction.type(),
+                                interaction.interactionValue(), interaction.timestamp());
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Failed to stream interaction " + interaction.id(), e);
+                    }
+                });
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval(coalesce(pg_get_serial_sequence('interaction', 'id'), 'interaction_seq'), (SELECT max(id) FROM interaction))");
+            }
+
+            connection.commit();
+            return firstId;
+        }
+    }
+
+    /**
+     * O engagement-service particiona {@code interaction} por mês; as partições do
+     * intervalo gerado precisam existir antes do {@code COPY}.
+     */
+    private void ensureInteractionPartitions(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT to_regproc('ensure_interaction_partitions') IS NOT NULL")) {
+            result.next();
+            if (!result.getBoolean(1)) return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT ensure_interaction_partitions(?, ?)")) {
+            statement.setObject(1, config.until().minusDays(config.days()));
+            statement.setObject(2, config.until());
+            statement.execute();
+        }
+    }
+
+    private static long nextInteractionId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM interaction")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private Connection connect(String database) throws SQLException {
+        Connection connection = DriverManager.getConnection(config.jdbcUrl(database), config.dbUser(), config.dbPassword());
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void requireTable(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, table, null)) {
+            if (!tables.next()) {
+                throw new IllegalStateException("Table " + table + " not found in " + connection.getCatalog()
+                        + "; start the owning service once so Hibernate creates the schema");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.mrs.load_test.dataset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publica o dataset nos tópicos consumidos pelo recommendation-service, no mesmo
+ * formato e com o mesmo header de tipo que os serviços produtores gravam, respeitando
+ * uma taxa máxima de eventos por segundo.
+ */
+public class DatasetPublisher implements AutoCloseable {
+
+    private static final String CREATE_MEDIA_TOPIC = "create-media";
+    private static final String MEDIA_FEATURES_TOPIC = "media-features";
+    private static final String ENGAGEMENT_TOPIC = "engagement-created";
+
+    private static final String CREATE_MEDIA_TYPE_ID = "com.mrs.catalog_service.event.CreateMediaEvent";
+    private static final String MEDIA_FEATURES_TYPE_ID = "com.mrs.catalog_service.event.MediaFeaturesEvent";
+    private static final String INTERACTION_TYPE_ID = "com.mrs.engagement_service.event.InteractionEvent";
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private final KafkaProducer<String, String> producer;
+    private final long intervalNanos;
+
+    private long published;
+    private long startNanos;
+
+    public DatasetPublisher(String bootstrapServers, int eventsPerSecond) {
+        if (eventsPerSecond <= 0) throw new IllegalArgumentException("publish-rate must be positive");
+
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / eventsPerSecond;
+        this.producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 10,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"
+        ));
+    }
+
+    public void publishMedia(GeneratedMedia media) {
+        ObjectNode payload = JSON.createObjectNode().put("mediaId", media.id().toString());
+        ArrayNode genres = payload.putArray("genres");
+        media.genres().forEach(genre -> genres.add(genre.name()));
+
+        send(CREATE_MEDIA_TOPIC, media.id().toString(), payload, CREATE_MEDIA_TYPE_ID);
+
+        ObjectNode features = JSON.createObjectNode()
+                .put("mediaId", media.id().toString())
+                .put("title", media.title())
+                .put("mediaType", media.mediaType().name())
+                .put("releaseYear", media.releaseYear())
+                .put("coverUrl", media.coverUrl());
+        features.set("genres", genres);
+        features.put("version", 0);
+        send(MEDIA_FEATURES_TOPIC, media.id().toString(), features, MEDIA_FEATURES_TYPE_ID);
+    }
+
+    public void publishInteraction(GeneratedInteraction interaction) {
+        ObjectNode payload = JSON.createObjectNode()
+                .put("id", interaction.id())
+                .put("userId", interaction.userId().toString())
+                .put("mediaId", interaction.mediaId().toString())
+                .put("interactionType", interaction.type().name())
+                .put("interactionValue", interaction.interactionValue())
+                .put("timestamp", interaction.timestamp().toString());
+
+        send(ENGAGEMENT_TOPIC, interaction.userId().toString(), payload, INTERACTION_TYPE_ID);
+    }
+
+    public long published() {
+        return published;
+    }
+
+    private void send(String topic, String key, ObjectNode payload, String typeId) {
+        pace();
+
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, key, toJson(payload));
+        record.headers().add("__TypeId__", typeId.getBytes(StandardCharsets.UTF_8));
+        producer.send(record);
+        published++;
+    }
+
+    private static String toJson(ObjectNode payload) {
+        try {
+            return JSON.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Aguarda até o instante planejado do próximo evento, mantendo a taxa média
+     * mesmo quando o envio atrasa pontualmente.
+     */
+    private void pace() {
+        if (published == 0) startNanos = System.nanoTime();
+
+        long wait = startNanos + published * intervalNanos - System.nanoTime();
+        if (wait > 0) LockSupport.parkNanos(wait);
+    }
+
+    @Override
+    public void close() {
+        producer.flush();
+        producer.close();
+    }
+
+}
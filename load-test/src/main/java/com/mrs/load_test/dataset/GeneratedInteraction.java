@@ -0,0 +1,14 @@
+package com.mrs.load_test.dataset;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record GeneratedInteraction(
+        long id,
+        UUID userId,
+        UUID mediaId,
+        InteractionType type,
+        double interactionValue,
+        LocalDateTime timestamp
+) {
+}
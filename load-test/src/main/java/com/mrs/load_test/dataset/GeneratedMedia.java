@@ -0,0 +1,18 @@
+package com.mrs.load_test.dataset;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record GeneratedMedia(
+        UUID id,
+        String title,
+        String description,
+        int releaseYear,
+        MediaType mediaType,
+        String coverUrl,
+        List<Genre> genres,
+        double popularityScore,
+        Instant createdAt
+) {
+}
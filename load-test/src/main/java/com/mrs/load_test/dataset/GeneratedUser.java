@@ -0,0 +1,12 @@
+package com.mrs.load_test.dataset;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record GeneratedUser(
+        UUID id,
+        String name,
+        String email,
+        Instant createdAt
+) {
+}
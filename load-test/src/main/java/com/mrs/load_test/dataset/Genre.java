@@ -0,0 +1,23 @@
+package com.mrs.load_test.dataset;
+
+/**
+ * Espelho de {@code com.mrs.catalog_service.model.Genre}, com o peso relativo de
+ * cada gênero no catálogo sintético.
+ */
+public enum Genre {
+    HORROR(0.15),
+    THRILLER(0.20),
+    COMEDY(0.30),
+    ACTION(0.35);
+
+    private final double weight;
+
+    Genre(double weight) {
+        this.weight = weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.mrs.load_test.dataset;
+
+/**
+ * Espelho de {@code com.mrs.engagement_service.model.InteractionType}, com a
+ * proporção de cada tipo nas interações geradas.
+ */
+public enum InteractionType {
+    LIKE(0.20),
+    DISLIKE(0.10),
+    WATCH(0.70);
+
+    private final double weight;
+
+    InteractionType(double weight) {
+        this.weight = weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+}
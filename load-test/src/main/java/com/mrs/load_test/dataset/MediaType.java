@@ -0,0 +1,6 @@
+package com.mrs.load_test.dataset;
+
+public enum MediaType {
+    MOVIE,
+    SERIES
+}
@@ -0,0 +1,61 @@
+package com.mrs.load_test.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Escreve linhas em uma tabela via {@code COPY ... FROM STDIN} no formato texto do
+ * Postgres, acumulando em um buffer e enviando blocos grandes ao servidor.
+ * <p>
+ * Os valores são gerados pelo próprio dataset e não contêm tabulações, quebras de
+ * linha ou barras invertidas, então nenhum escape é aplicado.
+ * </p>
+ */
+public class PostgresCopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+
+    private long rows;
+
+    public PostgresCopyWriter(Connection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) buffer.append('\t');
+            buffer.append(values[i] == null ? "\\N" : values[i]);
+        }
+        buffer.append('\n');
+        rows++;
+
+        if (buffer.length() >= FLUSH_THRESHOLD) flush();
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!copyIn.isActive()) return;
+
+        flush();
+        copyIn.endCopy();
+    }
+
+}
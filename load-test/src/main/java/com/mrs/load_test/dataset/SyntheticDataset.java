@@ -0,0 +1,166 @@
+package com.mrs.load_test.dataset;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Gera usuários, mídias e interações de forma determinística a partir de uma seed.
+ * <p>
+ * A popularidade das mídias segue Zipf (poucos títulos concentram a maior parte das
+ * interações) e a atividade dos usuários segue uma lei de potência (poucos usuários
+ * muito ativos, cauda longa de usuários esporádicos). Cada tipo de entidade usa seu
+ * próprio gerador derivado da seed, então gerar só as interações de novo produz os
+ * mesmos registros.
+ * </p>
+ */
+public class SyntheticDataset {
+
+    private static final long USERS_STREAM = 0x5DEECE66DL;
+    private static final long MEDIA_STREAM = 0xB5AD4ECEDA1CE2A9L;
+    private static final long INTERACTIONS_STREAM = 0x9E3779B97F4A7C15L;
+
+    private static final String[] TITLE_WORDS = {
+            "Dark", "Last", "Silent", "Broken", "Golden", "Hidden", "Lost", "Wild", "Crimson", "Endless",
+            "Night", "City", "River", "Storm", "Shadow", "Empire", "Signal", "Garden", "Frontier", "Echo"
+    };
+
+    private final DatasetConfig config;
+    private final List<GeneratedUser> users;
+    private final List<GeneratedMedia> media;
+
+    public SyntheticDataset(DatasetConfig config) {
+        this.config = config;
+        this.users = generateUsers();
+        this.media = generateMedia();
+    }
+
+    public List<GeneratedUser> users() {
+        return users;
+    }
+
+    public List<GeneratedMedia> media() {
+        return media;
+    }
+
+    /**
+     * Emite {@code config.interactions()} interações em ordem determinística, com ids
+     * sequenciais a partir de {@code firstId}.
+     */
+    public void interactions(long firstId, Consumer<GeneratedInteraction> sink) {
+        SplittableRandom random = new SplittableRandom(config.seed() ^ INTERACTIONS_STREAM);
+        ZipfDistribution mediaPopularity = new ZipfDistribution(media.size(), config.mediaZipfExponent());
+        ZipfDistribution userActivity = new ZipfDistribution(users.size(), config.userZipfExponent());
+
+        long windowSeconds = config.days() * 86_400L;
+        long untilEpoch = config.until().toEpochSecond(ZoneOffset.UTC);
+
+        for (long i = 0; i < config.interactions(); i++) {
+            GeneratedUser user = users.get(userActivity.sample(random));
+            GeneratedMedia item = media.get(mediaPopularity.sample(random));
+            InteractionType type = pickType(random);
+            double value = type == InteractionType.WATCH ? round(random.nextDouble()) : 1.0;
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(untilEpoch - random.nextLong(windowSeconds), 0, ZoneOffset.UTC);
+
+            sink.accept(new GeneratedInteraction(firstId + i, user.id(), item.id(), type, value, timestamp));
+        }
+    }
+
+    private List<GeneratedUser> generateUsers() {
+        SplittableRandom random = new SplittableRandom(config.seed() ^ USERS_STREAM);
+        Instant base = config.until().minusDays(config.days() * 4L).toInstant(ZoneOffset.UTC);
+
+        List<GeneratedUser> generated = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            generated.add(new GeneratedUser(
+                    uuid(random),
+                    "User " + i,
+                    "user" + i + "@dataset.local",
+                    base.plusSeconds(random.nextLong(config.days() * 86_400L))
+            ));
+        }
+        return generated;
+    }
+
+    /**
+     * A lista é ordenada por popularidade: o índice da mídia é o seu rank na Zipf.
+     */
+    private List<GeneratedMedia> generateMedia() {
+        SplittableRandom random = new SplittableRandom(config.seed() ^ MEDIA_STREAM);
+        ZipfDistribution popularity = new ZipfDistribution(config.media(), config.mediaZipfExponent());
+        Instant base = config.until().minusDays(config.days() * 4L).toInstant(ZoneOffset.UTC);
+
+        List<GeneratedMedia> generated = new ArrayList<>(config.media());
+        for (int rank = 0; rank < config.media(); rank++) {
+            UUID id = uuid(random);
+            String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + rank;
+
+            generated.add(new GeneratedMedia(
+                    id,
+                    title,
+                    "Synthetic description for " + title,
+                    1970 + random.nextInt(57),
+                    random.nextDouble() < 0.65 ? MediaType.MOVIE : MediaType.SERIES,
+                    "https://cdn.dataset.local/covers/" + id + ".jpg",
+                    pickGenres(random),
+                    round(popularity.relativeWeight(rank)),
+                    base.plusSeconds(random.nextLong(config.days() * 86_400L))
+            ));
+        }
+        return generated;
+    }
+
+    /**
+     * Entre um e três gêneros distintos por mídia, sorteados pelos pesos de {@link Genre}.
+     */
+    private static List<Genre> pickGenres(SplittableRandom random) {
+        double roll = random.nextDouble();
+        int count = roll < 0.6 ? 1 : roll < 0.9 ? 2 : 3;
+
+        EnumSet<Genre> genres = EnumSet.noneOf(Genre.class);
+        while (genres.size() < count) {
+            genres.add(pickGenre(random));
+        }
+        return List.copyOf(genres);
+    }
+
+    private static Genre pickGenre(SplittableRandom random) {
+        double roll = random.nextDouble();
+        double cumulative = 0;
+        for (Genre genre : Genre.values()) {
+            cumulative += genre.getWeight();
+            if (roll < cumulative) return genre;
+        }
+        return Genre.values()[Genre.values().length - 1];
+    }
+
+    private static InteractionType pickType(SplittableRandom random) {
+        double roll = random.nextDouble();
+        double cumulative = 0;
+        for (InteractionType type : InteractionType.values()) {
+            cumulative += type.getWeight();
+            if (roll < cumulative) return type;
+        }
+        return InteractionType.WATCH;
+    }
+
+    /**
+     * UUID versão 4 derivado do gerador, para manter o determinismo.
+     */
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+
+}
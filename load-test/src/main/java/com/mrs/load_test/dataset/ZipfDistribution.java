@@ -0,0 +1,52 @@
+package com.mrs.load_test.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuição de Zipf sobre os ranks {@code [0, size)}: a probabilidade do rank
+ * {@code k} é proporcional a {@code 1 / (k + 1)^exponent}.
+ * <p>
+ * A CDF é pré-calculada uma vez, então cada amostra custa uma busca binária.
+ * </p>
+ */
+public class ZipfDistribution {
+
+    private final double[] cdf;
+    private final double exponent;
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) throw new IllegalArgumentException("size must be positive");
+        if (exponent < 0) throw new IllegalArgumentException("exponent can't be negative");
+
+        this.exponent = exponent;
+        this.cdf = new double[size];
+
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += weight(rank);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= sum;
+        }
+    }
+
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+
+    /**
+     * Peso do rank normalizado pelo rank mais popular, no intervalo {@code (0, 1]}.
+     */
+    public double relativeWeight(int rank) {
+        return weight(rank);
+    }
+
+    private double weight(int rank) {
+        return 1.0 / Math.pow(rank + 1, exponent);
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.mrs.load_test.driver;
+
+import com.mrs.load_test.security.JwtTokens;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara a ingestão do mesmo volume de interações pelo caminho unitário
+ * ({@code POST /engagement}) e pelo endpoint em lote ({@code POST /engagement/batch}
+ * com NDJSON), reportando eventos por segundo de cada um.
+ */
+public class IngestBenchmark {
+
+    private static final String[] INTERACTION_TYPES = {"LIKE", "DISLIKE", "WATCH"};
+
+    private final String engagementUrl;
+    private final List<UUID> userIds;
+    private final List<UUID> mediaIds;
+    private final String token;
+    private final HttpClient client;
+
+    public IngestBenchmark(String engagementUrl, JwtTokens jwtTokens, List<UUID> userIds, List<UUID> mediaIds) {
+        this.engagementUrl = engagementUrl;
+        this.userIds = userIds;
+        this.mediaIds = mediaIds;
+        this.token = jwtTokens.issue(userIds.getFirst(), "USER");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public void run(int events, int batchSize, int singleConcurrency, int batchConcurrency, PrintStream out) throws InterruptedException {
+        out.printf("Ingesting %,d events through each path (batch size %,d)%n", events, batchSize);
+
+        Result single = runSingle(events, singleConcurrency);
+        report(out, "POST /engagement", events, single);
+
+        Result batch = runBatch(events, batchSize, batchConcurrency);
+        report(out, "POST /engagement/batch", events, batch);
+
+        if (single.elapsedNanos() > 0 && batch.elapsedNanos() > 0) {
+            out.printf(Locale.ROOT, "Batch speedup: %.1fx%n", (double) single.elapsedNanos() / batch.elapsedNanos());
+        }
+    }
+
+    private Result runSingle(int events, int concurrency) throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    while (next.getAndIncrement() < events) {
+                        if (!post("/engagement", "application/json", interaction())) errors.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        return new Result(System.nanoTime() - start, errors.get());
+    }
+
+    private Result runBatch(int events, int batchSize, int concurrency) throws InterruptedException {
+        AtomicLong remaining = new AtomicLong(events);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    long size;
+                    while ((size = take(remaining, batchSize)) > 0) {
+                        StringBuilder body = new StringBuilder((int) size * 160);
+                        for (long i = 0; i < size; i++) {
+                            body.append(interaction()).append('\n');
+                        }
+                        if (!post("/engagement/batch", "application/x-ndjson", body.toString())) errors.addAndGet(size);
+                    }
+                });
+            }
+        }
+
+        return new Result(System.nanoTime() - start, errors.get());
+    }
+
+    private static long take(AtomicLong remaining, int batchSize) {
+        while (true) {
+            long current = remaining.get();
+            if (current <= 0) return 0;
+
+            long size = Math.min(current, batchSize);
+            if (remaining.compareAndSet(current, current - size)) return size;
+        }
+    }
+
+    private String interaction() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"userId\":\"" + userIds.get(random.nextInt(userIds.size()))
+                + "\",\"mediaId\":\"" + mediaIds.get(random.nextInt(mediaIds.size()))
+                + "\",\"type\":\"" + INTERACTION_TYPES[random.nextInt(INTERACTION_TYPES.length)]
+                + "\",\"interactionValue\":" + random.nextDouble() + "}";
+    }
+
+    private boolean post(String path, String contentType, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(engagementUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", contentType)
+                .timeout(Duration.ofMinutes(2))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void report(PrintStream out, String path, int events, Result result) {
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        out.printf(Locale.ROOT, "%-24s %,10d events  %8.2fs  %,12.0f events/s  %,d errors%n",
+                path, events, seconds, events / seconds, result.errors());
+    }
+
+    private record Result(long elapsedNanos, long errors) {
+    }
+
+}
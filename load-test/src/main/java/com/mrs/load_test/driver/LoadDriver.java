@@ -0,0 +1,168 @@
+package com.mrs.load_test.driver;
+
+import com.mrs.load_test.config.LoadTestConfig;
+import com.mrs.load_test.report.LoadMetrics;
+import com.mrs.load_test.security.JwtTokens;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera a mistura de {@code POST /engagement} e {@code GET /api/recommendations}.
+ * <p>
+ * Em modo fechado ({@code rate = 0}) cada um dos {@code concurrency} workers dispara
+ * a próxima requisição assim que a anterior termina. Em modo aberto as requisições
+ * são agendadas em intervalos fixos e a latência é medida a partir do instante
+ * planejado, evitando o viés de <i>coordinated omission</i>.
+ * </p>
+ */
+public class LoadDriver {
+
+    private static final String[] INTERACTION_TYPES = {"LIKE", "DISLIKE", "WATCH"};
+
+    private final LoadTestConfig config;
+    private final String engagementUrl;
+    private final String recommendationUrl;
+    private final List<UUID> userIds;
+    private final List<UUID> mediaIds;
+    private final String[] tokens;
+    private final LoadMetrics metrics;
+    private final HttpClient client;
+
+    public LoadDriver(
+            LoadTestConfig config,
+            String engagementUrl,
+            String recommendationUrl,
+            JwtTokens jwtTokens,
+            List<UUID> userIds,
+            List<UUID> mediaIds,
+            LoadMetrics metrics
+    ) {
+        this.config = config;
+        this.engagementUrl = engagementUrl;
+        this.recommendationUrl = recommendationUrl;
+        this.userIds = userIds;
+        this.mediaIds = mediaIds;
+        this.metrics = metrics;
+        this.tokens = userIds.stream().map(userId -> jwtTokens.issue(userId, "USER")).toArray(String[]::new);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Registra uma interação por usuário para que todos tenham perfil criado
+     * antes da fase medida (o GET de recomendações falha sem perfil). Usa LIKE porque
+     * WATCH pode ser retido em uma janela de coalescência do engagement-service.
+     */
+    public void seedProfiles() throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < userIds.size(); user++) {
+                int index = user;
+                executor.submit(() -> postEngagement(index, "LIKE"));
+            }
+        }
+    }
+
+    public void run(Duration duration) throws InterruptedException {
+        if (config.openLoop()) {
+            runOpenLoop(duration);
+        } else {
+            runClosedLoop(duration);
+        }
+    }
+
+    private void runClosedLoop(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < config.concurrency(); worker++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    private void runOpenLoop(Duration duration) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < deadline; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                long scheduledAt = intended;
+                executor.submit(() -> execute(scheduledAt));
+            }
+        }
+    }
+
+    private void execute(long startNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(userIds.size());
+
+        if (random.nextDouble() < config.readRatio()) {
+            boolean success = getRecommendations(user);
+            metrics.record(Operation.GET_RECOMMENDATIONS, System.nanoTime() - startNanos, success);
+        } else {
+            boolean success = postEngagement(user, INTERACTION_TYPES[random.nextInt(INTERACTION_TYPES.length)]);
+            metrics.record(Operation.POST_ENGAGEMENT, System.nanoTime() - startNanos, success);
+        }
+    }
+
+    private boolean postEngagement(int user, String type) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = "{\"userId\":\"" + userIds.get(user)
+                + "\",\"mediaId\":\"" + mediaIds.get(random.nextInt(mediaIds.size()))
+                + "\",\"type\":\"" + type
+                + "\",\"interactionValue\":" + random.nextDouble() + "}";
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(engagementUrl + "/engagement"))
+                .header("Authorization", "Bearer " + tokens[user])
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return send(request);
+    }
+
+    private boolean getRecommendations(int user) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(recommendationUrl + "/api/recommendations"))
+                .header("Authorization", "Bearer " + tokens[user])
+                .GET()
+                .build();
+
+        return send(request);
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
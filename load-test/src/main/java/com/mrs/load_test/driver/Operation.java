@@ -0,0 +1,6 @@
+package com.mrs.load_test.driver;
+
+public enum Operation {
+    POST_ENGAGEMENT,
+    GET_RECOMMENDATIONS
+}
@@ -0,0 +1,95 @@
+package com.mrs.load_test.infrastructure;
+
+import com.mrs.load_test.config.LoadTestConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sobe a infraestrutura compartilhada pelos serviços durante o teste de carga:
+ * um broker Kafka KRaft embarcado e um Postgres (embarcado ou externo) com os
+ * bancos de cada serviço.
+ */
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    public static final List<String> DATABASES = List.of("engagement_db", "recommendation_db");
+
+    public static final String ENGAGEMENT_TOPIC = "engagement-created";
+    public static final String CREATE_MEDIA_TOPIC = "create-media";
+    public static final String DELETE_MEDIA_TOPIC = "delete-media";
+    public static final String MEDIA_FEATURES_TOPIC = "media-features";
+
+    private final LoadTestConfig config;
+
+    private EmbeddedPostgres postgres;
+    private EmbeddedKafkaKraftBroker kafka;
+
+    public EmbeddedInfrastructure(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void start() throws IOException, SQLException {
+        if (config.embeddedPostgres()) {
+            postgres = EmbeddedPostgres.builder().start();
+        }
+        createDatabases();
+
+        kafka = new EmbeddedKafkaKraftBroker(1, config.kafkaPartitions());
+        kafka.afterPropertiesSet();
+        kafka.addTopics(
+                new NewTopic(ENGAGEMENT_TOPIC, config.kafkaPartitions(), (short) 1),
+                new NewTopic(CREATE_MEDIA_TOPIC, config.kafkaPartitions(), (short) 1),
+                new NewTopic(DELETE_MEDIA_TOPIC, config.kafkaPartitions(), (short) 1),
+                new NewTopic(MEDIA_FEATURES_TOPIC, config.kafkaPartitions(), (short) 1)
+                        .configs(Map.of(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT))
+        );
+    }
+
+    public String kafkaBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    public String jdbcUrl(String database) {
+        if (postgres != null) return postgres.getJdbcUrl(config.postgresUser(), database);
+
+        String base = config.postgresUrl();
+        return base.substring(0, base.lastIndexOf('/') + 1) + database;
+    }
+
+    public String postgresUser() {
+        return config.postgresUser();
+    }
+
+    public String postgresPassword() {
+        return config.postgresPassword();
+    }
+
+    private void createDatabases() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl("postgres"), postgresUser(), postgresPassword());
+             Statement statement = connection.createStatement()) {
+            for (String database : DATABASES) {
+                try (ResultSet exists = statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + database + "'")) {
+                    if (exists.next()) continue;
+                }
+                statement.execute("CREATE DATABASE " + database);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (kafka != null) kafka.destroy();
+        if (postgres != null) postgres.close();
+    }
+
+}
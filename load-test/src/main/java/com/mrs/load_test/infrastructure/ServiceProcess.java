@@ -0,0 +1,107 @@
+package com.mrs.load_test.infrastructure;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa um microserviço Spring Boot empacotado como processo filho, apontando-o
+ * para a infraestrutura embarcada através de variáveis de ambiente.
+ */
+public class ServiceProcess implements AutoCloseable {
+
+    private final String name;
+    private final Path jar;
+    private final Map<String, String> environment;
+    private final List<String> arguments;
+    private final int port;
+
+    private Process process;
+
+    public ServiceProcess(String name, Path jar, Map<String, String> environment, List<String> arguments) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Jar not found for " + name + ": " + jar.toAbsolutePath() + " (run mvn package first)");
+        }
+        this.name = name;
+        this.jar = jar;
+        this.environment = environment;
+        this.arguments = arguments;
+        this.port = freePort();
+    }
+
+    public void start() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(arguments);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", name + ".log").toFile());
+
+        builder.environment().putAll(environment);
+        builder.environment().put("SERVER_PORT", String.valueOf(port));
+
+        Files.createDirectories(Path.of("target"));
+        process = builder.start();
+    }
+
+    /**
+     * Aguarda o serviço aceitar requisições HTTP. Qualquer resposta (inclusive 401)
+     * indica que o contexto Spring terminou de subir.
+     */
+    public void awaitReady(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl() + "/")).timeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue() + ", see target/" + name + ".log");
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+
+        throw new IllegalStateException(name + " did not start within " + timeout);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (process == null) return;
+
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.mrs.load_test.report;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Calcula o lag de um consumer group em um tópico: soma, por partição, da
+ * diferença entre o último offset publicado e o último offset commitado.
+ */
+public class ConsumerLagProbe implements AutoCloseable {
+
+    private final Admin admin;
+
+    public ConsumerLagProbe(String bootstrapServers) {
+        this.admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+    }
+
+    public long lag(String groupId, String topic) {
+        try {
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = endOffsets(topic);
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata().get();
+
+            long lag = 0;
+            for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> end : endOffsets.entrySet()) {
+                OffsetAndMetadata offset = committed.get(end.getKey());
+                lag += end.getValue().offset() - (offset != null ? offset.offset() : 0);
+            }
+            return lag;
+        } catch (ExecutionException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Total de registros já publicados no tópico, somando o último offset de cada partição.
+     */
+    public long published(String topic) {
+        try {
+            return endOffsets(topic).values().stream().mapToLong(ListOffsetsResult.ListOffsetsResultInfo::offset).sum();
+        } catch (ExecutionException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets(String topic) throws ExecutionException, InterruptedException {
+        Map<TopicPartition, OffsetSpec> partitions = admin.describeTopics(List.of(topic))
+                .allTopicNames().get()
+                .get(topic)
+                .partitions().stream()
+                .collect(Collectors.toMap(p -> new TopicPartition(topic, p.partition()), p -> OffsetSpec.latest()));
+
+        return admin.listOffsets(partitions).all().get();
+    }
+
+    @Override
+    public void close() {
+        admin.close();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.mrs.load_test.report;
+
+import com.mrs.load_test.driver.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coleta latências (em microssegundos) e erros por operação.
+ * <p>
+ * Cada operação usa um {@link Recorder} do HdrHistogram, que permite gravação
+ * concorrente sem lock e extração de histogramas por intervalo para o relatório.
+ * </p>
+ */
+public class LoadMetrics {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private volatile boolean recording;
+
+    public LoadMetrics() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_TRACKABLE_MICROS, 3));
+            totals.put(operation, new Histogram(MAX_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void startRecording() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    public void record(Operation operation, long latencyNanos, boolean success) {
+        if (!recording) return;
+
+        recorders.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        if (!success) errors.get(operation).increment();
+    }
+
+    /**
+     * Retorna o histograma acumulado desde a última chamada e o incorpora ao total.
+     */
+    public synchronized Histogram intervalHistogram(Operation operation) {
+        Histogram interval = recorders.get(operation).getIntervalHistogram();
+        totals.get(operation).add(interval);
+        return interval;
+    }
+
+    public synchronized Histogram total(Operation operation) {
+        return totals.get(operation).copy();
+    }
+
+    public long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.mrs.load_test.report;
+
+import com.mrs.load_test.driver.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imprime, a cada intervalo, throughput, p50/p99/p999 por operação e o lag do
+ * consumer do recommendation-service. Opcionalmente grava as mesmas linhas em CSV
+ * para montar séries temporais de capacity planning.
+ */
+public class LoadReporter implements AutoCloseable {
+
+    private static final String CSV_HEADER = "elapsed_s,operation,requests,throughput_rps,errors,p50_ms,p99_ms,p999_ms,consumer_lag";
+
+    private final LoadMetrics metrics;
+    private final ConsumerLagProbe lagProbe;
+    private final String groupId;
+    private final String topic;
+    private final Duration interval;
+    private final Path csv;
+    private final PrintStream out;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private long startNanos;
+
+    public LoadReporter(LoadMetrics metrics, ConsumerLagProbe lagProbe, String groupId, String topic, Duration interval, Path csv, PrintStream out) {
+        this.metrics = metrics;
+        this.lagProbe = lagProbe;
+        this.groupId = groupId;
+        this.topic = topic;
+        this.interval = interval;
+        this.csv = csv;
+        this.out = out;
+    }
+
+    public void start() throws IOException {
+        if (csv != null) Files.writeString(csv, CSV_HEADER + System.lineSeparator());
+
+        startNanos = System.nanoTime();
+        scheduler.scheduleAtFixedRate(this::report, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void report() {
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        long lag = lagProbe.lag(groupId, topic);
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = metrics.intervalHistogram(operation);
+            double throughput = histogram.getTotalCount() / (double) interval.toSeconds();
+            line(elapsed, operation, histogram, throughput, lag);
+        }
+    }
+
+    /**
+     * Encerra o agendamento e imprime o resumo acumulado da fase medida.
+     */
+    public void summary(Duration measured) {
+        scheduler.shutdownNow();
+        for (Operation operation : Operation.values()) {
+            metrics.intervalHistogram(operation);
+        }
+
+        out.println();
+        out.println("=== Summary (" + measured.toSeconds() + "s) ===");
+        long lag = lagProbe.lag(groupId, topic);
+        for (Operation operation : Operation.values()) {
+            Histogram total = metrics.total(operation);
+            line(measured.toSeconds(), operation, total, total.getTotalCount() / (double) measured.toSeconds(), lag);
+        }
+    }
+
+    private void line(long elapsed, Operation operation, Histogram histogram, double throughput, long lag) {
+        String row = String.format(Locale.ROOT, "%d,%s,%d,%.1f,%d,%.2f,%.2f,%.2f,%d",
+                elapsed,
+                operation,
+                histogram.getTotalCount(),
+                throughput,
+                metrics.errors(operation),
+                millis(histogram, 50.0),
+                millis(histogram, 99.0),
+                millis(histogram, 99.9),
+                lag);
+
+        out.printf(Locale.ROOT, "[%4ds] %-20s %8.1f req/s  p50=%7.2fms  p99=%7.2fms  p999=%7.2fms  errors=%d  lag=%d%n",
+                elapsed, operation, throughput,
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                metrics.errors(operation), lag);
+
+        if (csv == null) return;
+        try {
+            Files.writeString(csv, row + System.lineSeparator(), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            out.println("Unable to write report csv: " + e.getMessage());
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.mrs.load_test.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Emite tokens JWT HS256 equivalentes aos do user-service, assinados com a mesma
+ * chave repassada aos serviços sob teste.
+ */
+public class JwtTokens {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final SecretKeySpec key;
+
+    public JwtTokens(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    public String issue(UUID userId, String role) {
+        long now = Instant.now().getEpochSecond();
+        String payload = "{\"sub\":\"" + userId + "@load.test\",\"userId\":\"" + userId
+                + "\",\"roles\":[\"" + role + "\"],\"iat\":" + now + ",\"exp\":" + (now + 86_400) + "}";
+
+        String unsigned = HEADER + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return unsigned + "." + ENCODER.encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.mrs.load_test.seed;
+
+import com.mrs.load_test.infrastructure.EmbeddedInfrastructure;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Publica eventos {@code create-media} e {@code media-features} no mesmo formato do
+ * catalog-service, para que o engagement-service conheça as mídias e o
+ * recommendation-service tenha {@code medias_features} antes das interações chegarem.
+ */
+public class MediaSeeder {
+
+    /**
+     * Valor do header de tipo gravado pelo {@code JsonSerializer} do catalog-service.
+     */
+    public static final String CREATE_MEDIA_TYPE_ID = "com.mrs.catalog_service.event.CreateMediaEvent";
+    public static final String MEDIA_FEATURES_TYPE_ID = "com.mrs.catalog_service.event.MediaFeaturesEvent";
+
+    private static final String[] GENRES = {"HORROR", "THRILLER", "COMEDY", "ACTION"};
+
+    private final String bootstrapServers;
+
+    public MediaSeeder(String bootstrapServers) {
+        this.bootstrapServers = bootstrapServers;
+    }
+
+    public List<UUID> seed(int count) {
+        List<UUID> mediaIds = new ArrayList<>(count);
+
+        Map<String, Object> config = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 20
+        );
+
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(config)) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < count; i++) {
+                UUID mediaId = UUID.randomUUID();
+                String genre = GENRES[random.nextInt(GENRES.length)];
+                String payload = "{\"mediaId\":\"" + mediaId + "\",\"genres\":[\"" + genre + "\"]}";
+                String features = "{\"mediaId\":\"" + mediaId
+                        + "\",\"title\":\"Seeded " + i
+                        + "\",\"mediaType\":\"MOVIE\",\"releaseYear\":" + (1980 + random.nextInt(45))
+                        + ",\"genres\":[\"" + genre + "\"],\"version\":0}";
+
+                producer.send(record(EmbeddedInfrastructure.CREATE_MEDIA_TOPIC, mediaId, payload, CREATE_MEDIA_TYPE_ID));
+                producer.send(record(EmbeddedInfrastructure.MEDIA_FEATURES_TOPIC, mediaId, features, MEDIA_FEATURES_TYPE_ID));
+
+                mediaIds.add(mediaId);
+            }
+
+            producer.flush();
+        }
+
+        return mediaIds;
+    }
+
+    private static ProducerRecord<String, String> record(String topic, UUID mediaId, String payload, String typeId) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, mediaId.toString(), payload);
+        record.headers().add("__TypeId__", typeId.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.mrs.load_test.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Substituto local do ml-service.
+ * <p>
+ * Responde {@code POST /api/recommendations} com uma lista fixa de mídias após uma
+ * latência configurável ({@code latência base + jitter uniforme}), permitindo medir
+ * o recommendation-service sem depender do serviço Python.
+ * </p>
+ */
+public class MlServiceStub implements AutoCloseable {
+
+    private static final int RECOMMENDATIONS_PER_RESPONSE = 10;
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final List<UUID> mediaIds;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MlServiceStub(long latencyMs, long jitterMs, List<UUID> mediaIds) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.mediaIds = mediaIds;
+    }
+
+    public void start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/recommendations", this::recommend);
+        server.createContext("/health", exchange -> respond(exchange, 200, "{\"status\":\"healthy\"}"));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void recommend(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+
+        try {
+            long jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0;
+            Thread.sleep(latencyMs + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        respond(exchange, 200, recommendationsJson());
+    }
+
+    private String recommendationsJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder json = new StringBuilder("{\"recommendations\":[");
+
+        int count = Math.min(RECOMMENDATIONS_PER_RESPONSE, mediaIds.size());
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            UUID mediaId = mediaIds.get(random.nextInt(mediaIds.size()));
+            double score = random.nextDouble();
+            json.append("{\"media_id\":\"").append(mediaId)
+                    .append("\",\"genres\":[\"ACTION\"],\"popularity_score\":0.5,\"recommendation_score\":")
+                    .append(score).append(",\"content_score\":").append(score).append('}');
+        }
+
+        return json.append("],\"count\":").append(count).append('}').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+}
@@ -71,9 +71,13 @@ def calculate_recommendations():
                 "interacted_media_ids": ["uuid1", "uuid2"],
                 "total_engagement_score": 100.0
             },
-            "limit": 10
+            "limit": 10,
+            "candidate_media_ids": ["uuid3", "uuid4"]
         }
     
+    candidate_media_ids is optional: when present (a filtered request), only those
+    media are scored instead of the top MAX_MEDIA_FETCH_LIMIT by popularity.
+    
     Returns:
         JSON response with scored recommendations
     """
@@ -100,15 +104,35 @@ def calculate_recommendations():
                 'error': f'limit must be an integer between 1 and {MAX_RECOMMENDATIONS_LIMIT}'
             }), 400
         
+        candidate_ids = data.get('candidate_media_ids')
+        
+        # Validate candidates
+        if candidate_ids is not None and (
+            not isinstance(candidate_ids, list)
+            or len(candidate_ids) > MAX_MEDIA_FETCH_LIMIT
+            or not all(isinstance(media_id, str) for media_id in candidate_ids)
+        ):
+            return jsonify({
+                'error': f'candidate_media_ids must be a list of at most {MAX_MEDIA_FETCH_LIMIT} ids'
+            }), 400
+        
         # Extract interacted media IDs to exclude
         interacted_ids = set(user_profile.get('interacted_media_ids', []))
         
-        # Fetch media features from database (excluding already interacted)
-        logger.info(f"Fetching media features for user {user_profile.get('user_id')}, excluding {len(interacted_ids)} interacted media")
-        available_media = media_feature_repo.get_all_media_features(
-            exclude_media_ids=interacted_ids,
-            limit=MAX_MEDIA_FETCH_LIMIT  # Configurable: fetch top N by popularity, then ML ranks
-        )
+        if candidate_ids is not None:
+            # Filtered request: the caller already chose which media may be recommended
+            logger.info(f"Fetching {len(candidate_ids)} candidate media features for user {user_profile.get('user_id')}")
+            available_media = [
+                media for media in media_feature_repo.get_media_features_by_ids(candidate_ids)
+                if media.get('media_id') not in interacted_ids
+            ]
+        else:
+            # Fetch media features from database (excluding already interacted)
+            logger.info(f"Fetching media features for user {user_profile.get('user_id')}, excluding {len(interacted_ids)} interacted media")
+            available_media = media_feature_repo.get_all_media_features(
+                exclude_media_ids=interacted_ids,
+                limit=MAX_MEDIA_FETCH_LIMIT  # Configurable: fetch top N by popularity, then ML ranks
+            )
         
         if not available_media:
             logger.warning("No available media found in database")
@@ -111,6 +111,60 @@ def test_recommendations(base_url):
         return False
 
 
+def test_candidate_recommendations(base_url):
+    """Test that a filtered request only scores the given candidate media"""
+    print("\n" + "="*60)
+    print("Testing Recommendations with candidate_media_ids")
+    print("="*60)
+    
+    candidate_ids = [
+        "00000000-0000-0000-0000-000000000001",
+        "00000000-0000-0000-0000-000000000002",
+        "00000000-0000-0000-0000-000000000003"
+    ]
+    request_data = {
+        "user_profile": {
+            "user_id": "123e4567-e89b-12d3-a456-426614174000",
+            "genre_scores": {"ACTION": 5.0},
+            "interacted_media_ids": [candidate_ids[0]],
+            "total_engagement_score": 100.0
+        },
+        "candidate_media_ids": candidate_ids,
+        "limit": 10
+    }
+    
+    try:
+        response = requests.post(
+            f"{base_url}/api/recommendations",
+            json=request_data,
+            headers={'Content-Type': 'application/json'},
+            timeout=10
+        )
+        print(f"Status Code: {response.status_code}")
+        
+        if response.status_code != 200:
+            print(f"Error Response: {response.text}")
+            return False
+        
+        returned_ids = [rec.get('media_id') for rec in response.json().get('recommendations', [])]
+        print(f"Returned: {returned_ids}")
+        
+        # Only candidates may come back, and never the ones the user already interacted with
+        allowed = set(candidate_ids) - {candidate_ids[0]}
+        if not set(returned_ids) <= allowed:
+            print(f"Unexpected media outside the candidates: {set(returned_ids) - allowed}")
+            return False
+        
+        invalid = dict(request_data, candidate_media_ids="not-a-list")
+        response = requests.post(f"{base_url}/api/recommendations", json=invalid, timeout=10)
+        print(f"Invalid candidate_media_ids Status Code: {response.status_code}")
+        return response.status_code == 400
+        
+    except Exception as e:
+        print(f"Error: {e}")
+        return False
+
+
 def main():
     """Run manual tests"""
     # Configuration
@@ -131,6 +185,9 @@ def main():
     # Test 2: Recommendations with sample data
     results.append(("Calculate Recommendations", test_recommendations(base_url)))
     
+    # Test 3: Recommendations restricted to candidate media
+    results.append(("Candidate Recommendations", test_candidate_recommendations(base_url)))
+    
     # Summary
     print("\n" + "="*60)
     print("Test Summary")
@@ -0,0 +1,109 @@
+package com.mrs.recommendation_service.candidate;
+
+import com.mrs.recommendation_service.model.Recommendation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Mede quanto das recomendações se perde por pontuar só as candidatas por gênero.
+ * <p>
+ * Em uma fração {@code recommendation.candidates.recall-sample-rate} das requisições o
+ * ml-service é chamado de novo sem candidatas, escolhendo ele mesmo o que pontuar, e a
+ * resposta serve de referência: o recall é a parte das recomendações de referência que
+ * também vieram das candidatas. A chamada extra roda numa thread própria, depois que a
+ * resposta do usuário já foi calculada: a requisição não espera por ela nem falha com
+ * ela. Com uma amostra em andamento e outra na fila, as seguintes são descartadas, para
+ * que um ml-service lento não acumule chamadas de referência.
+ * </p>
+ * O recall de cada amostra vai para a distribuição {@code recommendation.candidates.recall}
+ * e o acumulado desde a subida para {@code recommendation.candidates.recall.cumulative}.
+ */
+@Slf4j
+@Component
+public class CandidateRecall {
+
+    private final LongAdder expected = new LongAdder();
+    private final LongAdder found = new LongAdder();
+
+    private final DistributionSummary perSample;
+    private final double sampleRate;
+
+    private final ExecutorService sampler = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            Thread.ofPlatform().name("candidate-recall").daemon().factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public CandidateRecall(
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.candidates.recall-sample-rate:0.01}") double sampleRate
+    ) {
+        this.sampleRate = sampleRate;
+        this.perSample = DistributionSummary.builder("recommendation.candidates.recall")
+                .description("Parte das recomendações de referência que também vieram das candidatas, por amostra")
+                .publishPercentiles(0.1, 0.5, 0.9)
+                .register(meterRegistry);
+
+        Gauge.builder("recommendation.candidates.recall.cumulative", this, CandidateRecall::recall)
+                .description("Recall das candidatas acumulado desde a subida do serviço")
+                .register(meterRegistry);
+    }
+
+    public boolean shouldSample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Busca a referência com {@code reference} em segundo plano e registra o recall de
+     * {@code fromCandidates} contra ela; erros da referência só são registrados no log.
+     */
+    public void sample(List<Recommendation> fromCandidates, Supplier<List<Recommendation>> reference) {
+        sampler.execute(() -> {
+            try {
+                record(fromCandidates, reference.get());
+            } catch (RuntimeException e) {
+                log.warn("Erro ao buscar a referência do recall das candidatas: {}", e.getMessage());
+            }
+        });
+    }
+
+    public void record(List<Recommendation> fromCandidates, List<Recommendation> reference) {
+        if (reference.isEmpty()) return;
+
+        Set<UUID> returned = fromCandidates.stream().map(Recommendation::mediaId).collect(Collectors.toSet());
+        long hits = reference.stream().filter(recommendation -> returned.contains(recommendation.mediaId())).count();
+
+        expected.add(reference.size());
+        found.add(hits);
+        perSample.record((double) hits / reference.size());
+
+        log.debug("Recall das candidatas por gênero: {}/{} nesta amostra", hits, reference.size());
+    }
+
+    public double recall() {
+        long total = expected.sum();
+        return total == 0 ? 1 : (double) found.sum() / total;
+    }
+
+    @PreDestroy
+    public void stop() {
+        sampler.shutdownNow();
+    }
+
+}
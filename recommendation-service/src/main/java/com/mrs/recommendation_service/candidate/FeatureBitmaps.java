@@ -0,0 +1,197 @@
+package com.mrs.recommendation_service.candidate;
+
+import com.mrs.recommendation_service.dto.RecommendationFilter;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Bitmaps das mídias candidatas por tipo, gênero e ano de lançamento, sobre ids densos
+ * atribuídos na ordem em que cada mídia é vista.
+ * <p>
+ * Um filtro vira uma interseção de uniões de bitmaps, e só as mídias que passam nele
+ * são ordenadas por popularidade para formar o lote de candidatas, limitado, enviado
+ * ao ml-service. A ordem por popularidade é calculada em {@link #finishLoading()};
+ * mídias vistas depois entram no fim dela até a próxima carga.
+ * </p>
+ * Não é thread-safe: quem usa protege o acesso.
+ */
+final class FeatureBitmaps {
+
+    /**
+     * Abaixo de uma em {@code SELECTIVE_RATIO} mídias, ordenar só as que passam no filtro
+     * sai mais barato que percorrer a ordem de popularidade procurando por elas.
+     */
+    private static final int SELECTIVE_RATIO = 16;
+
+    private final Map<UUID, Integer> docsById = new HashMap<>();
+    private UUID[] ids = new UUID[1024];
+    private String[] mediaTypes = new String[1024];
+    private int[] releaseYears = new int[1024];
+    private List<String>[] genres = newGenres(1024);
+    private float[] popularity = new float[1024];
+    private int docs;
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byMediaType = new HashMap<>();
+    private final Map<String, RoaringBitmap> byGenre = new HashMap<>();
+    private final TreeMap<Integer, RoaringBitmap> byYear = new TreeMap<>();
+
+    private int[] byPopularity = new int[0];
+    private int ordered;
+
+    /**
+     * Insere ou substitui os atributos de uma mídia.
+     */
+    void put(UUID id, String mediaType, int releaseYear, List<String> mediaGenres, double popularityScore) {
+        Integer existing = docsById.get(id);
+        int doc;
+        if (existing != null) {
+            doc = existing;
+            unindex(doc);
+        } else {
+            doc = docs++;
+            grow(doc);
+            docsById.put(id, doc);
+            ids[doc] = id;
+            append(doc);
+        }
+
+        mediaTypes[doc] = mediaType;
+        releaseYears[doc] = releaseYear;
+        genres[doc] = mediaGenres == null ? List.of() : List.copyOf(mediaGenres);
+        popularity[doc] = (float) popularityScore;
+
+        live.add(doc);
+        if (mediaType != null) byMediaType.computeIfAbsent(mediaType, key -> new RoaringBitmap()).add(doc);
+        byYear.computeIfAbsent(releaseYear, key -> new RoaringBitmap()).add(doc);
+        for (String genre : genres[doc]) {
+            byGenre.computeIfAbsent(genre, key -> new RoaringBitmap()).add(doc);
+        }
+    }
+
+    void remove(UUID id) {
+        Integer doc = docsById.get(id);
+        if (doc == null || !live.contains(doc)) return;
+
+        unindex(doc);
+    }
+
+    double popularity(UUID id) {
+        Integer doc = docsById.get(id);
+        return doc == null ? 0 : popularity[doc];
+    }
+
+    int size() {
+        return live.getCardinality();
+    }
+
+    /**
+     * Reordena todas as mídias por popularidade, da maior para a menor.
+     */
+    void finishLoading() {
+        Integer[] boxed = new Integer[docs];
+        for (int doc = 0; doc < docs; doc++) boxed[doc] = doc;
+        Arrays.sort(boxed, (a, b) -> Float.compare(popularity[b], popularity[a]));
+
+        byPopularity = new int[Math.max(docs, 1024)];
+        for (int i = 0; i < docs; i++) byPopularity[i] = boxed[i];
+        ordered = docs;
+
+        live.runOptimize();
+        byMediaType.values().forEach(RoaringBitmap::runOptimize);
+        byGenre.values().forEach(RoaringBitmap::runOptimize);
+        byYear.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    /**
+     * Até {@code limit} mídias que passam no filtro, fora as de {@code excluded}; quando
+     * passam mais que o limite, ficam as mais populares. A ordem não é garantida.
+     */
+    List<UUID> candidates(RecommendationFilter filter, Collection<UUID> excluded, int limit) {
+        RoaringBitmap matches = live.clone();
+        if (filter.mediaTypes() != null && !filter.mediaTypes().isEmpty()) {
+            matches.and(union(byMediaType, filter.mediaTypes()));
+        }
+        if (filter.genres() != null && !filter.genres().isEmpty()) {
+            matches.and(union(byGenre, filter.genres()));
+        }
+        if (filter.minYear() != null || filter.maxYear() != null) {
+            int from = filter.minYear() == null ? Integer.MIN_VALUE : filter.minYear();
+            int to = filter.maxYear() == null ? Integer.MAX_VALUE : filter.maxYear();
+            matches.and(from > to ? new RoaringBitmap() : RoaringBitmap.or(byYear.subMap(from, true, to, true).values().iterator()));
+        }
+        for (UUID id : excluded) {
+            Integer doc = docsById.get(id);
+            if (doc != null) matches.remove(doc);
+        }
+
+        int cardinality = matches.getCardinality();
+        List<UUID> candidates = new ArrayList<>(Math.min(cardinality, limit));
+
+        if (cardinality <= limit) {
+            matches.forEach((int doc) -> candidates.add(ids[doc]));
+        } else if ((long) cardinality * SELECTIVE_RATIO < docs) {
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(popularity[a], popularity[b]));
+            matches.forEach((int doc) -> {
+                heap.add(doc);
+                if (heap.size() > limit) heap.poll();
+            });
+            heap.forEach(doc -> candidates.add(ids[doc]));
+        } else {
+            for (int i = 0; i < ordered && candidates.size() < limit; i++) {
+                if (matches.contains(byPopularity[i])) candidates.add(ids[byPopularity[i]]);
+            }
+        }
+        return candidates;
+    }
+
+    private static RoaringBitmap union(Map<String, RoaringBitmap> bitmaps, Set<String> values) {
+        RoaringBitmap union = new RoaringBitmap();
+        for (String value : values) {
+            RoaringBitmap bitmap = bitmaps.get(value);
+            if (bitmap != null) union.or(bitmap);
+        }
+        return union;
+    }
+
+    private void unindex(int doc) {
+        live.remove(doc);
+        if (mediaTypes[doc] != null) byMediaType.get(mediaTypes[doc]).remove(doc);
+        byYear.get(releaseYears[doc]).remove(doc);
+        for (String genre : genres[doc]) {
+            byGenre.get(genre).remove(doc);
+        }
+    }
+
+    private void append(int doc) {
+        if (ordered == byPopularity.length) byPopularity = Arrays.copyOf(byPopularity, Math.max(1024, ordered * 2));
+        byPopularity[ordered++] = doc;
+    }
+
+    private void grow(int doc) {
+        if (doc < ids.length) return;
+
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        mediaTypes = Arrays.copyOf(mediaTypes, capacity);
+        releaseYears = Arrays.copyOf(releaseYears, capacity);
+        genres = Arrays.copyOf(genres, capacity);
+        popularity = Arrays.copyOf(popularity, capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newGenres(int capacity) {
+        return new List[capacity];
+    }
+
+}
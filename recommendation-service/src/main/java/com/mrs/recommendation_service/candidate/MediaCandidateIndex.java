@@ -0,0 +1,147 @@
+package com.mrs.recommendation_service.candidate;
+
+import com.mrs.commons.index.RebuildableIndex;
+import com.mrs.recommendation_service.dto.RecommendationFilter;
+import com.mrs.recommendation_service.exception.CandidatesUnavailableException;
+import com.mrs.recommendation_service.model.MediaFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seleção das mídias candidatas de uma recomendação filtrada, nos bitmaps em memória,
+ * antes de o ml-service pontuar qualquer uma.
+ * <p>
+ * Reconstruído a partir de {@code medias_features} quando o serviço sobe, em segundo
+ * plano, e de novo a cada {@code recommendation.candidates.refresh-interval-ms} para
+ * acompanhar a popularidade, que não chega pelos eventos. Entre as cargas é mantido pelo
+ * consumidor de {@code media-features}; o que muda durante uma reconstrução é reaplicado
+ * no novo índice antes da troca ({@link RebuildableIndex}).
+ * </p>
+ */
+@Slf4j
+@Component
+public class MediaCandidateIndex {
+
+    private static final String PAGE_AFTER = """
+            SELECT media_id, media_type, release_year, genres, popularity_score
+            FROM medias_features
+            WHERE media_id > ?
+            ORDER BY media_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RebuildableIndex<FeatureBitmaps> current = new RebuildableIndex<>(new FeatureBitmaps());
+
+    @Value("${recommendation.candidates.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    public MediaCandidateIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Até {@code limit} mídias que passam no filtro e que o usuário ainda não viu,
+     * preferindo as mais populares.
+     *
+     * @throws CandidatesUnavailableException enquanto a primeira carga não termina, já que
+     *                                        um índice parcial esconderia mídias que passam no filtro.
+     */
+    public List<UUID> candidates(RecommendationFilter filter, Collection<UUID> excluded, int limit) {
+        if (!current.isReady()) throw new CandidatesUnavailableException("Candidate index is still loading, retry later");
+
+        return current.read(index -> index.candidates(filter, excluded, limit));
+    }
+
+    public boolean isReady() {
+        return current.isReady();
+    }
+
+    public void put(MediaFeature mediaFeature) {
+        current.write(index -> index.put(
+                mediaFeature.getMediaId(),
+                mediaFeature.getMediaType(),
+                mediaFeature.getReleaseYear() == null ? 0 : mediaFeature.getReleaseYear(),
+                mediaFeature.getGenres(),
+                mediaFeature.getPopularityScore()
+        ));
+    }
+
+    public void remove(UUID mediaId) {
+        current.write(index -> index.remove(mediaId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofPlatform().daemon().name("media-candidates-rebuild").start(this::rebuild);
+    }
+
+    @Scheduled(
+            initialDelayString = "${recommendation.candidates.refresh-interval-ms:600000}",
+            fixedDelayString = "${recommendation.candidates.refresh-interval-ms:600000}"
+    )
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Relê {@code medias_features} e troca os bitmaps atuais pelos reconstruídos.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        FeatureBitmaps rebuilt;
+        try {
+            rebuilt = current.rebuild(this::load);
+        } catch (RuntimeException e) {
+            log.error("Erro ao reconstruir os bitmaps de candidatas: {}", e.getMessage(), e);
+            return;
+        }
+        if (rebuilt == null) return;
+
+        log.info("Bitmaps de candidatas reconstruídos: {} mídias em {} ms",
+                rebuilt.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private FeatureBitmaps load() {
+        FeatureBitmaps loaded = new FeatureBitmaps();
+
+        UUID after = new UUID(0, 0);
+        while (true) {
+            List<UUID> page = new ArrayList<>(rebuildBatchSize);
+            jdbcTemplate.query(PAGE_AFTER, (ResultSet rs) -> {
+                UUID mediaId = rs.getObject("media_id", UUID.class);
+                loaded.put(mediaId, rs.getString("media_type"), rs.getInt("release_year"),
+                        genres(rs.getArray("genres")), rs.getDouble("popularity_score"));
+                page.add(mediaId);
+            }, after, rebuildBatchSize);
+
+            if (page.isEmpty()) break;
+            after = page.getLast();
+            if (page.size() < rebuildBatchSize) break;
+        }
+        loaded.finishLoading();
+        return loaded;
+    }
+
+    private static List<String> genres(Array array) throws SQLException {
+        if (array == null) return List.of();
+
+        return Arrays.asList((String[]) array.getArray());
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.mrs.recommendation_service.consumer;
+
+import com.mrs.recommendation_service.candidate.MediaCandidateIndex;
+import com.mrs.recommendation_service.event.MediaFeaturesEvent;
+import com.mrs.recommendation_service.model.MediaCard;
+import com.mrs.recommendation_service.model.MediaFeature;
+import com.mrs.recommendation_service.repository.MediaCardRepository;
+import com.mrs.recommendation_service.repository.MediaFeatureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mantém {@code medias_features} e a projeção de exibição {@code media_cards} a partir do
+ * tópico compactado {@code media-features}: cada mensagem traz o estado completo da mídia
+ * e um valor nulo (tombstone) a remove das duas tabelas.
+ * <p>
+ * Como o tópico guarda a última versão de cada mídia sem limite de tempo, ler do início
+ * reconstrói o catálogo inteiro em uma passada de tamanho proporcional ao número de
+ * mídias. Isso é feito automaticamente quando uma das tabelas está vazia ao receber as
+ * partições, mesmo que o grupo já tenha offsets commitados; é assim que os cards são
+ * preenchidos na primeira vez que o serviço sobe com eles.
+ * </p>
+ * Depois do commit, a mesma mudança é aplicada em {@link MediaCandidateIndex}.
+ */
+@Slf4j
+@Component
+public class MediaFeaturesConsumerEvent implements ConsumerSeekAware {
+
+    private final MediaFeatureRepository mediaFeatureRepository;
+    private final MediaCardRepository mediaCardRepository;
+    private final MediaCandidateIndex mediaCandidateIndex;
+
+    public MediaFeaturesConsumerEvent(
+            MediaFeatureRepository mediaFeatureRepository,
+            MediaCardRepository mediaCardRepository,
+            MediaCandidateIndex mediaCandidateIndex
+    ) {
+        this.mediaFeatureRepository = mediaFeatureRepository;
+        this.mediaCardRepository = mediaCardRepository;
+        this.mediaCandidateIndex = mediaCandidateIndex;
+    }
+
+    @KafkaListener(topics = "media-features", groupId = "recommendation-service")
+    @Transactional
+    public void listen(ConsumerRecord<String, MediaFeaturesEvent> record){
+        UUID mediaId = UUID.fromString(record.key());
+        MediaFeaturesEvent event = record.value();
+
+        if (event == null) {
+            mediaFeatureRepository.deleteById(mediaId);
+            mediaCardRepository.deleteById(mediaId);
+            afterCommit(() -> mediaCandidateIndex.remove(mediaId));
+            return;
+        }
+
+        MediaFeature mediaFeature = mediaFeatureRepository.findById(mediaId)
+                .orElseGet(() -> new MediaFeature(mediaId, event.genres()));
+        mediaFeature.setGenres(event.genres());
+        mediaFeature.setMediaType(event.mediaType());
+        mediaFeature.setReleaseYear(event.releaseYear());
+
+        mediaFeatureRepository.save(mediaFeature);
+        afterCommit(() -> mediaCandidateIndex.put(mediaFeature));
+
+        MediaCard mediaCard = mediaCardRepository.findById(mediaId).orElseGet(MediaCard::new);
+        mediaCard.setMediaId(mediaId);
+        mediaCard.setTitle(event.title());
+        mediaCard.setCoverUrl(event.coverUrl());
+        mediaCard.setMediaType(event.mediaType());
+        mediaCard.setReleaseYear(event.releaseYear());
+
+        mediaCardRepository.save(mediaCard);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (assignments.isEmpty()) return;
+        if (mediaFeatureRepository.count() > 0 && mediaCardRepository.count() > 0) return;
+
+        log.info("medias_features ou media_cards vazia: relendo media-features desde o início em {} partições", assignments.size());
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+}
@@ -1,14 +1,19 @@
 package com.mrs.recommendation_service.controller;
 
-import com. mrs.recommendation_service.model.Recommendation;
+import com.mrs.recommendation_service.dto.RecommendationCard;
+import com.mrs.recommendation_service.dto.RecommendationFilter;
 import com. mrs.recommendation_service.provider.UserAuthenticationProvider;
 import com. mrs.recommendation_service.service. RecommendationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework. web.bind.annotation. GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework. web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/recommendations")
@@ -25,17 +30,38 @@ public class RecommendationController {
     }
 
     /**
-     * Retorna as recomendações para o usuário autenticado.
+     * Retorna as recomendações para o usuário autenticado, já com título, capa, tipo e
+     * ano de cada mídia.
+     * <p>
+     * {@code type} e {@code genre} podem se repetir (qualquer um dos valores serve);
+     * {@code minYear} e {@code maxYear} limitam o ano de lançamento, inclusive. Sem
+     * nenhum deles, o catálogo inteiro é considerado.
+     * </p>
      *
-     * @return Lista de recomendações do usuário
+     * @return Lista de cards de recomendação do usuário
      */
     @GetMapping
-    public ResponseEntity<List<Recommendation>> getRecommendations() {
+    public ResponseEntity<List<RecommendationCard>> getRecommendations(
+            @RequestParam(name = "type", required = false) Set<String> types,
+            @RequestParam(name = "genre", required = false) Set<String> genres,
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear
+    ) {
         var userId = userAuthenticationProvider.getUserId();
 
-        var recommendations = recommendationService.get(userId);
+        var filter = new RecommendationFilter(upperCase(types), upperCase(genres), minYear, maxYear);
+        var recommendations = recommendationService.get(userId, filter);
 
         return ResponseEntity. ok(recommendations);
     }
 
+    private static Set<String> upperCase(Set<String> values) {
+        if (values == null) return Set.of();
+
+        return values.stream()
+                .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
 }
\ No newline at end of file
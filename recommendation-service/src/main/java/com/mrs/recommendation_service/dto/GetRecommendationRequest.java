@@ -1,5 +1,6 @@
 package com.mrs.recommendation_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mrs.recommendation_service.model.UserProfile;
 import lombok.AllArgsConstructor;
@@ -23,6 +24,13 @@ public class GetRecommendationRequest {
 
     private Integer limit;
 
+    /**
+     * Quando presente, o ml-service pontua só estas mídias em vez do catálogo inteiro.
+     */
+    @JsonProperty("candidate_media_ids")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> candidateMediaIds;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,23 @@
+package com.mrs.recommendation_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomendação pronta para exibição: os escores do ml-service com os campos da mídia
+ * vindos da projeção local.
+ */
+public record RecommendationCard(
+        @JsonProperty("media_id") UUID mediaId,
+        String title,
+        @JsonProperty("cover_url") String coverUrl,
+        @JsonProperty("media_type") String mediaType,
+        @JsonProperty("release_year") int releaseYear,
+        List<String> genres,
+        @JsonProperty("popularity_score") Double popularityScore,
+        @JsonProperty("recommendation_score") Double recommendationScore,
+        @JsonProperty("content_score") Double contentScore
+) {
+}
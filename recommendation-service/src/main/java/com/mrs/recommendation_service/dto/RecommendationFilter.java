@@ -0,0 +1,32 @@
+package com.mrs.recommendation_service.dto;
+
+import java.util.Set;
+
+/**
+ * Restrições de uma linha de recomendações: valores do mesmo atributo se somam (qualquer
+ * um deles) e atributos diferentes se restringem; {@code minYear}/{@code maxYear}
+ * delimitam o ano de lançamento, inclusive.
+ */
+public record RecommendationFilter(
+        Set<String> mediaTypes,
+        Set<String> genres,
+        Integer minYear,
+        Integer maxYear
+) {
+
+    public static final RecommendationFilter NONE = new RecommendationFilter(Set.of(), Set.of(), null, null);
+
+    public RecommendationFilter {
+        if (minYear != null && maxYear != null && minYear > maxYear) {
+            throw new IllegalArgumentException("minYear must not be greater than maxYear");
+        }
+    }
+
+    public boolean isEmpty() {
+        return (mediaTypes == null || mediaTypes.isEmpty())
+                && (genres == null || genres.isEmpty())
+                && minYear == null
+                && maxYear == null;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.mrs.recommendation_service.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado de uma mídia publicado pelo catalog-service em {@code media-features}; aqui
+ * só os campos usados pela recomendação e pelos cards devolvidos ao cliente.
+ */
+public record MediaFeaturesEvent(
+        UUID mediaId,
+        String title,
+        String mediaType,
+        int releaseYear,
+        String coverUrl,
+        List<String> genres
+) {
+}
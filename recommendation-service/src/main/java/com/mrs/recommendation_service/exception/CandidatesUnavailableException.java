@@ -0,0 +1,13 @@
+package com.mrs.recommendation_service.exception;
+
+/**
+ * As candidatas de uma recomendação filtrada ainda não podem ser calculadas, porque o
+ * índice em memória não terminou a primeira carga.
+ */
+public class CandidatesUnavailableException extends RuntimeException {
+
+    public CandidatesUnavailableException(String message) {
+        super(message);
+    }
+
+}
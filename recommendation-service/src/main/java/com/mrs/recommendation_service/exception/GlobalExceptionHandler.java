@@ -0,0 +1,29 @@
+package com.mrs.recommendation_service.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Traduz as exceções de regra de negócio em respostas HTTP.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    @ExceptionHandler(CandidatesUnavailableException.class)
+    public ResponseEntity<String> handleCandidatesUnavailable(CandidatesUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(e.getMessage());
+    }
+
+}
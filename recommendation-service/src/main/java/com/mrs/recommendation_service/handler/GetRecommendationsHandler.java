@@ -1,40 +1,129 @@
 package com.mrs.recommendation_service.handler;
 
+import com.mrs.recommendation_service.candidate.CandidateRecall;
+import com.mrs.recommendation_service.candidate.MediaCandidateIndex;
 import com.mrs.recommendation_service.dto.GetRecommendationRequest;
+import com.mrs.recommendation_service.dto.RecommendationFilter;
 import com.mrs.recommendation_service.dto.RecommendationMlResponse;
 import com.mrs.recommendation_service.model.Recommendation;
 import com.mrs.recommendation_service.model.UserProfile;
+import com.mrs.recommendation_service.repository.MediaFeatureReadRepository;
 import com.mrs.recommendation_service.repository.UserProfileRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class GetRecommendationsHandler {
 
     private final UserProfileRepository userProfileRepository;
+    private final MediaCandidateIndex mediaCandidateIndex;
+    private final MediaFeatureReadRepository mediaFeatureReadRepository;
+    private final CandidateRecall candidateRecall;
     private final RestClient restClient;
 
-    @Value("${ml. service.url:http://ml-service:5000}")
+    @Value("${ml.service.url:http://ml-service:5000}")
     private String mlServiceUrl;
 
-    public GetRecommendationsHandler(UserProfileRepository userProfileRepository, RestClient.Builder restClientBuilder) {
+    @Value("${recommendation.candidates.max:1000}")
+    private int maxCandidates;
+
+    @Value("${recommendation.candidates.by-genre.max:200}")
+    private int maxGenreCandidates;
+
+    @Value("${recommendation.candidates.by-genre.top-genres:3}")
+    private int topGenres;
+
+    public GetRecommendationsHandler(
+            UserProfileRepository userProfileRepository,
+            MediaCandidateIndex mediaCandidateIndex,
+            MediaFeatureReadRepository mediaFeatureReadRepository,
+            CandidateRecall candidateRecall,
+            RestClient.Builder restClientBuilder
+    ) {
         this.userProfileRepository = userProfileRepository;
+        this.mediaCandidateIndex = mediaCandidateIndex;
+        this.mediaFeatureReadRepository = mediaFeatureReadRepository;
+        this.candidateRecall = candidateRecall;
         this.restClient = restClientBuilder.build();
     }
 
-    public List<Recommendation> execute(UUID userId) {
+    /**
+     * Recomendações do usuário, restritas às mídias que passam em {@code filter}.
+     * <p>
+     * Com filtro, as candidatas saem dos bitmaps de {@link MediaCandidateIndex} (as mais
+     * populares, até {@code recommendation.candidates.max}, sem as já vistas) e só elas
+     * são enviadas para pontuação; se nenhuma mídia passa, o ml-service nem é chamado.
+     * Sem filtro, as candidatas são as mais populares dos gêneros preferidos do usuário
+     * somadas às mais populares do catálogo, até {@code recommendation.candidates.by-genre.max};
+     * sem gêneros no perfil, o ml-service escolhe por popularidade como antes.
+     * </p>
+     */
+    public List<Recommendation> execute(UUID userId, RecommendationFilter filter) {
         UserProfile userProfile = userProfileRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User profile not found"));
 
-        GetRecommendationRequest request = GetRecommendationRequest.builder()
+        Collection<UUID> excluded = userProfile.getInteractedMediaIds() != null ? userProfile.getInteractedMediaIds() : List.of();
+
+        if (!filter.isEmpty()) {
+            List<UUID> candidates = mediaCandidateIndex.candidates(filter, excluded, maxCandidates);
+            if (candidates.isEmpty()) return List.of();
+
+            return score(userProfile, candidates);
+        }
+
+        List<UUID> candidates = genreCandidates(userProfile, excluded);
+        if (candidates.isEmpty()) return score(userProfile, null);
+
+        List<Recommendation> recommendations = score(userProfile, candidates);
+        if (candidateRecall.shouldSample()) {
+            GetRecommendationRequest reference = request(userProfile, null);
+            candidateRecall.sample(recommendations, () -> score(reference));
+        }
+        return recommendations;
+    }
+
+    private List<UUID> genreCandidates(UserProfile userProfile, Collection<UUID> excluded) {
+        if (maxGenreCandidates <= 0 || userProfile.getGenreScores() == null) return List.of();
+
+        List<String> genres = userProfile.getGenreScores().entrySet().stream()
+                .filter(score -> score.getValue() != null && score.getValue() > 0)
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(topGenres)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (genres.isEmpty()) return List.of();
+
+        return mediaFeatureReadRepository.findCandidateIds(genres, excluded, maxGenreCandidates);
+    }
+
+    /**
+     * Pontua {@code candidates} no ml-service; com {@code null}, ele mesmo escolhe o que
+     * pontuar.
+     */
+    private List<Recommendation> score(UserProfile userProfile, List<UUID> candidates) {
+        return score(request(userProfile, candidates));
+    }
+
+    /**
+     * Montado na thread da requisição, já que lê o perfil carregado pelo JPA.
+     */
+    private static GetRecommendationRequest request(UserProfile userProfile, List<UUID> candidates) {
+        List<String> candidateMediaIds = candidates == null ? null : candidates.stream().map(UUID::toString).toList();
+
+        return GetRecommendationRequest.builder()
                 .userProfile(GetRecommendationRequest.UserProfileDTO.fromEntity(userProfile))
                 .limit(10)
+                .candidateMediaIds(candidateMediaIds)
                 .build();
+    }
 
+    private List<Recommendation> score(GetRecommendationRequest request) {
         RecommendationMlResponse recommendationMlResponse = restClient.post()
                 .uri(mlServiceUrl + "/api/recommendations")
                 .body(request)
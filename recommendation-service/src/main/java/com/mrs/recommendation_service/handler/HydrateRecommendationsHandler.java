@@ -0,0 +1,62 @@
+package com.mrs.recommendation_service.handler;
+
+import com.mrs.recommendation_service.dto.RecommendationCard;
+import com.mrs.recommendation_service.model.MediaCard;
+import com.mrs.recommendation_service.model.Recommendation;
+import com.mrs.recommendation_service.repository.MediaCardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class HydrateRecommendationsHandler {
+
+    private final MediaCardRepository mediaCardRepository;
+
+    public HydrateRecommendationsHandler(MediaCardRepository mediaCardRepository) {
+        this.mediaCardRepository = mediaCardRepository;
+    }
+
+    /**
+     * Completa as recomendações com a projeção local em uma única consulta, mantendo a
+     * ordem do ml-service. Uma mídia sem card (removida ou ainda não projetada) fica de
+     * fora, em vez de chegar ao cliente sem título.
+     */
+    public List<RecommendationCard> execute(List<Recommendation> recommendations) {
+        if (recommendations == null || recommendations.isEmpty()) return List.of();
+
+        List<UUID> mediaIds = recommendations.stream().map(Recommendation::mediaId).toList();
+        Map<UUID, MediaCard> cards = mediaCardRepository.findAllById(mediaIds).stream()
+                .collect(Collectors.toMap(MediaCard::getMediaId, Function.identity()));
+
+        List<RecommendationCard> hydrated = new ArrayList<>(recommendations.size());
+        for (Recommendation recommendation : recommendations) {
+            MediaCard card = cards.get(recommendation.mediaId());
+            if (card == null) {
+                log.debug("Recomendação sem card local para a mídia {}", recommendation.mediaId());
+                continue;
+            }
+
+            hydrated.add(new RecommendationCard(
+                    recommendation.mediaId(),
+                    card.getTitle(),
+                    card.getCoverUrl(),
+                    card.getMediaType(),
+                    card.getReleaseYear(),
+                    recommendation.genres(),
+                    recommendation.popularityScore(),
+                    recommendation.recommendationScore(),
+                    recommendation.contentScore()
+            ));
+        }
+        return hydrated;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.mrs.recommendation_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Projeção local dos campos de exibição de uma mídia, mantida pelo tópico
+ * {@code media-features} para montar os cards sem consultar o catalog-service.
+ * <p>
+ * Fica fora de {@code medias_features} para que a varredura de candidatos do ml-service
+ * continue lendo linhas estreitas.
+ * </p>
+ */
+@Entity
+@Table(name = "media_cards")
+@Data
+public class MediaCard {
+
+    @Id
+    private UUID mediaId;
+
+    /**
+     * Nulo quando o catálogo não tem título para a mídia; o card é exibido mesmo assim.
+     */
+    private String title;
+
+    private String coverUrl;
+
+    @Column(length = 16)
+    private String mediaType;
+
+    @Column(columnDefinition = "smallint")
+    private int releaseYear;
+
+}
@@ -24,6 +24,16 @@ public class MediaFeature {
     @Column(name = "genres", columnDefinition = "text[]")
     private List<String> genres;
 
+    @Column(length = 16)
+    private String mediaType;
+
+    /**
+     * Nulo nas linhas gravadas antes de o tipo e o ano serem publicados; ficam fora de
+     * qualquer filtro por ano até a mídia ser atualizada.
+     */
+    @Column(columnDefinition = "smallint")
+    private Integer releaseYear;
+
     private double popularityScore;
 
     public MediaFeature(){
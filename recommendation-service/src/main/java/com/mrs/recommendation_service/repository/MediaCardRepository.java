@@ -0,0 +1,11 @@
+package com.mrs.recommendation_service.repository;
+
+import com.mrs.recommendation_service.model.MediaCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface MediaCardRepository extends JpaRepository<MediaCard, UUID> {
+}
@@ -0,0 +1,74 @@
+package com.mrs.recommendation_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consultas de {@code medias_features} direto por JDBC, fora do contexto de persistência.
+ */
+@Repository
+public class MediaFeatureReadRepository {
+
+    private static final String GENRE_HEAD = """
+            (SELECT media_id FROM medias_features
+             WHERE genres @> ARRAY[?]::text[] AND NOT (media_id = ANY (?))
+             ORDER BY popularity_score DESC
+             LIMIT ?)""";
+
+    private static final String POPULARITY_HEAD = """
+            (SELECT media_id FROM medias_features
+             WHERE NOT (media_id = ANY (?))
+             ORDER BY popularity_score DESC
+             LIMIT ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MediaFeatureReadRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Até {@code limit} mídias candidatas para quem prefere {@code genres}: a união das
+     * mais populares de cada gênero com as mais populares do catálogo, em partes iguais
+     * do limite, sem as de {@code excluded}.
+     * <p>
+     * Uma mídia com vários dos gêneros aparece em várias das listas e ocupa uma vaga só,
+     * então as que cruzam os gêneros do usuário sobram mais na união. Cada lista é uma
+     * consulta limitada: pelo índice de popularidade quando o gênero é comum e pelo GIN
+     * de {@code genres} quando é raro, sem ordenar o catálogo inteiro.
+     * </p>
+     */
+    public List<UUID> findCandidateIds(List<String> genres, Collection<UUID> excluded, int limit) {
+        int perHead = Math.max(1, limit / (genres.size() + 1));
+        List<String> heads = new ArrayList<>(Collections.nCopies(genres.size(), GENRE_HEAD));
+        heads.add(POPULARITY_HEAD);
+        String sql = String.join(" UNION ", heads);
+
+        return jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql);
+                    Array seen = connection.createArrayOf("uuid", excluded.toArray());
+                    int index = 1;
+                    for (String genre : genres) {
+                        statement.setString(index++, genre);
+                        statement.setArray(index++, seen);
+                        statement.setInt(index++, perHead);
+                    }
+                    statement.setArray(index++, seen);
+                    statement.setInt(index, perHead);
+                    return statement;
+                },
+                (ResultSet rs, int rowNum) -> rs.getObject("media_id", UUID.class)
+        );
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.mrs.recommendation_service.service;
 
+import com.mrs.recommendation_service.dto.RecommendationCard;
+import com.mrs.recommendation_service.dto.RecommendationFilter;
 import com.mrs.recommendation_service.handler.GetRecommendationsHandler;
-import com.mrs.recommendation_service.model.Recommendation;
+import com.mrs.recommendation_service.handler.HydrateRecommendationsHandler;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,13 +13,15 @@ import java.util.UUID;
 public class RecommendationService {
 
     private final GetRecommendationsHandler getRecommendationsHandler;
+    private final HydrateRecommendationsHandler hydrateRecommendationsHandler;
 
-    public RecommendationService(GetRecommendationsHandler getRecommendationsHandler) {
+    public RecommendationService(GetRecommendationsHandler getRecommendationsHandler, HydrateRecommendationsHandler hydrateRecommendationsHandler) {
         this.getRecommendationsHandler = getRecommendationsHandler;
+        this.hydrateRecommendationsHandler = hydrateRecommendationsHandler;
     }
 
-    public List<Recommendation> get(UUID userId){
-        return getRecommendationsHandler.execute(userId);
+    public List<RecommendationCard> get(UUID userId, RecommendationFilter filter){
+        return hydrateRecommendationsHandler.execute(getRecommendationsHandler.execute(userId, filter));
     }
 
 }
@@ -0,0 +1,7 @@
+-- Executado depois do ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+
+-- Recuperação das candidatas por gênero (MediaFeatureReadRepository.findCandidateIds).
+CREATE INDEX IF NOT EXISTS ix_medias_features_genres ON medias_features USING gin (genres);
+
+-- Mais populares primeiro, nas candidatas por gênero e na busca padrão do ml-service.
+CREATE INDEX IF NOT EXISTS ix_medias_features_popularity ON medias_features (popularity_score DESC);
@@ -0,0 +1,80 @@
+package com.mrs.recommendation_service.candidate;
+
+import com.mrs.recommendation_service.model.Recommendation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CandidateRecallTest {
+
+    private static Recommendation recommendation(long id) {
+        return new Recommendation(new UUID(0, id), List.of(), 0.0, 0.0, 0.0);
+    }
+
+    @Test
+    @DisplayName("Deve publicar o recall de cada amostra e o acumulado nas métricas")
+    void record_ShouldPublishRecall_WhenSampled() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CandidateRecall recall = new CandidateRecall(registry, 0.01);
+
+        // Act
+        recall.record(List.of(recommendation(1), recommendation(2)),
+                List.of(recommendation(1), recommendation(2), recommendation(3), recommendation(4)));
+        recall.record(List.of(recommendation(5)), List.of(recommendation(5)));
+
+        // Assert
+        DistributionSummary perSample = registry.get("recommendation.candidates.recall").summary();
+        assertThat(perSample.count()).isEqualTo(2);
+        assertThat(perSample.totalAmount()).isCloseTo(1.5, within(1e-9));
+        assertThat(registry.get("recommendation.candidates.recall.cumulative").gauge().value())
+                .isCloseTo(0.6, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar amostra quando não há recomendações de referência")
+    void record_ShouldSkip_WhenReferenceIsEmpty() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CandidateRecall recall = new CandidateRecall(registry, 0.01);
+
+        // Act
+        recall.record(List.of(recommendation(1)), List.of());
+
+        // Assert
+        assertThat(registry.get("recommendation.candidates.recall").summary().count()).isZero();
+        assertThat(recall.recall()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve calcular a referência em segundo plano, sem repassar erros ao chamador")
+    void sample_ShouldRecordInBackground_AndSwallowReferenceErrors() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CandidateRecall recall = new CandidateRecall(registry, 1);
+        DistributionSummary perSample = registry.get("recommendation.candidates.recall").summary();
+
+        // Act
+        recall.sample(List.of(recommendation(1)), () -> {
+            throw new IllegalStateException("ml-service timeout");
+        });
+        recall.sample(List.of(recommendation(1)), () -> List.of(recommendation(1), recommendation(2)));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (perSample.count() == 0 && System.nanoTime() < deadline) LockSupport.parkNanos(1_000_000);
+        recall.stop();
+
+        // Assert
+        assertThat(perSample.count()).isEqualTo(1);
+        assertThat(recall.recall()).isEqualTo(0.5);
+    }
+
+}
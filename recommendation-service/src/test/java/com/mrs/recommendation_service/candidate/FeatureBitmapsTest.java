@@ -0,0 +1,74 @@
+package com.mrs.recommendation_service.candidate;
+
+import com.mrs.recommendation_service.dto.RecommendationFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureBitmapsTest {
+
+    private static final UUID ACTION_MOVIE_2010 = new UUID(0, 1);
+    private static final UUID DRAMA_MOVIE_2015 = new UUID(0, 2);
+    private static final UUID ACTION_SERIES_2020 = new UUID(0, 3);
+    private static final UUID ACTION_DRAMA_MOVIE_2022 = new UUID(0, 4);
+
+    private static FeatureBitmaps load() {
+        FeatureBitmaps bitmaps = new FeatureBitmaps();
+        bitmaps.put(ACTION_MOVIE_2010, "MOVIE", 2010, List.of("ACTION"), 40);
+        bitmaps.put(DRAMA_MOVIE_2015, "MOVIE", 2015, List.of("DRAMA"), 10);
+        bitmaps.put(ACTION_SERIES_2020, "SERIES", 2020, List.of("ACTION"), 30);
+        bitmaps.put(ACTION_DRAMA_MOVIE_2022, "MOVIE", 2022, List.of("ACTION", "DRAMA"), 20);
+        bitmaps.finishLoading();
+        return bitmaps;
+    }
+
+    @Test
+    @DisplayName("Deve devolver só as mídias que passam em todos os atributos do filtro")
+    void candidates_ShouldIntersectAttributes_WhenFilterHasSeveral() {
+        // Arrange
+        FeatureBitmaps bitmaps = load();
+        RecommendationFilter filter = new RecommendationFilter(Set.of("MOVIE"), Set.of("ACTION", "DRAMA"), 2012, null);
+
+        // Act
+        List<UUID> candidates = bitmaps.candidates(filter, List.of(), 10);
+
+        // Assert
+        assertThat(candidates).containsExactlyInAnyOrder(DRAMA_MOVIE_2015, ACTION_DRAMA_MOVIE_2022);
+    }
+
+    @Test
+    @DisplayName("Deve ficar com as mais populares e ignorar as já vistas quando passam mais mídias que o limite")
+    void candidates_ShouldKeepMostPopular_WhenMoreMatchThanLimit() {
+        // Arrange
+        FeatureBitmaps bitmaps = load();
+        RecommendationFilter filter = new RecommendationFilter(Set.of(), Set.of("ACTION"), null, null);
+
+        // Act
+        List<UUID> candidates = bitmaps.candidates(filter, List.of(ACTION_MOVIE_2010), 1);
+
+        // Assert
+        assertThat(candidates).containsExactly(ACTION_SERIES_2020);
+    }
+
+    @Test
+    @DisplayName("Deve refletir a substituição e a remoção de uma mídia já carregada")
+    void candidates_ShouldReflectChanges_WhenMediaIsReplacedOrRemoved() {
+        // Arrange
+        FeatureBitmaps bitmaps = load();
+        RecommendationFilter filter = new RecommendationFilter(Set.of("SERIES"), Set.of(), null, null);
+
+        // Act
+        bitmaps.put(DRAMA_MOVIE_2015, "SERIES", 2015, List.of("DRAMA"), 10);
+        bitmaps.remove(ACTION_SERIES_2020);
+
+        // Assert
+        assertThat(bitmaps.candidates(filter, List.of(), 10)).containsExactly(DRAMA_MOVIE_2015);
+        assertThat(bitmaps.size()).isEqualTo(3);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.mrs.recommendation_service.handler;
+
+import com.mrs.recommendation_service.dto.RecommendationCard;
+import com.mrs.recommendation_service.model.MediaCard;
+import com.mrs.recommendation_service.model.Recommendation;
+import com.mrs.recommendation_service.repository.MediaCardRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HydrateRecommendationsHandlerTest {
+
+    private static final UUID FIRST = new UUID(0, 1);
+    private static final UUID UNKNOWN = new UUID(0, 2);
+    private static final UUID SECOND = new UUID(0, 3);
+
+    @Mock
+    private MediaCardRepository mediaCardRepository;
+
+    @InjectMocks
+    private HydrateRecommendationsHandler hydrateRecommendationsHandler;
+
+    @Test
+    @DisplayName("Deve manter a ordem do ml-service e descartar mídias sem card")
+    void execute_ShouldKeepMlOrderAndDropUnknownMedia() {
+        // Arrange
+        List<Recommendation> recommendations = List.of(
+                recommendation(FIRST, 0.9),
+                recommendation(UNKNOWN, 0.8),
+                recommendation(SECOND, 0.7)
+        );
+        when(mediaCardRepository.findAllById(anyList())).thenReturn(List.of(card(SECOND, "Segundo"), card(FIRST, "Primeiro")));
+
+        // Act
+        List<RecommendationCard> cards = hydrateRecommendationsHandler.execute(recommendations);
+
+        // Assert
+        assertThat(cards).extracting(RecommendationCard::mediaId).containsExactly(FIRST, SECOND);
+        assertThat(cards).extracting(RecommendationCard::title).containsExactly("Primeiro", "Segundo");
+        assertThat(cards).extracting(RecommendationCard::recommendationScore).containsExactly(0.9, 0.7);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar a projeção quando não houver recomendações")
+    void execute_ShouldReturnEmpty_WhenThereAreNoRecommendations() {
+        // Act
+        List<RecommendationCard> cards = hydrateRecommendationsHandler.execute(List.of());
+
+        // Assert
+        assertThat(cards).isEmpty();
+        verifyNoInteractions(mediaCardRepository);
+    }
+
+    private static Recommendation recommendation(UUID mediaId, double score) {
+        return new Recommendation(mediaId, List.of("ACTION"), 10.0, score, score);
+    }
+
+    private static MediaCard card(UUID mediaId, String title) {
+        MediaCard card = new MediaCard();
+        card.setMediaId(mediaId);
+        card.setTitle(title);
+        card.setMediaType("MOVIE");
+        card.setReleaseYear(2020);
+        return card;
+    }
+
+}
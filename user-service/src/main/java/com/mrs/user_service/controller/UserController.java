@@ -3,6 +3,7 @@ package com.mrs.user_service.controller;
 import com.mrs.user_service.dto.CreateUserRequest;
 import com.mrs.user_service.dto.UpdateUserRequest;
 import com.mrs.user_service.dto.UserGetResponse;
+import com.mrs.user_service.dto.UserPage;
 import com.mrs.user_service.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -17,6 +18,8 @@ import java.util.UUID;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -36,12 +39,22 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Listagem paginada. Com {@code cursor} (vazio na primeira página) a paginação é por
+     * chave e {@code page} é ignorado; o cursor da próxima página vem em
+     * {@code X-Next-Cursor}, ausente na última.
+     */
     @GetMapping
     public ResponseEntity<List<UserGetResponse>> getAll(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        List<UserGetResponse> users = userService.getAll(page, size);
-        return ResponseEntity.ok(users);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        UserPage users = cursor == null ? userService.getAll(page, size) : userService.getAll(cursor, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.nextCursor() != null) response.header(NEXT_CURSOR, users.nextCursor());
+
+        return response.body(users.users());
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,45 @@
+package com.mrs.user_service.dto;
+
+import com.mrs.user_service.model.UserEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição opaca na listagem de usuários: o último usuário devolvido, na ordem
+ * ({@code createdAt}, {@code id}). A próxima página começa estritamente depois dela pelo
+ * índice {@code (created_at, id)}, então o custo de uma página não depende de quantas
+ * vieram antes.
+ */
+public record UserCursor(Instant createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static UserCursor of(UserEntity user) {
+        return new UserCursor(user.getCreatedAt(), user.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException quando o cursor não foi gerado por {@link #encode()}.
+     */
+    public static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor");
+
+            return new UserCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+}
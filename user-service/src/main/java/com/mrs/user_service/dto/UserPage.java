@@ -0,0 +1,12 @@
+package com.mrs.user_service.dto;
+
+import java.util.List;
+
+/**
+ * Página da listagem; {@code nextCursor} é nulo quando não há próxima página.
+ */
+public record UserPage(
+        List<UserGetResponse> users,
+        String nextCursor
+) {
+}
@@ -1,12 +1,17 @@
 package com.mrs.user_service.handler.user;
 
 import com.mrs.user_service.dto.PageUser;
+import com.mrs.user_service.dto.UserCursor;
 import com.mrs.user_service.model.UserEntity;
 import com.mrs.user_service.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class GetAllUserHandler {
 
@@ -22,11 +27,21 @@ public class GetAllUserHandler {
 
         PageRequest pageRequest = PageRequest.of(
                 pageUser.pageNumber(),
-                pageUser.pageSize()
+                pageUser.pageSize(),
+                Sort.by("createdAt", "id")
         );
 
         return userRepository.findAll(pageRequest);
     }
 
+    /**
+     * Paginação por chave; sem cursor, começa pelos usuários mais antigos.
+     */
+    public List<UserEntity> execute(UserCursor cursor, int pageSize) {
+        if (cursor == null) return userRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(pageSize));
+
+        return userRepository.findAllAfter(cursor.createdAt(), cursor.id(), Limit.of(pageSize));
+    }
+
 
 }
@@ -17,7 +17,7 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tb_users")
+@Table(name = "tb_users", indexes = @Index(name = "ix_users_created_at_id", columnList = "created_at, id"))
 @SQLDelete(sql = "UPDATE tb_users SET deleted_at = CURRENT_TIMESTAMP, active = false WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 @Getter
@@ -1,9 +1,14 @@
 package com.mrs.user_service.repository;
 
 import com.mrs.user_service.model.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +17,13 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     boolean existsByEmail(String email);
 
     Optional<UserEntity> findByEmail(String email);
+
+    List<UserEntity> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+
+    /**
+     * Próxima página depois da posição ({@code createdAt}, {@code id}) exclusiva, pelo
+     * índice {@code (created_at, id)}.
+     */
+    @Query("SELECT u FROM UserEntity u WHERE (u.createdAt, u.id) > (:createdAt, :id) ORDER BY u.createdAt, u.id")
+    List<UserEntity> findAllAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
 }
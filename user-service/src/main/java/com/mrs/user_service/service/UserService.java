@@ -3,7 +3,9 @@ package com.mrs.user_service.service;
 import com.mrs.user_service.dto.CreateUserRequest;
 import com.mrs.user_service.dto.PageUser;
 import com.mrs.user_service.dto.UpdateUserRequest;
+import com.mrs.user_service.dto.UserCursor;
 import com.mrs.user_service.dto.UserGetResponse;
+import com.mrs.user_service.dto.UserPage;
 import com.mrs.user_service.handler.user.*;
 import com.mrs.user_service.mapper.UserMapper;
 import com.mrs.user_service.model.UserEntity;
@@ -58,12 +60,32 @@ public class UserService {
         return userMapper.toGetResponse(user);
     }
 
-    public List<UserGetResponse> getAll(int pageNumber, int pageSize){
-        PageUser pageUser = new PageUser(pageNumber, pageSize);
+    public UserPage getAll(int pageNumber, int pageSize){
+        PageUser pageUser = new PageUser(pageSize, pageNumber);
 
         Page<UserEntity> users = getAllUserHandler.execute(pageUser);
 
-        return users.stream().map(userMapper::toGetResponse).toList();
+        return toPage(users.getContent(), pageUser.pageSize());
+    }
+
+    /**
+     * Listagem por cursor; um cursor vazio começa do início.
+     */
+    public UserPage getAll(String cursor, int pageSize){
+        PageUser pageUser = new PageUser(pageSize, 0);
+
+        List<UserEntity> users = getAllUserHandler.execute(
+                cursor.isEmpty() ? null : UserCursor.decode(cursor),
+                pageUser.pageSize()
+        );
+
+        return toPage(users, pageUser.pageSize());
+    }
+
+    private UserPage toPage(List<UserEntity> users, int pageSize){
+        String nextCursor = users.size() < pageSize ? null : UserCursor.of(users.getLast()).encode();
+
+        return new UserPage(users.stream().map(userMapper::toGetResponse).toList(), nextCursor);
     }
 
 
@@ -1,6 +1,7 @@
 package com.mrs.user_service.handler.user;
 
 import com.mrs.user_service.dto.PageUser;
+import com.mrs.user_service.dto.UserCursor;
 import com.mrs.user_service.model.UserEntity;
 import com.mrs.user_service.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -10,11 +11,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,6 +55,38 @@ class GetAllUserHandlerTest {
         PageRequest capturedRequest = captor.getValue();
         assertThat(capturedRequest.getPageNumber()).isEqualTo(page);
         assertThat(capturedRequest.getPageSize()).isEqualTo(size);
+        assertThat(capturedRequest.getSort()).isEqualTo(Sort.by("createdAt", "id"));
         assertThat(result).isEqualTo(expectedPage);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar a primeira página por chave quando não há cursor")
+    void execute_ShouldQueryFirstPage_WhenCursorIsNull() {
+        // Arrange
+        List<UserEntity> expected = List.of(new UserEntity());
+        when(userRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(20))).thenReturn(expected);
+
+        // Act
+        List<UserEntity> result = getAllUserHandler.execute(null, 20);
+
+        // Assert
+        assertThat(result).isEqualTo(expected);
+        verify(userRepository, never()).findAllAfter(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve continuar depois da posição do cursor")
+    void execute_ShouldQueryAfterCursorPosition_WhenCursorIsPresent() {
+        // Arrange
+        UserCursor cursor = new UserCursor(Instant.parse("2025-01-01T10:00:00Z"), UUID.randomUUID());
+        List<UserEntity> expected = List.of(new UserEntity());
+        when(userRepository.findAllAfter(cursor.createdAt(), cursor.id(), Limit.of(20))).thenReturn(expected);
+
+        // Act
+        List<UserEntity> result = getAllUserHandler.execute(cursor, 20);
+
+        // Assert
+        assertThat(result).isEqualTo(expected);
+        verify(userRepository, never()).findAllByOrderByCreatedAtAscIdAsc(any());
+    }
+}